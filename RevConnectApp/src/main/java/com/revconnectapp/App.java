@@ -1,10 +1,30 @@
 package com.revconnectapp;
 
+import com.revconnectapp.server.RevConnectServer;
+import com.revconnectapp.service.AppContext;
 import com.revconnectapp.ui.MainMenu;
 
+import java.util.Arrays;
+
 public class App {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         System.out.println("Starting RevConnectApp...");
-        new MainMenu().start();
+        // --server (or -Drevconnect.mode=server) serves the HTTP API instead of the console menus
+        boolean serverMode = Arrays.asList(args).contains("--server")
+                || "server".equalsIgnoreCase(System.getProperty("revconnect.mode"));
+        RevConnectServer server = serverMode ? new RevConnectServer() : null;
+        // Menus exit through System.exit, so release pooled connections from a hook
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (server != null) server.stop();
+            AppContext.get().stop();
+        }, "revconnect-shutdown"));
+        AppContext.get().start();
+        if (server != null) {
+            server.start();
+            // Request threads are daemons; keep the JVM up until it is stopped
+            Thread.currentThread().join();
+        } else {
+            new MainMenu().start();
+        }
     }
 }
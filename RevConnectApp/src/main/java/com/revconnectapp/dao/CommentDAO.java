@@ -2,12 +2,14 @@ package com.revconnectapp.dao;
 
 import com.revconnectapp.model.Comment;
 import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.IntList;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class CommentDAO {
-    public void addComment(int postId, int userId, String content) {
+    // Returns the new comment's id, or 0 if the insert failed
+    public int addComment(int postId, int userId, String content) {
         String sql = "INSERT INTO comments (post_id, user_id, content) VALUES (?, ?, ?)";
         try (Connection conn = ConnectionUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -15,9 +17,12 @@ public class CommentDAO {
             stmt.setInt(2, userId);
             stmt.setString(3, content);
             stmt.executeUpdate();
+            ResultSet rs = stmt.getGeneratedKeys();
+            if (rs.next()) return rs.getInt(1);
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return 0;
     }
     
     public List<Comment> getComments(int postId) {
@@ -89,4 +94,23 @@ public class CommentDAO {
         }
         return 0;
     }
-}
\ No newline at end of file
+
+    // Every comment's id, post and text, for building the full-text index
+    public boolean loadSearchSources(IntList ids, IntList postIds, List<String> contents) {
+        String sql = "SELECT id, post_id, content FROM comments";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+                postIds.add(rs.getInt(2));
+                contents.add(rs.getString(3));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+}
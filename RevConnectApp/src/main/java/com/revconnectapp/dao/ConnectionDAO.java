@@ -1,11 +1,15 @@
 package com.revconnectapp.dao;
 
 import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.SqlUtil;
 import com.revconnectapp.model.Connection;
 import com.revconnectapp.model.User;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ConnectionDAO {
     
@@ -583,5 +587,52 @@ public class ConnectionDAO {
         }
         return results;
     }
-    
-}
\ No newline at end of file
+
+    // ✅ NEW: Every connection row as an edge list (accepted = 1/0), for the in-memory social graph
+    public boolean loadConnectionEdges(IntList user1Ids, IntList user2Ids, IntList accepted) {
+        String sql = "SELECT user1_id, user2_id, status FROM connections";
+        try (java.sql.Connection dbConn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = dbConn.prepareStatement(sql)) {
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                user1Ids.add(rs.getInt(1));
+                user2Ids.add(rs.getInt(2));
+                accepted.add("ACCEPTED".equals(rs.getString(3)) ? 1 : 0);
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // ✅ NEW: Accepted-connection ids of each given user, in one query
+    public Map<Integer, IntList> getAcceptedNeighbors(int[] userIds) {
+        Map<Integer, IntList> neighbors = new HashMap<>();
+        if (userIds.length == 0) return neighbors;
+        String in = SqlUtil.placeholders(userIds.length);
+        String sql = "SELECT user1_id, user2_id FROM connections WHERE status = 'ACCEPTED' " +
+                    "AND user1_id IN (" + in + ") " +
+                    "UNION SELECT user1_id, user2_id FROM connections WHERE status = 'ACCEPTED' " +
+                    "AND user2_id IN (" + in + ")";
+        for (int id : userIds) {
+            neighbors.putIfAbsent(id, new IntList(8));
+        }
+        try (java.sql.Connection dbConn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = dbConn.prepareStatement(sql)) {
+            int next = SqlUtil.bindIds(stmt, 1, userIds);
+            SqlUtil.bindIds(stmt, next, userIds);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                int a = rs.getInt(1), b = rs.getInt(2);
+                IntList rowA = neighbors.get(a), rowB = neighbors.get(b);
+                if (rowA != null) rowA.add(b);
+                if (rowB != null) rowB.add(a);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return neighbors;
+    }
+}
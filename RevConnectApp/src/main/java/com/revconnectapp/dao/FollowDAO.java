@@ -2,6 +2,7 @@ package com.revconnectapp.dao;
 
 import com.revconnectapp.model.User;
 import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.IntList;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -253,4 +254,22 @@ public class FollowDAO {
         }
         return recent;
     }
-}
\ No newline at end of file
+
+    // ✅ NEW: Every follow as an edge list, for the in-memory social graph
+    public boolean loadFollowEdges(IntList followerIds, IntList followedIds) {
+        String sql = "SELECT follower_id, followed_id FROM follows";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                followerIds.add(rs.getInt(1));
+                followedIds.add(rs.getInt(2));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+}
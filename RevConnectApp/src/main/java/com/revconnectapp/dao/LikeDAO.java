@@ -1,31 +1,41 @@
 package com.revconnectapp.dao;
 
 import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.SqlUtil;
 import java.sql.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 public class LikeDAO {
-    public void likePost(int postId, int userId) {
-        String sql = "INSERT INTO likes (post_id, user_id) VALUES (?, ?)";
+    // Returns true only if a new like row was written (repeat likes are ignored)
+    public boolean likePost(int postId, int userId) {
+        String sql = "INSERT IGNORE INTO likes (post_id, user_id) VALUES (?, ?)";
         try (Connection conn = ConnectionUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, postId);
             stmt.setInt(2, userId);
-            stmt.executeUpdate();
+            return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return false;
     }
     
-    public void unlikePost(int postId, int userId) {
+    // Returns true only if a like row was removed
+    public boolean unlikePost(int postId, int userId) {
         String sql = "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
         try (Connection conn = ConnectionUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, postId);
             stmt.setInt(2, userId);
-            stmt.executeUpdate();
+            return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return false;
     }
     
     public boolean isLiked(int postId, int userId) {
@@ -54,4 +64,155 @@ public class LikeDAO {
         }
         return 0;
     }
-}
\ No newline at end of file
+    
+    // ✅ NEW: Which of the given posts the user has liked, in one query
+    public Set<Integer> getLikedPostIds(int userId, int[] postIds) {
+        Set<Integer> liked = new HashSet<>();
+        if (postIds.length == 0) return liked;
+        String sql = "SELECT post_id FROM likes WHERE post_id IN (" +
+                    SqlUtil.placeholders(postIds.length) + ") AND user_id = ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int next = SqlUtil.bindIds(stmt, 1, postIds);
+            stmt.setInt(next, userId);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                liked.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return liked;
+    }
+    
+    // ✅ NEW: Every liker of a post, for the in-memory liker index
+    public boolean loadLikerIds(int postId, IntList userIds) {
+        String sql = "SELECT user_id FROM likes WHERE post_id = ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, postId);
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                userIds.add(rs.getInt(1));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    // ✅ NEW: Exact like counts for a set of posts in one query; posts without likes map to 0
+    public Map<Integer, Integer> getLikeCounts(int[] postIds) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        if (postIds.length == 0) return counts;
+        for (int id : postIds) counts.put(id, 0);
+        String sql = "SELECT post_id, COUNT(*) FROM likes WHERE post_id IN (" +
+                    SqlUtil.placeholders(postIds.length) + ") GROUP BY post_id";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            SqlUtil.bindIds(stmt, 1, postIds);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                counts.put(rs.getInt(1), rs.getInt(2));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return counts;
+    }
+    
+    /**
+     * Applies a batch of likes (likes[i] true) and unlikes in one transaction,
+     * as a batched INSERT IGNORE and a batched DELETE. Returns the rows changed
+     * per entry (0 when the row already was in that state), or null if the
+     * transaction was rolled back.
+     */
+    public int[] applyLikeBatch(int[] postIds, int[] userIds, boolean[] likes, int size) {
+        int[] changed = new int[size];
+        if (size == 0) return changed;
+        String insertSql = "INSERT IGNORE INTO likes (post_id, user_id) VALUES (?, ?)";
+        String deleteSql = "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
+        try (Connection conn = ConnectionUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(insertSql);
+                 PreparedStatement delete = conn.prepareStatement(deleteSql)) {
+                int[] insertIndex = new int[size];
+                int[] deleteIndex = new int[size];
+                int inserts = 0, deletes = 0;
+                for (int i = 0; i < size; i++) {
+                    PreparedStatement stmt = likes[i] ? insert : delete;
+                    stmt.setInt(1, postIds[i]);
+                    stmt.setInt(2, userIds[i]);
+                    stmt.addBatch();
+                    if (likes[i]) insertIndex[inserts++] = i;
+                    else deleteIndex[deletes++] = i;
+                }
+                int[] inserted = inserts > 0 ? insert.executeBatch() : new int[0];
+                int[] deleted = deletes > 0 ? delete.executeBatch() : new int[0];
+                conn.commit();
+                for (int i = 0; i < inserts; i++) changed[insertIndex[i]] = rowsChanged(inserted[i]);
+                for (int i = 0; i < deletes; i++) changed[deleteIndex[i]] = rowsChanged(deleted[i]);
+                return changed;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    // The driver may report SUCCESS_NO_INFO instead of a count; treat it as changed
+    private static int rowsChanged(int updateCount) {
+        return updateCount == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, updateCount);
+    }
+    
+    // ✅ NEW: Write-behind flush of the denormalized posts.like_count column, one batch in one transaction
+    public boolean flushLikeCounts(int[] postIds, long[] counts, int size) {
+        if (size == 0) return true;
+        String sql = "UPDATE posts SET like_count = ? WHERE id = ?";
+        try (Connection conn = ConnectionUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < size; i++) {
+                    stmt.setLong(1, counts[i]);
+                    stmt.setInt(2, postIds[i]);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    // ✅ NEW: Recompute posts.like_count from the likes table wherever it drifted; returns rows fixed or -1
+    public int reconcileLikeCounts() {
+        String sql = "UPDATE posts p " +
+                    "LEFT JOIN (SELECT post_id, COUNT(*) AS cnt FROM likes GROUP BY post_id) l " +
+                    "ON l.post_id = p.id " +
+                    "SET p.like_count = COALESCE(l.cnt, 0) " +
+                    "WHERE p.like_count <> COALESCE(l.cnt, 0)";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+}
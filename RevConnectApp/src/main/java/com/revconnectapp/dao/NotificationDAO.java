@@ -1,6 +1,8 @@
 package com.revconnectapp.dao;
 
 import com.revconnectapp.model.Notification;
+import com.revconnectapp.model.NotificationCursor;
+import com.revconnectapp.model.NotificationPage;
 import com.revconnectapp.util.ConnectionUtil;
 import java.sql.*;
 import java.time.LocalDateTime;
@@ -38,6 +40,75 @@ public class NotificationDAO {
         return false;
     }
     
+    // ✅ NEW: Insert many notifications as one JDBC batch in one transaction, filling in their ids
+    public boolean createBatch(List<Notification> batch) {
+        if (batch.isEmpty()) return true;
+        String sql = "INSERT INTO notifications (user_id, message, type, is_read, created_at) VALUES (?, ?, ?, ?, ?)";
+        try (Connection dbConn = ConnectionUtil.getConnection()) {
+            dbConn.setAutoCommit(false);
+            try (PreparedStatement stmt = dbConn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Notification notification : batch) {
+                    stmt.setInt(1, notification.getUserId());
+                    stmt.setString(2, notification.getMessage());
+                    stmt.setString(3, notification.getType() != null ? notification.getType() : "GENERAL");
+                    stmt.setBoolean(4, notification.isRead());
+                    stmt.setTimestamp(5, Timestamp.valueOf(
+                        notification.getCreatedAt() != null ? notification.getCreatedAt() : LocalDateTime.now()
+                    ));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                dbConn.commit();
+                ResultSet keys = stmt.getGeneratedKeys();
+                for (int i = 0; i < batch.size() && keys.next(); i++) {
+                    batch.get(i).setId(keys.getInt(1));
+                }
+                return true;
+            } catch (SQLException e) {
+                dbConn.rollback();
+                throw e;
+            } finally {
+                dbConn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error creating notification batch: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    // ✅ NEW: Rewrite aggregate notifications in place (message, read flag, time) as one batch
+    public boolean updateBatch(List<Notification> batch) {
+        if (batch.isEmpty()) return true;
+        String sql = "UPDATE notifications SET message = ?, is_read = ?, created_at = ? WHERE id = ?";
+        try (Connection dbConn = ConnectionUtil.getConnection()) {
+            dbConn.setAutoCommit(false);
+            try (PreparedStatement stmt = dbConn.prepareStatement(sql)) {
+                for (Notification notification : batch) {
+                    stmt.setString(1, notification.getMessage());
+                    stmt.setBoolean(2, notification.isRead());
+                    stmt.setTimestamp(3, Timestamp.valueOf(
+                        notification.getCreatedAt() != null ? notification.getCreatedAt() : LocalDateTime.now()
+                    ));
+                    stmt.setInt(4, notification.getId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                dbConn.commit();
+                return true;
+            } catch (SQLException e) {
+                dbConn.rollback();
+                throw e;
+            } finally {
+                dbConn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error updating notification batch: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
     public int getUnreadCount(int userId) {
         String sql = "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND is_read = FALSE";
         try (Connection dbConn = ConnectionUtil.getConnection();
@@ -68,14 +139,15 @@ public class NotificationDAO {
         return notifications;
     }
     
-    public void markAllRead(int userId) {
+    public int markAllRead(int userId) {
         String sql = "UPDATE notifications SET is_read = TRUE WHERE user_id = ? AND is_read = FALSE";
         try (Connection dbConn = ConnectionUtil.getConnection();
              PreparedStatement stmt = dbConn.prepareStatement(sql)) {
             stmt.setInt(1, userId);
-            stmt.executeUpdate();
+            return stmt.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
+            return 0;
         }
     }
     
@@ -96,14 +168,31 @@ public class NotificationDAO {
         return notifications;
     }
     
-    public void markAsRead(int notificationId) {
-        String sql = "UPDATE notifications SET is_read = TRUE WHERE id = ?";
+    // Recipient of a notification, or 0 if there is no such row
+    public int getOwnerId(int notificationId) {
+        String sql = "SELECT user_id FROM notifications WHERE id = ?";
+        try (Connection dbConn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = dbConn.prepareStatement(sql)) {
+            stmt.setInt(1, notificationId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) return rs.getInt(1);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    // Returns true only if this call flipped it from unread: the is_read guard makes the
+    // update count mean "changed" even though Connector/J reports matched rows
+    public boolean markAsRead(int notificationId) {
+        String sql = "UPDATE notifications SET is_read = TRUE WHERE id = ? AND is_read = FALSE";
         try (Connection dbConn = ConnectionUtil.getConnection();
              PreparedStatement stmt = dbConn.prepareStatement(sql)) {
             stmt.setInt(1, notificationId);
-            stmt.executeUpdate();
+            return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
     }
     
@@ -187,4 +276,82 @@ public class NotificationDAO {
         }
         return notifications;
     }
+
+    // ✅ NEW: Total and unread counts in one index-only query, for seeding cached counters
+    public int[] getCounts(int userId) {
+        String sql = "SELECT COUNT(*), COALESCE(SUM(is_read = FALSE), 0) FROM notifications WHERE user_id = ?";
+        try (Connection dbConn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = dbConn.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) return new int[]{rs.getInt(1), rs.getInt(2)};
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+    
+    // (created_at, id) keyset - written out so MySQL can range-scan (user_id, created_at, id)
+    private static final String BEFORE_CURSOR =
+            "AND created_at <= ? AND (created_at < ? OR id < ?) ";
+    
+    // ✅ NEW: One page of notifications, newest first, strictly older than the cursor
+    public NotificationPage getPage(int userId, NotificationCursor after, int limit, boolean unreadOnly) {
+        String sql = "SELECT * FROM notifications WHERE user_id = ? " +
+                    (unreadOnly ? "AND is_read = FALSE " : "") +
+                    (after != null ? BEFORE_CURSOR : "") +
+                    "ORDER BY created_at DESC, id DESC LIMIT ?";
+        try (Connection dbConn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = dbConn.prepareStatement(sql)) {
+            int i = 1;
+            stmt.setInt(i++, userId);
+            if (after != null) {
+                stmt.setTimestamp(i++, after.getCreatedAt());
+                stmt.setTimestamp(i++, after.getCreatedAt());
+                stmt.setInt(i++, after.getNotificationId());
+            }
+            stmt.setInt(i, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+            // A (limit + 1)th row only tells us another page exists
+            List<Notification> notifications = new ArrayList<>();
+            NotificationCursor last = null;
+            boolean hasMore = false;
+            while (rs.next()) {
+                if (notifications.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                Notification n = resultSetToNotification(rs);
+                notifications.add(n);
+                last = new NotificationCursor(rs.getTimestamp("created_at"), n.getId());
+            }
+            return new NotificationPage(notifications, hasMore ? last : null);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+    
+    // ✅ NEW: Delta for a refresh - rows added after the newest one seen, plus aggregates
+    // rewritten since (their created_at moves forward), newest first
+    public List<Notification> getSince(int userId, NotificationCursor newestSeen, int limit) {
+        List<Notification> notifications = new ArrayList<>();
+        String sql = "SELECT * FROM notifications WHERE user_id = ? AND (id > ? OR created_at > ?) " +
+                    "ORDER BY created_at DESC, id DESC LIMIT ?";
+        try (Connection dbConn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = dbConn.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            stmt.setInt(2, newestSeen.getNotificationId());
+            stmt.setTimestamp(3, newestSeen.getCreatedAt());
+            stmt.setInt(4, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                notifications.add(resultSetToNotification(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return notifications;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.revconnectapp.dao;
 
+import com.revconnectapp.model.FeedCursor;
+import com.revconnectapp.model.FeedPage;
 import com.revconnectapp.model.Post;
 import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.SqlUtil;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class PostDAO {
     
@@ -16,6 +22,11 @@ public class PostDAO {
             stmt.setString(2, post.getContent());
             stmt.setString(3, post.getHashtags());
             stmt.executeUpdate();
+            
+            ResultSet rs = stmt.getGeneratedKeys();
+            if (rs.next()) {
+                post.setId(rs.getInt(1));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -67,54 +78,214 @@ public class PostDAO {
         return posts;
     }
     
-    // 🔥 CONNECTIONS FEED - Posts from connections + follows
+    // 🔥 CONNECTIONS FEED - Own posts + accepted connections + followed accounts
+    private static final String TIMELINE_AUTHORS =
+            "SELECT ? " +
+            "UNION SELECT CASE WHEN c.user1_id = ? THEN c.user2_id ELSE c.user1_id END " +
+            "FROM connections c WHERE c.status = 'ACCEPTED' AND (c.user1_id = ? OR c.user2_id = ?) " +
+            "UNION SELECT f.followed_id FROM follows f WHERE f.follower_id = ?";
+
+    // (created_at, id) keyset - written out so MySQL can range-scan the index
+    private static final String AFTER_CURSOR =
+            "AND p.created_at <= ? AND (p.created_at < ? OR p.id < ?) ";
+
     public List<Post> getConnectionsFeed(int userId) {
-        List<Post> feed = new ArrayList<>();
-        // SIMPLIFIED - My posts + placeholder for future connections
-        String sql = """
-            SELECT p.*, u.username FROM posts p 
-            JOIN users u ON p.user_id = u.id 
-            WHERE p.user_id = ?
-            ORDER BY p.created_at DESC LIMIT 20
-            """;
+        return getConnectionsFeed(userId, null, 20).getPosts();
+    }
+
+    public FeedPage getConnectionsFeed(int userId, FeedCursor after, int limit) {
+        String sql = "SELECT p.*, u.username FROM posts p " +
+                    "JOIN users u ON p.user_id = u.id " +
+                    "WHERE p.user_id IN (" + TIMELINE_AUTHORS + ") " +
+                    (after != null ? AFTER_CURSOR : "") +
+                    "ORDER BY p.created_at DESC, p.id DESC LIMIT ?";
         try (Connection conn = ConnectionUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, userId);
+            int i = 1;
+            for (int k = 0; k < 5; k++) {
+                stmt.setInt(i++, userId);
+            }
+            i = bindCursor(stmt, i, after);
+            stmt.setInt(i, limit + 1);
+            return readPage(stmt.executeQuery(), limit);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new FeedPage(new ArrayList<>(), null);
+    }
+
+    // 🌐 PUBLIC FEED - Every post, newest first
+    public FeedPage getPublicFeed(FeedCursor after, int limit) {
+        String sql = "SELECT p.*, u.username FROM posts p " +
+                    "JOIN users u ON p.user_id = u.id " +
+                    "WHERE 1 = 1 " +
+                    (after != null ? AFTER_CURSOR : "") +
+                    "ORDER BY p.created_at DESC, p.id DESC LIMIT ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = bindCursor(stmt, 1, after);
+            stmt.setInt(i, limit + 1);
+            return readPage(stmt.executeQuery(), limit);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new FeedPage(new ArrayList<>(), null);
+    }
+
+    private int bindCursor(PreparedStatement stmt, int index, FeedCursor after) throws SQLException {
+        if (after == null) return index;
+        stmt.setTimestamp(index++, after.getCreatedAt());
+        stmt.setTimestamp(index++, after.getCreatedAt());
+        stmt.setInt(index++, after.getPostId());
+        return index;
+    }
+
+    // Reads up to limit posts; a (limit + 1)th row only tells us another page exists
+    private FeedPage readPage(ResultSet rs, int limit) throws SQLException {
+        List<Post> posts = new ArrayList<>();
+        FeedCursor last = null;
+        boolean hasMore = false;
+        while (rs.next()) {
+            if (posts.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            Post post = new Post();
+            post.setId(rs.getInt("id"));
+            post.setUserId(rs.getInt("user_id"));
+            post.setContent(rs.getString("content"));
+            post.setHashtags(rs.getString("hashtags"));
+            post.setCreatedAt(rs.getString("created_at"));
+            post.setUsername(rs.getString("username"));
+            posts.add(post);
+            last = new FeedCursor(rs.getTimestamp("created_at"), post.getId());
+        }
+        return new FeedPage(posts, hasMore ? last : null);
+    }
+
+    public Post getPostById(int postId) {
+        String sql = "SELECT * FROM posts WHERE id = ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, postId);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
+            if (rs.next()) {
                 Post post = new Post();
                 post.setId(rs.getInt("id"));
                 post.setUserId(rs.getInt("user_id"));
                 post.setContent(rs.getString("content"));
                 post.setHashtags(rs.getString("hashtags"));
                 post.setCreatedAt(rs.getString("created_at"));
-                post.setUsername(rs.getString("username"));
-                feed.add(post);
+                return post;
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return feed;
+        return null;
     }
 
-    public Post getPostById(int postId) {
-        String sql = "SELECT * FROM posts WHERE id = ?";
+    // ⚡ TIMELINE CACHE SUPPORT - ids only, hydrated later in one query
+
+    // Users whose timelines a new post from authorId lands in
+    public List<Integer> getFanoutRecipients(int authorId) {
+        List<Integer> recipients = new ArrayList<>();
+        String sql = "SELECT f.follower_id FROM follows f WHERE f.followed_id = ? " +
+                    "UNION SELECT CASE WHEN c.user1_id = ? THEN c.user2_id ELSE c.user1_id END " +
+                    "FROM connections c WHERE c.status = 'ACCEPTED' AND (c.user1_id = ? OR c.user2_id = ?)";
         try (Connection conn = ConnectionUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, postId);
+            for (int i = 1; i <= 4; i++) {
+                stmt.setInt(i, authorId);
+            }
             ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
+            while (rs.next()) {
+                recipients.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return recipients;
+    }
+
+    /**
+     * Newest timeline posts for userId with id below beforePostId, as {post id, author id} pairs.
+     * creatorsOnly picks the CREATOR authors that are read on demand; otherwise everyone else.
+     */
+    public List<int[]> getTimelineEntries(int userId, boolean creatorsOnly, int beforePostId, int limit) {
+        List<int[]> entries = new ArrayList<>();
+        String sql = "SELECT p.id, p.user_id FROM posts p " +
+                    "JOIN users u ON p.user_id = u.id " +
+                    "WHERE p.user_id IN (" + TIMELINE_AUTHORS + ") " +
+                    "AND u.user_type " + (creatorsOnly ? "= 'CREATOR' " : "<> 'CREATOR' ") +
+                    "AND p.id < ? " +
+                    "ORDER BY p.id DESC LIMIT ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (int k = 0; k < 5; k++) {
+                stmt.setInt(i++, userId);
+            }
+            stmt.setInt(i++, beforePostId);
+            stmt.setInt(i, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                entries.add(new int[]{rs.getInt(1), rs.getInt(2)});
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return entries;
+    }
+
+    // Posts in the order of postIds; ids that no longer exist are skipped
+    public List<Post> getPostsByIds(int[] postIds) {
+        List<Post> posts = new ArrayList<>();
+        if (postIds.length == 0) return posts;
+
+        String sql = "SELECT p.*, u.username FROM posts p " +
+                    "JOIN users u ON p.user_id = u.id " +
+                    "WHERE p.id IN (" + SqlUtil.placeholders(postIds.length) + ")";
+        Map<Integer, Post> byId = new HashMap<>();
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            SqlUtil.bindIds(stmt, 1, postIds);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
                 Post post = new Post();
                 post.setId(rs.getInt("id"));
                 post.setUserId(rs.getInt("user_id"));
                 post.setContent(rs.getString("content"));
                 post.setHashtags(rs.getString("hashtags"));
                 post.setCreatedAt(rs.getString("created_at"));
-                return post;
+                post.setUsername(rs.getString("username"));
+                byId.put(post.getId(), post);
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return null;
+        for (int id : postIds) {
+            Post post = byId.get(id);
+            if (post != null) posts.add(post);
+        }
+        return posts;
+    }
+
+    // Every post's id, content and hashtags field, for backfilling post_tags
+    public boolean loadTagSources(IntList ids, List<String> contents, List<String> hashtags) {
+        String sql = "SELECT id, content, hashtags FROM posts";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+                contents.add(rs.getString(2));
+                hashtags.add(rs.getString(3));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.revconnectapp.dao;
+
+import com.revconnectapp.model.PostStats;
+import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.SqlUtil;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based loader for feed rows. Hydrates a whole page of posts with three
+ * queries (authors + like counts, comment counts, connection flags) instead of
+ * several lookups per post. Whether the viewer liked each post is answered
+ * by the liker index, not here.
+ */
+public class PostStatsDAO {
+
+    // MySQL's "Unknown column" error
+    private static final int ER_BAD_FIELD = 1054;
+
+    // Cleared if posts.like_count has not been added yet (docs/ERD.md); likes are then counted per query
+    private static volatile boolean likeCountColumn = true;
+
+    public Map<Integer, PostStats> loadStats(int[] postIds, int viewerId) {
+        Map<Integer, PostStats> stats = new HashMap<>();
+        if (postIds.length == 0) return stats;
+
+        // like_count is the write-behind column kept by LikeCounterService
+        String likes = likeCountColumn ? "p.like_count" : "(SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id)";
+        String postsSql = "SELECT p.id, p.user_id, u.username, " + likes + " AS like_count " +
+                         "FROM posts p " +
+                         "JOIN users u ON p.user_id = u.id " +
+                         "WHERE p.id IN (" + SqlUtil.placeholders(postIds.length) + ")";
+        String commentsSql = "SELECT post_id, COUNT(*) FROM comments " +
+                            "WHERE post_id IN (" + SqlUtil.placeholders(postIds.length) + ") " +
+                            "GROUP BY post_id";
+
+        try (Connection conn = ConnectionUtil.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(postsSql)) {
+                SqlUtil.bindIds(stmt, 1, postIds);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    PostStats s = new PostStats(rs.getInt("id"));
+                    s.setAuthorId(rs.getInt("user_id"));
+                    s.setAuthorUsername(rs.getString("username"));
+                    s.setLikeCount(rs.getInt("like_count"));
+                    stats.put(s.getPostId(), s);
+                }
+            }
+
+            if (stats.isEmpty()) return stats;
+
+            try (PreparedStatement stmt = conn.prepareStatement(commentsSql)) {
+                SqlUtil.bindIds(stmt, 1, postIds);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    PostStats s = stats.get(rs.getInt(1));
+                    if (s != null) s.setCommentCount(rs.getInt(2));
+                }
+            }
+
+            Set<Integer> authorIds = new LinkedHashSet<>();
+            for (PostStats s : stats.values()) {
+                if (s.getAuthorId() != viewerId) authorIds.add(s.getAuthorId());
+            }
+            Set<Integer> connected = getConnectedAmong(conn, viewerId, SqlUtil.toIntArray(authorIds));
+            for (PostStats s : stats.values()) {
+                s.setConnectedToAuthor(connected.contains(s.getAuthorId()));
+            }
+        } catch (SQLException e) {
+            if (likeCountColumn && e.getErrorCode() == ER_BAD_FIELD) {
+                likeCountColumn = false;
+                System.err.println("Warning: posts.like_count is missing, counting likes per query until the migration in docs/ERD.md is applied");
+                return loadStats(postIds, viewerId);
+            }
+            e.printStackTrace();
+        }
+        return stats;
+    }
+
+    // Which of the given users have an ACCEPTED connection with userId
+    private Set<Integer> getConnectedAmong(Connection conn, int userId, int[] otherIds) throws SQLException {
+        Set<Integer> connected = new LinkedHashSet<>();
+        if (otherIds.length == 0) return connected;
+
+        String in = SqlUtil.placeholders(otherIds.length);
+        String sql = "SELECT CASE WHEN user1_id = ? THEN user2_id ELSE user1_id END FROM connections " +
+                    "WHERE status = 'ACCEPTED' AND " +
+                    "((user1_id = ? AND user2_id IN (" + in + ")) OR (user2_id = ? AND user1_id IN (" + in + ")))";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            stmt.setInt(2, userId);
+            int next = SqlUtil.bindIds(stmt, 3, otherIds);
+            stmt.setInt(next, userId);
+            SqlUtil.bindIds(stmt, next + 1, otherIds);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                connected.add(rs.getInt(1));
+            }
+        }
+        return connected;
+    }
+}
@@ -0,0 +1,157 @@
+package com.revconnectapp.dao;
+
+import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.IntList;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostTagDAO {
+
+    // Replace a post's tags in one transaction (create and edit)
+    public boolean replaceTags(int postId, List<String> tags) {
+        try (Connection conn = ConnectionUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM post_tags WHERE post_id = ?");
+                 PreparedStatement insert = conn.prepareStatement("INSERT IGNORE INTO post_tags (post_id, tag) VALUES (?, ?)")) {
+                delete.setInt(1, postId);
+                delete.executeUpdate();
+                for (String tag : tags) {
+                    insert.setInt(1, postId);
+                    insert.setString(2, tag);
+                    insert.addBatch();
+                }
+                if (!tags.isEmpty()) insert.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Tag rows for many posts as one batch, for the one-time backfill
+    public boolean insertBatch(int[] postIds, String[] tags, int size) {
+        if (size == 0) return true;
+        String sql = "INSERT IGNORE INTO post_tags (post_id, tag) VALUES (?, ?)";
+        try (Connection conn = ConnectionUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < size; i++) {
+                    stmt.setInt(1, postIds[i]);
+                    stmt.setString(2, tags[i]);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean deleteTags(int postId) {
+        String sql = "DELETE FROM post_tags WHERE post_id = ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, postId);
+            stmt.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean hasAnyTags() {
+        String sql = "SELECT 1 FROM post_tags LIMIT 1";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            return stmt.executeQuery().next();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Every (post, tag) row in post order, for the in-memory hashtag index
+    public boolean loadTags(IntList postIds, List<String> tags) {
+        String sql = "SELECT post_id, tag FROM post_tags ORDER BY post_id";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                postIds.add(rs.getInt(1));
+                tags.add(rs.getString(2));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Tags of posts created since the given time with each post's epoch minute, for warming trending counts
+    public boolean loadTagsSince(Timestamp since, List<String> tags, IntList epochMinutes) {
+        String sql = "SELECT t.tag, p.created_at FROM posts p " +
+                    "JOIN post_tags t ON t.post_id = p.id " +
+                    "WHERE p.created_at >= ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, since);
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                tags.add(rs.getString(1));
+                epochMinutes.add((int) (rs.getTimestamp(2).getTime() / 60_000L));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Newest post ids below beforePostId tagged with all (matchAll) or any of the tags.
+     * Used until the in-memory index is loaded; each branch is a range scan on (tag, post_id).
+     */
+    public List<Integer> getPostIds(List<String> tags, boolean matchAll, int beforePostId, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        if (tags.isEmpty()) return ids;
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < tags.size(); i++) in.append(i == 0 ? "?" : ", ?");
+        String sql = "SELECT post_id FROM post_tags WHERE tag IN (" + in + ") AND post_id < ? " +
+                    "GROUP BY post_id " + (matchAll ? "HAVING COUNT(*) = ? " : "") +
+                    "ORDER BY post_id DESC LIMIT ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (String tag : tags) stmt.setString(i++, tag);
+            stmt.setInt(i++, beforePostId);
+            if (matchAll) stmt.setInt(i++, tags.size());
+            stmt.setInt(i, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+}
@@ -2,6 +2,7 @@ package com.revconnectapp.dao;
 
 import com.revconnectapp.model.Profile;
 import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.SqlUtil;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -62,6 +63,33 @@ public class ProfileDAO {
         return null;
     }
 
+    // Profiles for a set of user ids in one query; users without a profile are skipped
+    public List<Profile> getByUserIds(int[] userIds) {
+        List<Profile> profiles = new ArrayList<>();
+        if (userIds.length == 0) return profiles;
+        String sql = "SELECT * FROM profiles WHERE user_id IN (" + SqlUtil.placeholders(userIds.length) + ")";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            SqlUtil.bindIds(stmt, 1, userIds);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                Profile profile = new Profile();
+                profile.setId(rs.getInt("id"));
+                profile.setUserId(rs.getInt("user_id"));
+                profile.setName(rs.getString("name"));
+                profile.setBio(rs.getString("bio"));
+                profile.setPicturePath(rs.getString("picture_path"));
+                profile.setLocation(rs.getString("location"));
+                profile.setWebsite(rs.getString("website"));
+                profile.setPrivacy(rs.getString("privacy"));
+                profiles.add(profile);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return profiles;
+    }
+
     public List<Profile> searchProfiles(String query) {
         List<Profile> profiles = new ArrayList<>();
         String sql = """
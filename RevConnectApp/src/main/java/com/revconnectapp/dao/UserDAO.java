@@ -2,6 +2,8 @@ package com.revconnectapp.dao;
 
 import com.revconnectapp.model.User;
 import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.SqlUtil;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -40,15 +42,7 @@ public class UserDAO {
 	        stmt.setString(1, username);
 	        ResultSet rs = stmt.executeQuery();
 	        if (rs.next()) {
-	            User user = new User();
-	            user.setId(rs.getInt("id"));
-	            user.setUsername(rs.getString("username"));
-	            user.setEmail(rs.getString("email"));
-	            user.setPassword(rs.getString("password"));
-	            user.setUserType(rs.getString("user_type"));
-	            user.setSecurityQuestion(rs.getString("security_question"));
-	            user.setSecurityAnswer(rs.getString("security_answer"));
-	            return user;
+	            return resultSetToUser(rs);
 	        }
 	    } catch (SQLException e) {
 	        e.printStackTrace();
@@ -64,12 +58,7 @@ public class UserDAO {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                User user = new User();
-                user.setId(rs.getInt("id"));
-                user.setUsername(rs.getString("username"));
-                user.setEmail(rs.getString("email"));
-                user.setUserType(rs.getString("user_type"));
-                return user;
+                return resultSetToUser(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -96,6 +85,76 @@ public class UserDAO {
         }
         return users;
     }
+    // Users for a set of ids in one query; missing ids are skipped
+    public List<User> getByIds(int[] ids) {
+        List<User> users = new ArrayList<>();
+        if (ids.length == 0) return users;
+        String sql = "SELECT * FROM users WHERE id IN (" + SqlUtil.placeholders(ids.length) + ")";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            SqlUtil.bindIds(stmt, 1, ids);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                users.add(resultSetToUser(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return users;
+    }
+
+    // Every user's id and account type, for the in-memory social graph
+    public boolean loadUserTypes(IntList ids, List<String> userTypes) {
+        String sql = "SELECT id, user_type FROM users";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+                userTypes.add(rs.getString(2));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Every user's username with their profile name and location, for the in-memory search index
+    public boolean loadSearchFields(IntList ids, List<String> usernames, List<String> names, List<String> locations) {
+        String sql = "SELECT u.id, u.username, p.name, p.location FROM users u " +
+                    "LEFT JOIN profiles p ON p.user_id = u.id";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(10_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+                usernames.add(rs.getString(2));
+                names.add(rs.getString(3));
+                locations.add(rs.getString(4));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Full row, so users loaded by id, by name or in bulk can share one cache entry
+    private User resultSetToUser(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setId(rs.getInt("id"));
+        user.setUsername(rs.getString("username"));
+        user.setEmail(rs.getString("email"));
+        user.setPassword(rs.getString("password"));
+        user.setUserType(rs.getString("user_type"));
+        user.setSecurityQuestion(rs.getString("security_question"));
+        user.setSecurityAnswer(rs.getString("security_answer"));
+        return user;
+    }
+
     public boolean update(User user) {
         String sql = "UPDATE users SET email = ?, password = ?, user_type = ?, security_question = ?, security_answer = ? WHERE id = ?";
         try (Connection conn = ConnectionUtil.getConnection();
@@ -116,5 +175,18 @@ public class UserDAO {
         }
     }
 
+    public boolean updatePassword(int userId, String password) {
+        String sql = "UPDATE users SET password = ? WHERE id = ?";
+        try (Connection conn = ConnectionUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, password);
+            stmt.setInt(2, userId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
 
 }
@@ -0,0 +1,33 @@
+package com.revconnectapp.model;
+
+import java.sql.Timestamp;
+import java.util.function.BiFunction;
+
+/**
+ * The opaque string form shared by the (created_at, id) keyset cursors:
+ * {@code seconds.nanos:id}.
+ */
+final class CursorCodec {
+
+    private CursorCodec() {}
+
+    static String encode(Timestamp createdAt, int id) {
+        return createdAt.getTime() / 1000 + "." + createdAt.getNanos() + ":" + id;
+    }
+
+    /** The cursor {@code make} builds from the token's parts, or null if it is blank or malformed. */
+    static <T> T decode(String token, BiFunction<Timestamp, Integer, T> make) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            int colon = token.indexOf(':');
+            int dot = token.indexOf('.');
+            long seconds = Long.parseLong(token.substring(0, dot));
+            int nanos = Integer.parseInt(token.substring(dot + 1, colon));
+            Timestamp ts = new Timestamp(seconds * 1000);
+            ts.setNanos(nanos);
+            return make.apply(ts, Integer.parseInt(token.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
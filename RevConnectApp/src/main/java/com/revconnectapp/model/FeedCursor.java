@@ -0,0 +1,35 @@
+package com.revconnectapp.model;
+
+import java.sql.Timestamp;
+
+/**
+ * Keyset position in a timeline: the (created_at, id) of the last post on the
+ * previous page. The next page starts strictly after it, so paging cost does
+ * not grow with depth the way OFFSET does.
+ */
+public class FeedCursor {
+    private final Timestamp createdAt;
+    private final int postId;
+
+    public FeedCursor(Timestamp createdAt, int postId) {
+        this.createdAt = createdAt;
+        this.postId = postId;
+    }
+
+    public Timestamp getCreatedAt() { return createdAt; }
+    public int getPostId() { return postId; }
+
+    /** Opaque string form, e.g. for passing a cursor over HTTP. */
+    public String encode() {
+        return CursorCodec.encode(createdAt, postId);
+    }
+
+    public static FeedCursor decode(String token) {
+        return CursorCodec.decode(token, FeedCursor::new);
+    }
+
+    @Override
+    public String toString() {
+        return "FeedCursor{" + createdAt + ", id=" + postId + "}";
+    }
+}
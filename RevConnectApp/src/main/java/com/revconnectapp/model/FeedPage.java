@@ -0,0 +1,22 @@
+package com.revconnectapp.model;
+
+import java.util.List;
+
+/**
+ * One page of a timeline plus the cursor for the page after it
+ * (null when there are no more posts).
+ */
+public class FeedPage {
+    private final List<Post> posts;
+    private final FeedCursor nextCursor;
+
+    public FeedPage(List<Post> posts, FeedCursor nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Post> getPosts() { return posts; }
+    public FeedCursor getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != null; }
+    public boolean isEmpty() { return posts.isEmpty(); }
+}
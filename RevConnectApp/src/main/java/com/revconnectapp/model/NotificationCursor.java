@@ -0,0 +1,41 @@
+package com.revconnectapp.model;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position in a user's notifications: the (created_at, id) of a
+ * notification already shown. Older pages start strictly after it; refreshes
+ * fetch only what is newer than it.
+ */
+public class NotificationCursor {
+    private final Timestamp createdAt;
+    private final int notificationId;
+
+    public NotificationCursor(Timestamp createdAt, int notificationId) {
+        this.createdAt = createdAt;
+        this.notificationId = notificationId;
+    }
+
+    public static NotificationCursor of(Notification notification) {
+        LocalDateTime time = notification.getCreatedAt() != null ? notification.getCreatedAt() : LocalDateTime.now();
+        return new NotificationCursor(Timestamp.valueOf(time), notification.getId());
+    }
+
+    public Timestamp getCreatedAt() { return createdAt; }
+    public int getNotificationId() { return notificationId; }
+
+    /** Opaque string form, e.g. for passing a cursor over HTTP. */
+    public String encode() {
+        return CursorCodec.encode(createdAt, notificationId);
+    }
+
+    public static NotificationCursor decode(String token) {
+        return CursorCodec.decode(token, NotificationCursor::new);
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationCursor{" + createdAt + ", id=" + notificationId + "}";
+    }
+}
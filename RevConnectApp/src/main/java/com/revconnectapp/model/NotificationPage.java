@@ -0,0 +1,22 @@
+package com.revconnectapp.model;
+
+import java.util.List;
+
+/**
+ * One page of a user's notifications, newest first, plus the cursor for the
+ * page after it (null when there are no older notifications).
+ */
+public class NotificationPage {
+    private final List<Notification> notifications;
+    private final NotificationCursor nextCursor;
+
+    public NotificationPage(List<Notification> notifications, NotificationCursor nextCursor) {
+        this.notifications = notifications;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Notification> getNotifications() { return notifications; }
+    public NotificationCursor getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != null; }
+    public boolean isEmpty() { return notifications.isEmpty(); }
+}
@@ -0,0 +1,41 @@
+package com.revconnectapp.model;
+
+/**
+ * Everything a feed row shows besides the post itself: author, counters and
+ * the viewer's relationship to the post and its author.
+ */
+public class PostStats {
+    private int postId;
+    private int authorId;
+    private String authorUsername;
+    private int likeCount;
+    private int commentCount;
+    private boolean likedByViewer;
+    private boolean connectedToAuthor;
+
+    public PostStats() {}
+
+    public PostStats(int postId) {
+        this.postId = postId;
+    }
+
+    public int getPostId() { return postId; }
+    public void setPostId(int postId) { this.postId = postId; }
+    public int getAuthorId() { return authorId; }
+    public void setAuthorId(int authorId) { this.authorId = authorId; }
+    public String getAuthorUsername() { return authorUsername; }
+    public void setAuthorUsername(String authorUsername) { this.authorUsername = authorUsername; }
+    public int getLikeCount() { return likeCount; }
+    public void setLikeCount(int likeCount) { this.likeCount = likeCount; }
+    public int getCommentCount() { return commentCount; }
+    public void setCommentCount(int commentCount) { this.commentCount = commentCount; }
+    public boolean isLikedByViewer() { return likedByViewer; }
+    public void setLikedByViewer(boolean likedByViewer) { this.likedByViewer = likedByViewer; }
+    public boolean isConnectedToAuthor() { return connectedToAuthor; }
+    public void setConnectedToAuthor(boolean connectedToAuthor) { this.connectedToAuthor = connectedToAuthor; }
+
+    @Override
+    public String toString() {
+        return "PostStats{postId=" + postId + ", likes=" + likeCount + ", comments=" + commentCount + "}";
+    }
+}
@@ -0,0 +1,23 @@
+package com.revconnectapp.model;
+
+/**
+ * A hashtag and about how many posts used it in a trending window.
+ * Counts are sketch estimates: never low, occasionally a little high.
+ */
+public class TrendingTag {
+    private final String tag;
+    private final int count;
+
+    public TrendingTag(String tag, int count) {
+        this.tag = tag;
+        this.count = count;
+    }
+
+    public String getTag() { return tag; }
+    public int getCount() { return count; }
+
+    @Override
+    public String toString() {
+        return "#" + tag + " (" + count + ")";
+    }
+}
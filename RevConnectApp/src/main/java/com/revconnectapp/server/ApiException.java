@@ -0,0 +1,30 @@
+package com.revconnectapp.server;
+
+/**
+ * A request that cannot be served, with the HTTP status to answer it with.
+ * Thrown by endpoints and turned into a JSON error body by the server.
+ */
+public class ApiException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() { return status; }
+
+    public static ApiException badRequest(String message) {
+        return new ApiException(400, message);
+    }
+
+    public static ApiException notFound(String what) {
+        return new ApiException(404, what + " not found");
+    }
+
+    public static ApiException forbidden() {
+        return new ApiException(403, "Not allowed");
+    }
+}
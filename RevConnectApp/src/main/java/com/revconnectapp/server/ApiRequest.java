@@ -0,0 +1,113 @@
+package com.revconnectapp.server;
+
+import com.revconnectapp.util.Json;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One HTTP request as endpoints see it: path parameters from the route,
+ * query parameters, the JSON body and the caller's session.
+ */
+public class ApiRequest {
+    private final HttpExchange exchange;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> query;
+    private final String body;
+    private final Session session;
+    private Map<String, Object> json;
+
+    ApiRequest(HttpExchange exchange, Map<String, String> pathParams, String body, Session session) {
+        this.exchange = exchange;
+        this.pathParams = pathParams;
+        this.query = parseQuery(exchange.getRequestURI().getRawQuery());
+        this.body = body;
+        this.session = session;
+    }
+
+    public String getMethod() {
+        return exchange.getRequestMethod();
+    }
+
+    /** The caller's session; routes that require login never see null. */
+    public Session session() {
+        return session;
+    }
+
+    public String path(String name) {
+        return pathParams.get(name);
+    }
+
+    public int pathInt(String name) {
+        return toInt(pathParams.get(name), name);
+    }
+
+    public String query(String name) {
+        return query.get(name);
+    }
+
+    public int queryInt(String name, int defaultValue) {
+        String value = query.get(name);
+        return value == null || value.isEmpty() ? defaultValue : toInt(value, name);
+    }
+
+    public boolean queryFlag(String name) {
+        String value = query.get(name);
+        return value != null && (value.isEmpty() || value.equalsIgnoreCase("true") || value.equals("1"));
+    }
+
+    /** A required non-blank string field of the JSON body. */
+    public String bodyString(String name) {
+        String value = optionalBodyString(name);
+        if (value == null || value.isBlank()) throw ApiException.badRequest("Missing field '" + name + "'");
+        return value;
+    }
+
+    public String optionalBodyString(String name) {
+        Object value = json().get(name);
+        return value == null ? null : value.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> json() {
+        if (json == null) {
+            if (body == null || body.isBlank()) {
+                json = Collections.emptyMap();
+            } else {
+                Object parsed;
+                try {
+                    parsed = Json.parse(body);
+                } catch (IllegalArgumentException e) {
+                    throw ApiException.badRequest("Malformed JSON: " + e.getMessage());
+                }
+                if (!(parsed instanceof Map)) throw ApiException.badRequest("Body must be a JSON object");
+                json = (Map<String, Object>) parsed;
+            }
+        }
+        return json;
+    }
+
+    private static int toInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw ApiException.badRequest("'" + name + "' must be a number");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.putIfAbsent(key, value);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,353 @@
+package com.revconnectapp.server;
+
+import com.revconnectapp.model.Comment;
+import com.revconnectapp.model.FeedCursor;
+import com.revconnectapp.model.FeedPage;
+import com.revconnectapp.model.Notification;
+import com.revconnectapp.model.NotificationCursor;
+import com.revconnectapp.model.NotificationPage;
+import com.revconnectapp.model.Post;
+import com.revconnectapp.model.User;
+import com.revconnectapp.service.AppContext;
+import com.revconnectapp.service.CommentService;
+import com.revconnectapp.service.ConnectionService;
+import com.revconnectapp.service.LikeService;
+import com.revconnectapp.service.NotificationService;
+import com.revconnectapp.service.PostService;
+import com.revconnectapp.service.ReadCoalescer;
+import com.revconnectapp.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The HTTP API. Each endpoint is a thin adapter over the same services the
+ * console menus use; everything a menu kept in fields (the logged-in user,
+ * the newest notification seen) lives in the caller's {@link Session}.
+ *
+ * Services come from the shared {@link AppContext}, the same instances the
+ * console menus use.
+ */
+class ApiRoutes {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final RevConnectServer server;
+    private final SessionStore sessions;
+
+    private final UserService userService = AppContext.get().userService();
+    private final PostService postService = AppContext.get().postService();
+    private final ConnectionService connectionService = AppContext.get().connectionService();
+    private final NotificationService notificationService = AppContext.get().notificationService();
+    private final LikeService likeService = AppContext.get().likeService();
+    private final CommentService commentService = AppContext.get().commentService();
+
+    ApiRoutes(RevConnectServer server, SessionStore sessions) {
+        this.server = server;
+        this.sessions = sessions;
+    }
+
+    void register() {
+        server.route("GET", "/api/health", false, r -> JsonViews.of("status", "ok", "server", server.describe(),
+                "reads", ReadCoalescer.getInstance().describe()));
+
+        // Accounts
+        server.route("POST", "/api/register", false, this::registerUser);
+        server.route("POST", "/api/login", false, this::login);
+        server.route("POST", "/api/logout", true, this::logout);
+        server.route("GET", "/api/me", true, r -> JsonViews.user(requireUser(r.session().getUserId())));
+        server.route("GET", "/api/users/search", true, this::searchUsers);
+        server.route("GET", "/api/users/complete", true, this::completeUsernames);
+        server.route("GET", "/api/users/{id}", true, r -> JsonViews.user(requireUser(r.pathInt("id"))));
+
+        // Feeds and posts
+        server.route("GET", "/api/feed/public", true,
+                r -> feedPage(postService.getPublicFeed(cursor(r), pageSize(r, PostService.DEFAULT_PAGE_SIZE)), r));
+        server.route("GET", "/api/feed/connections", true,
+                r -> feedPage(postService.getConnectionsFeed(r.session().getUserId(), cursor(r),
+                        pageSize(r, PostService.DEFAULT_PAGE_SIZE)), r));
+        server.route("GET", "/api/tags/{tag}", true,
+                r -> feedPage(postService.getPostsByTag(r.path("tag"), cursor(r),
+                        pageSize(r, PostService.DEFAULT_PAGE_SIZE)), r));
+        server.route("GET", "/api/trending", true, this::trending);
+        server.route("GET", "/api/posts/search", true, this::searchPosts);
+        server.route("POST", "/api/posts", true, this::createPost);
+        server.route("GET", "/api/posts/{id}", true, this::getPost);
+        server.route("PUT", "/api/posts/{id}", true, this::editPost);
+        server.route("DELETE", "/api/posts/{id}", true, this::deletePost);
+
+        // Likes and comments
+        server.route("POST", "/api/posts/{id}/like", true, this::like);
+        server.route("DELETE", "/api/posts/{id}/like", true, this::unlike);
+        server.route("GET", "/api/posts/{id}/comments", true,
+                r -> JsonViews.list(commentService.getComments(requirePost(r.pathInt("id")).getId()), JsonViews::comment));
+        server.route("POST", "/api/posts/{id}/comments", true, this::addComment);
+        server.route("DELETE", "/api/posts/{postId}/comments/{id}", true, this::deleteComment);
+
+        // Connections
+        server.route("GET", "/api/connections", true,
+                r -> JsonViews.list(connectionService.getConnections(r.session().getUserId()), JsonViews::user));
+        server.route("GET", "/api/connections/pending", true,
+                r -> JsonViews.list(connectionService.getPendingRequests(r.session().getUserId()), JsonViews::connection));
+        server.route("POST", "/api/connections/requests", true, this::sendConnectionRequest);
+        server.route("POST", "/api/connections/accept", true, this::acceptConnection);
+        server.route("POST", "/api/connections/reject", true, this::rejectConnection);
+        server.route("DELETE", "/api/connections/{username}", true, this::removeConnection);
+
+        // Notifications
+        server.route("GET", "/api/notifications", true, this::notifications);
+        server.route("GET", "/api/notifications/count", true,
+                r -> JsonViews.of("unread", notificationService.getUnreadCount(r.session().getUserId())));
+        server.route("GET", "/api/notifications/since", true, this::notificationsSince);
+        server.route("POST", "/api/notifications/{id}/read", true, this::markRead);
+        server.route("POST", "/api/notifications/read-all", true, r -> {
+            notificationService.markAllRead(r.session().getUserId());
+            return null;
+        });
+    }
+
+    // ===== Accounts =====
+
+    private Object registerUser(ApiRequest r) {
+        User user = new User(r.bodyString("username"), r.bodyString("email"), r.bodyString("password"),
+                r.optionalBodyString("userType") != null ? r.optionalBodyString("userType") : "PERSONAL");
+        List<String> errors = user.validate();
+        if (!errors.isEmpty()) throw ApiException.badRequest(String.join("; ", errors));
+        User created = userService.register(user);
+        if (created == null) throw new ApiException(409, "Username or email already taken");
+        return loggedIn(created);
+    }
+
+    private Object login(ApiRequest r) {
+        User user = userService.login(r.bodyString("username"), r.bodyString("password"));
+        if (user == null) throw new ApiException(401, "Invalid username or password");
+        return loggedIn(user);
+    }
+
+    private Map<String, Object> loggedIn(User user) {
+        Session session = sessions.create(user);
+        return JsonViews.of("token", session.getToken(), "user", JsonViews.user(user));
+    }
+
+    private Object logout(ApiRequest r) {
+        sessions.remove(r.session().getToken());
+        return null;
+    }
+
+    private Object searchUsers(ApiRequest r) {
+        String q = r.query("q");
+        if (q == null || q.isBlank()) throw ApiException.badRequest("Missing query parameter 'q'");
+        return JsonViews.list(userService.searchUsers(q), JsonViews::user);
+    }
+
+    private Object completeUsernames(ApiRequest r) {
+        String prefix = r.query("prefix");
+        if (prefix == null || prefix.isBlank()) throw ApiException.badRequest("Missing query parameter 'prefix'");
+        return JsonViews.list(userService.completeUsernames(prefix, r.session().getUserId(), pageSize(r, 10)),
+                JsonViews::user);
+    }
+
+    // ===== Posts =====
+
+    private Object trending(ApiRequest r) {
+        int limit = pageSize(r, 10);
+        boolean today = "day".equalsIgnoreCase(r.query("window"));
+        return JsonViews.list(today ? postService.getTrendingToday(limit) : postService.getTrendingNow(limit),
+                JsonViews::trending);
+    }
+
+    private Object searchPosts(ApiRequest r) {
+        String q = r.query("q");
+        if (q == null || q.isBlank()) throw ApiException.badRequest("Missing query parameter 'q'");
+        List<Post> posts = postService.searchPosts(q, pageSize(r, PostService.DEFAULT_PAGE_SIZE));
+        if (posts == null) throw new ApiException(503, "Search index is still loading");
+        return JsonViews.posts(posts, postService.getFeedStats(posts, r.session().getUserId()));
+    }
+
+    private Object createPost(ApiRequest r) {
+        Post post = new Post();
+        post.setUserId(r.session().getUserId());
+        post.setContent(r.bodyString("content"));
+        post.setHashtags(r.optionalBodyString("hashtags"));
+        postService.createPost(post);
+        if (post.getId() <= 0) throw new ApiException(500, "Post could not be saved");
+        return JsonViews.post(post, null);
+    }
+
+    private Object getPost(ApiRequest r) {
+        Post post = requirePost(r.pathInt("id"));
+        return JsonViews.post(post, postService.getFeedStats(List.of(post), r.session().getUserId()).get(post.getId()));
+    }
+
+    private Object editPost(ApiRequest r) {
+        Post post = requireOwnPost(r);
+        String content = r.bodyString("content");
+        String hashtags = r.optionalBodyString("hashtags");
+        postService.editPost(post.getId(), content, hashtags != null ? hashtags : post.getHashtags());
+        return JsonViews.post(postService.getPostById(post.getId()), null);
+    }
+
+    private Object deletePost(ApiRequest r) {
+        postService.deletePost(requireOwnPost(r).getId());
+        return null;
+    }
+
+    private Object feedPage(FeedPage page, ApiRequest r) {
+        return JsonViews.feedPage(page, postService.getFeedStats(page.getPosts(), r.session().getUserId()));
+    }
+
+    // ===== Likes and comments =====
+
+    private Object like(ApiRequest r) {
+        Post post = requirePost(r.pathInt("id"));
+        Session s = r.session();
+        if (!likeService.isLikedByUser(post.getId(), s.getUserId())) {
+            likeService.likePost(post.getId(), s.getUserId());
+            if (post.getUserId() != s.getUserId()) {
+                notificationService.notifyLikedPost(post.getUserId(), s.getUsername(), post.getId());
+            }
+        }
+        return JsonViews.of("liked", true, "likeCount", likeService.getLikeCount(post.getId()));
+    }
+
+    private Object unlike(ApiRequest r) {
+        Post post = requirePost(r.pathInt("id"));
+        likeService.unlikePost(post.getId(), r.session().getUserId());
+        return JsonViews.of("liked", false, "likeCount", likeService.getLikeCount(post.getId()));
+    }
+
+    private Object addComment(ApiRequest r) {
+        Post post = requirePost(r.pathInt("id"));
+        Session s = r.session();
+        commentService.addComment(post.getId(), s.getUserId(), r.bodyString("content"));
+        if (post.getUserId() != s.getUserId()) {
+            notificationService.notifyNewComment(post.getUserId(), s.getUsername(), post.getId());
+        }
+        return JsonViews.list(commentService.getMyComments(post.getId(), s.getUserId()), JsonViews::comment);
+    }
+
+    private Object deleteComment(ApiRequest r) {
+        int commentId = r.pathInt("id");
+        List<Comment> mine = commentService.getMyComments(r.pathInt("postId"), r.session().getUserId());
+        if (mine.stream().noneMatch(c -> c.getId() == commentId)) throw ApiException.notFound("Comment");
+        commentService.deleteComment(commentId);
+        return null;
+    }
+
+    // ===== Connections =====
+
+    private Object sendConnectionRequest(ApiRequest r) {
+        if (!connectionService.sendRequestByUsername(r.session().getUserId(), r.bodyString("username"))) {
+            throw new ApiException(409, "Connection request could not be sent");
+        }
+        return JsonViews.of("sent", true);
+    }
+
+    private Object acceptConnection(ApiRequest r) {
+        if (!connectionService.acceptRequestByUsername(r.session().getUserId(), r.bodyString("username"))) {
+            throw ApiException.notFound("Pending request");
+        }
+        return JsonViews.of("accepted", true);
+    }
+
+    private Object rejectConnection(ApiRequest r) {
+        User sender = userService.getUserByUsername(r.bodyString("username"));
+        if (sender == null || !connectionService.rejectRequest(r.session().getUserId(), sender.getId())) {
+            throw ApiException.notFound("Pending request");
+        }
+        return null;
+    }
+
+    private Object removeConnection(ApiRequest r) {
+        if (!connectionService.removeConnectionByUsername(r.session().getUserId(), r.path("username"))) {
+            throw ApiException.notFound("Connection");
+        }
+        return null;
+    }
+
+    // ===== Notifications =====
+
+    private Object notifications(ApiRequest r) {
+        Session s = r.session();
+        NotificationCursor after = cursor(r, NotificationCursor::decode);
+        int limit = pageSize(r, NotificationService.DEFAULT_PAGE_SIZE);
+        NotificationPage page = r.queryFlag("unread")
+                ? notificationService.getUnreadPage(s.getUserId(), after, limit)
+                : notificationService.getPage(s.getUserId(), after, limit);
+        if (after == null) rememberNewest(s, page.getNotifications());
+        return JsonViews.notificationPage(page);
+    }
+
+    // Delta since this session last fetched the first page or a delta; the
+    // client reloads the first page when told it is too far behind.
+    private Object notificationsSince(ApiRequest r) {
+        Session s = r.session();
+        NotificationCursor newest = s.getNewestNotification();
+        if (newest == null) return JsonViews.of("reload", true, "notifications", List.of());
+        List<Notification> delta = notificationService.getSince(s.getUserId(), newest);
+        if (delta == null) {
+            s.setNewestNotification(null);
+            return JsonViews.of("reload", true, "notifications", List.of());
+        }
+        rememberNewest(s, delta);
+        return JsonViews.of("reload", false, "notifications", JsonViews.list(delta, JsonViews::notification));
+    }
+
+    private static void rememberNewest(Session s, List<Notification> newestFirst) {
+        // Pending notifications have no id yet; the next delta returns them again
+        for (Notification n : newestFirst) {
+            if (n.getId() > 0 && n.getCreatedAt() != null) {
+                s.setNewestNotification(NotificationCursor.of(n));
+                return;
+            }
+        }
+    }
+
+    private Object markRead(ApiRequest r) {
+        int id = r.pathInt("id");
+        if (!notificationService.isOwnedBy(id, r.session().getUserId())) throw ApiException.notFound("Notification");
+        notificationService.markAsRead(id);
+        return null;
+    }
+
+    // ===== Helpers =====
+
+    private User requireUser(int id) {
+        User user = userService.getUserById(id);
+        if (user == null) throw ApiException.notFound("User");
+        return user;
+    }
+
+    private Post requirePost(int id) {
+        Post post = postService.getPostById(id);
+        if (post == null) throw ApiException.notFound("Post");
+        return post;
+    }
+
+    private Post requireOwnPost(ApiRequest r) {
+        Post post = requirePost(r.pathInt("id"));
+        if (post.getUserId() != r.session().getUserId()) throw ApiException.forbidden();
+        return post;
+    }
+
+    private static FeedCursor cursor(ApiRequest r) {
+        return cursor(r, FeedCursor::decode);
+    }
+
+    // Null when no cursor was sent; a cursor that does not decode is the client's error
+    private static <T> T cursor(ApiRequest r, Function<String, T> decode) {
+        String token = r.query("cursor");
+        T cursor = decode.apply(token);
+        if (cursor == null && token != null && !token.isBlank()) throw ApiException.badRequest("Invalid cursor");
+        return cursor;
+    }
+
+    private static int pageSize(ApiRequest r, int defaultSize) {
+        int limit = r.queryInt("limit", defaultSize);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw ApiException.badRequest("'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,124 @@
+package com.revconnectapp.server;
+
+import com.revconnectapp.model.Comment;
+import com.revconnectapp.model.Connection;
+import com.revconnectapp.model.FeedPage;
+import com.revconnectapp.model.Notification;
+import com.revconnectapp.model.NotificationPage;
+import com.revconnectapp.model.Post;
+import com.revconnectapp.model.PostStats;
+import com.revconnectapp.model.TrendingTag;
+import com.revconnectapp.model.User;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Model objects as JSON-ready maps. Only what a client needs goes out; in
+ * particular passwords and security answers never do.
+ */
+final class JsonViews {
+
+    private JsonViews() {}
+
+    static Map<String, Object> user(User user) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", user.getId());
+        m.put("username", user.getUsername());
+        m.put("userType", user.getUserType());
+        m.put("fullName", user.getFullName());
+        m.put("bio", user.getBio());
+        m.put("location", user.getLocation());
+        return m;
+    }
+
+    static Map<String, Object> post(Post post, PostStats stats) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", post.getId());
+        m.put("userId", post.getUserId());
+        m.put("username", stats != null && stats.getAuthorUsername() != null ? stats.getAuthorUsername() : post.getUsername());
+        m.put("content", post.getContent());
+        m.put("hashtags", post.getHashtags());
+        m.put("createdAt", post.getCreatedAt());
+        if (stats != null) {
+            m.put("likeCount", stats.getLikeCount());
+            m.put("commentCount", stats.getCommentCount());
+            m.put("likedByViewer", stats.isLikedByViewer());
+        }
+        return m;
+    }
+
+    static List<Map<String, Object>> posts(List<Post> posts, Map<Integer, PostStats> stats) {
+        List<Map<String, Object>> out = new ArrayList<>(posts.size());
+        for (Post p : posts) out.add(post(p, stats.get(p.getId())));
+        return out;
+    }
+
+    static Map<String, Object> feedPage(FeedPage page, Map<Integer, PostStats> stats) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("posts", posts(page.getPosts(), stats));
+        m.put("nextCursor", page.getNextCursor() != null ? page.getNextCursor().encode() : null);
+        return m;
+    }
+
+    static Map<String, Object> comment(Comment comment) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", comment.getId());
+        m.put("postId", comment.getPostId());
+        m.put("userId", comment.getUserId());
+        m.put("username", comment.getUsername());
+        m.put("content", comment.getContent());
+        return m;
+    }
+
+    static Map<String, Object> connection(Connection connection) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", connection.getId());
+        m.put("user1Id", connection.getUser1Id());
+        m.put("user2Id", connection.getUser2Id());
+        m.put("status", connection.getStatus());
+        m.put("createdAt", connection.getCreatedAt() != null ? connection.getCreatedAt().toString() : null);
+        return m;
+    }
+
+    static Map<String, Object> notification(Notification n) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", n.getId());
+        m.put("type", n.getType());
+        m.put("message", n.getMessage());
+        m.put("read", n.isRead());
+        m.put("createdAt", n.getCreatedAt() != null ? n.getCreatedAt().toString() : null);
+        return m;
+    }
+
+    static Map<String, Object> notificationPage(NotificationPage page) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("notifications", list(page.getNotifications(), JsonViews::notification));
+        m.put("nextCursor", page.getNextCursor() != null ? page.getNextCursor().encode() : null);
+        return m;
+    }
+
+    static Map<String, Object> trending(TrendingTag tag) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("tag", tag.getTag());
+        m.put("count", tag.getCount());
+        return m;
+    }
+
+    static <T> List<Map<String, Object>> list(List<T> items, Function<T, Map<String, Object>> view) {
+        List<Map<String, Object>> out = new ArrayList<>(items.size());
+        for (T item : items) out.add(view.apply(item));
+        return out;
+    }
+
+    static Map<String, Object> of(Object... keysAndValues) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+            m.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return m;
+    }
+}
@@ -0,0 +1,287 @@
+package com.revconnectapp.server;
+
+import com.revconnectapp.util.Json;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multi-user server mode: the service layer behind a small HTTP/JSON API
+ * ({@link ApiRoutes}), so many clients share one JVM and its caches instead
+ * of each running the console app.
+ *
+ * Load is bounded at three points, all configurable:
+ * <ul>
+ *   <li>Requests run on a fixed pool of {@code revconnect.server.threads}
+ *       with a bounded queue; when both are full the accepting thread runs
+ *       the request itself, which stops it accepting more.</li>
+ *   <li>At most {@code revconnect.server.maxInFlight} requests (default: the
+ *       connection pool size) run against the services at once; the rest wait
+ *       up to {@code revconnect.server.admissionTimeoutMs} and then get 503,
+ *       so MySQL sees a bounded number of concurrent queries.</li>
+ *   <li>Each session may have {@code revconnect.server.maxInFlightPerSession}
+ *       requests running; more get 429.</li>
+ * </ul>
+ * Clients log in with {@code POST /api/login} and send the returned token as
+ * {@code Authorization: Bearer <token>}.
+ */
+public class RevConnectServer {
+
+    /** An API endpoint; the returned value is written as the JSON response. */
+    @FunctionalInterface
+    public interface Endpoint {
+        Object handle(ApiRequest request);
+    }
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final int port;
+    private final int threads = Integer.getInteger("revconnect.server.threads", 32);
+    private final int queueSize = Integer.getInteger("revconnect.server.queue", 256);
+    private final int maxInFlight;
+    private final long admissionTimeoutMs;
+
+    private final SessionStore sessions = new SessionStore();
+    private final Semaphore admission;
+    private final List<Route> routes = new ArrayList<>();
+
+    private HttpServer server;
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService sweeper;
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder rejectedBusy = new LongAdder();
+    private final LongAdder rejectedSession = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public RevConnectServer() {
+        this(Integer.getInteger("revconnect.server.port", 8080),
+                Integer.getInteger("revconnect.server.maxInFlight", Integer.getInteger("revconnect.pool.maxSize", 10)),
+                Long.getLong("revconnect.server.admissionTimeoutMs", 2_000L));
+        new ApiRoutes(this, sessions).register();
+    }
+
+    /** A server with no routes yet; port 0 picks a free one. */
+    RevConnectServer(int port, int maxInFlight, long admissionTimeoutMs) {
+        this.port = port;
+        this.maxInFlight = maxInFlight;
+        this.admissionTimeoutMs = admissionTimeoutMs;
+        this.admission = new Semaphore(maxInFlight, true);
+    }
+
+    /** Adds a route; {@code {name}} segments in the pattern become path parameters. */
+    void route(String method, String pattern, boolean requiresLogin, Endpoint endpoint) {
+        routes.add(new Route(method, pattern, requiresLogin, endpoint));
+    }
+
+    SessionStore sessions() {
+        return sessions;
+    }
+
+    public synchronized void start() throws IOException {
+        AtomicInteger n = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "revconnect-http-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+        server.start();
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revconnect-session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(sessions::purgeExpired, 1, 1, TimeUnit.MINUTES);
+        System.out.println("🌐 RevConnect server listening on port " + port + " (" + threads
+                + " threads, " + maxInFlight + " concurrent requests)");
+    }
+
+    public synchronized void stop() {
+        if (server == null) return;
+        server.stop(1);
+        sweeper.shutdownNow();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    // ===== Request handling =====
+
+    private void dispatch(HttpExchange exchange) {
+        try (exchange) {
+            int status;
+            Object response;
+            try {
+                response = handle(exchange);
+                status = "POST".equals(exchange.getRequestMethod()) && response != null ? 201 : 200;
+                if (response == null) status = 204;
+            } catch (ApiException e) {
+                status = e.getStatus();
+                response = Map.of("error", e.getMessage());
+            } catch (RuntimeException e) {
+                failures.increment();
+                e.printStackTrace();
+                status = 500;
+                response = Map.of("error", "Internal error");
+            }
+            send(exchange, status, response);
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private Object handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] segments = split(exchange.getRequestURI().getPath());
+        Route matched = null;
+        Map<String, String> params = null;
+        boolean pathMatched = false;
+        for (Route r : routes) {
+            Map<String, String> p = r.match(segments);
+            if (p == null) continue;
+            pathMatched = true;
+            if (r.method.equals(method)) {
+                matched = r;
+                params = p;
+                break;
+            }
+        }
+        if (matched == null) {
+            throw new ApiException(pathMatched ? 405 : 404, pathMatched ? "Method not allowed" : "No such endpoint");
+        }
+
+        Session session = sessions.get(bearerToken(exchange));
+        if (matched.requiresLogin && session == null) {
+            throw new ApiException(401, "Login required");
+        }
+        String body = readBody(exchange);
+
+        if (session != null && !session.tryEnter()) {
+            rejectedSession.increment();
+            throw new ApiException(429, "Too many requests in flight for this session");
+        }
+        try {
+            if (!admission.tryAcquire(admissionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejectedBusy.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                throw new ApiException(503, "Server busy, try again shortly");
+            }
+            try {
+                served.increment();
+                return matched.endpoint.handle(new ApiRequest(exchange, params, body, session));
+            } finally {
+                admission.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(503, "Interrupted");
+        } finally {
+            if (session != null) session.exit();
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                out.write(buf, 0, n);
+                if (out.size() > MAX_BODY_BYTES) throw new ApiException(413, "Request body too large");
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, Object response) throws IOException {
+        if (status == 204) {
+            exchange.sendResponseHeaders(204, -1);
+            return;
+        }
+        byte[] bytes = Json.write(response).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) return null;
+        return header.substring(7).trim();
+    }
+
+    private static String[] split(String path) {
+        return path.replaceAll("^/+|/+$", "").split("/+");
+    }
+
+    public String describe() {
+        return String.format("RevConnectServer{port=%d, sessions=%d, served=%d, busy=%d, sessionLimited=%d, failures=%d, "
+                        + "active=%d, queued=%d, permitsFree=%d}",
+                getPort(), sessions.size(), served.sum(), rejectedBusy.sum(), rejectedSession.sum(), failures.sum(),
+                executor != null ? executor.getActiveCount() : 0, executor != null ? executor.getQueue().size() : 0,
+                admission.availablePermits());
+    }
+
+    private static final class Route {
+        final String method;
+        final String[] segments;
+        final boolean requiresLogin;
+        final Endpoint endpoint;
+
+        Route(String method, String pattern, boolean requiresLogin, Endpoint endpoint) {
+            this.method = method;
+            this.segments = split(pattern);
+            this.requiresLogin = requiresLogin;
+            this.endpoint = endpoint;
+        }
+
+        // Path parameters if the path fits this route, else null
+        Map<String, String> match(String[] path) {
+            if (path.length != segments.length) return null;
+            Map<String, String> params = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                String s = segments[i];
+                if (s.startsWith("{") && s.endsWith("}")) {
+                    params.put(s.substring(1, s.length() - 1), path[i]);
+                } else if (!s.equals(path[i])) {
+                    return null;
+                }
+            }
+            return params;
+        }
+    }
+}
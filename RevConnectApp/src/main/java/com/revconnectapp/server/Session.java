@@ -0,0 +1,52 @@
+package com.revconnectapp.server;
+
+import com.revconnectapp.model.NotificationCursor;
+import com.revconnectapp.model.User;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One logged-in client of the server: what {@code MainMenu} keeps in its
+ * fields for the console user, kept per token instead. Fields are read and
+ * written by whichever request thread serves the session.
+ */
+public class Session {
+    private final String token;
+    private final int userId;
+    private volatile String username;
+    private final long createdAt = System.currentTimeMillis();
+    private volatile long lastSeen = createdAt;
+    private final AtomicLong requests = new AtomicLong();
+    // Caps one client's share of the request threads
+    private final Semaphore inFlight;
+    // Newest notification the client has seen, for delta refreshes
+    private volatile NotificationCursor newestNotification;
+
+    Session(String token, User user, int maxInFlight) {
+        this.token = token;
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public String getToken() { return token; }
+    public int getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public long getCreatedAt() { return createdAt; }
+    public long getLastSeen() { return lastSeen; }
+    public long getRequestCount() { return requests.get(); }
+    public NotificationCursor getNewestNotification() { return newestNotification; }
+    public void setNewestNotification(NotificationCursor cursor) { this.newestNotification = cursor; }
+
+    boolean tryEnter() {
+        if (!inFlight.tryAcquire()) return false;
+        lastSeen = System.currentTimeMillis();
+        requests.incrementAndGet();
+        return true;
+    }
+
+    void exit() {
+        inFlight.release();
+    }
+}
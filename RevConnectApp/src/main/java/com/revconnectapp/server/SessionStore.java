@@ -0,0 +1,58 @@
+package com.revconnectapp.server;
+
+import com.revconnectapp.model.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sessions by bearer token. Tokens are 32 random bytes; a session expires
+ * after {@code revconnect.server.sessionTtlMinutes} without requests.
+ */
+public class SessionStore {
+
+    private final long ttlMillis = Long.getLong("revconnect.server.sessionTtlMinutes", 30L) * 60_000L;
+    private final int maxInFlightPerSession = Integer.getInteger("revconnect.server.maxInFlightPerSession", 4);
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    public Session create(User user) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(token, user, maxInFlightPerSession);
+        sessions.put(token, session);
+        return session;
+    }
+
+    /** The live session for the token, or null if unknown or expired. */
+    public Session get(String token) {
+        if (token == null) return null;
+        Session session = sessions.get(token);
+        if (session == null) return null;
+        if (System.currentTimeMillis() - session.getLastSeen() > ttlMillis) {
+            sessions.remove(token, session);
+            return null;
+        }
+        return session;
+    }
+
+    public void remove(String token) {
+        if (token != null) sessions.remove(token);
+    }
+
+    /** Drops expired sessions; returns how many. */
+    public int purgeExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        int before = sessions.size();
+        sessions.values().removeIf(s -> s.getLastSeen() < cutoff);
+        return before - sessions.size();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
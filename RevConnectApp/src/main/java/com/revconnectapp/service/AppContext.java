@@ -0,0 +1,170 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.CommentDAO;
+import com.revconnectapp.dao.ConnectionDAO;
+import com.revconnectapp.dao.FollowDAO;
+import com.revconnectapp.dao.LikeDAO;
+import com.revconnectapp.dao.NotificationDAO;
+import com.revconnectapp.dao.PostDAO;
+import com.revconnectapp.dao.PostStatsDAO;
+import com.revconnectapp.dao.PostTagDAO;
+import com.revconnectapp.dao.ProfileDAO;
+import com.revconnectapp.dao.UserDAO;
+import com.revconnectapp.util.Async;
+import com.revconnectapp.util.ConnectionUtil;
+import com.revconnectapp.util.Lazy;
+
+/**
+ * The one place services and DAOs come from. Menus, the HTTP server and the
+ * services themselves ask the context instead of {@code new}-ing their own,
+ * so every caller shares the same instances and therefore the same caches.
+ *
+ * DAOs and services are stateless apart from the shared engines they point
+ * at, so one instance of each serves every thread. The engines (caches,
+ * indexes, write pipelines) live here too; their {@code getInstance()} just
+ * asks the context. Everything is created on first use, which keeps startup
+ * down to the background loaders {@link #start()} kicks off.
+ *
+ * {@link #start()} warms the in-memory engines (graph, search indexes,
+ * trending, suggestions) in the background; {@link #stop()} flushes and
+ * stops them, newest writers first, and closes the connection pool last.
+ */
+public final class AppContext {
+
+    private enum State { NEW, RUNNING, STOPPED }
+
+    private static final AppContext INSTANCE = new AppContext();
+
+    // DAOs
+    private final Lazy<UserDAO> userDAO = new Lazy<>(UserDAO::new);
+    private final Lazy<PostDAO> postDAO = new Lazy<>(PostDAO::new);
+    private final Lazy<PostStatsDAO> postStatsDAO = new Lazy<>(PostStatsDAO::new);
+    private final Lazy<PostTagDAO> postTagDAO = new Lazy<>(PostTagDAO::new);
+    private final Lazy<CommentDAO> commentDAO = new Lazy<>(CommentDAO::new);
+    private final Lazy<LikeDAO> likeDAO = new Lazy<>(LikeDAO::new);
+    private final Lazy<ConnectionDAO> connectionDAO = new Lazy<>(ConnectionDAO::new);
+    private final Lazy<FollowDAO> followDAO = new Lazy<>(FollowDAO::new);
+    private final Lazy<NotificationDAO> notificationDAO = new Lazy<>(NotificationDAO::new);
+    private final Lazy<ProfileDAO> profileDAO = new Lazy<>(ProfileDAO::new);
+
+    // Request-facing services
+    private final Lazy<UserService> userService = new Lazy<>(UserService::new);
+    private final Lazy<PostService> postService = new Lazy<>(PostService::new);
+    private final Lazy<LikeService> likeService = new Lazy<>(LikeService::new);
+    private final Lazy<CommentService> commentService = new Lazy<>(CommentService::new);
+    private final Lazy<ConnectionService> connectionService = new Lazy<>(ConnectionService::new);
+    private final Lazy<FollowService> followService = new Lazy<>(FollowService::new);
+    private final Lazy<NotificationService> notificationService = new Lazy<>(NotificationService::new);
+    private final Lazy<ProfileService> profileService = new Lazy<>(ProfileService::new);
+
+    // Shared engines: caches, indexes and background writers
+    private final Lazy<UserCache> userCache = new Lazy<>(UserCache::new);
+    private final Lazy<UserSearchIndex> userSearchIndex = new Lazy<>(UserSearchIndex::new);
+    private final Lazy<SocialGraphService> socialGraphService = new Lazy<>(SocialGraphService::new);
+    private final Lazy<SuggestionService> suggestionService = new Lazy<>(SuggestionService::new);
+    private final Lazy<TimelineService> timelineService = new Lazy<>(TimelineService::new);
+    private final Lazy<HashtagIndex> hashtagIndex = new Lazy<>(HashtagIndex::new);
+    private final Lazy<TrendingService> trendingService = new Lazy<>(TrendingService::new);
+    private final Lazy<PostSearchService> postSearchService = new Lazy<>(PostSearchService::new);
+    private final Lazy<LikeCounterService> likeCounterService = new Lazy<>(LikeCounterService::new);
+    private final Lazy<LikerIndex> likerIndex = new Lazy<>(LikerIndex::new);
+    private final Lazy<LikeWritePipeline> likeWritePipeline = new Lazy<>(LikeWritePipeline::new);
+    private final Lazy<ReadCoalescer> readCoalescer = new Lazy<>(ReadCoalescer::new);
+    private final Lazy<NotificationStore> notificationStore = new Lazy<>(NotificationStore::new);
+    private final Lazy<NotificationCounters> notificationCounters = new Lazy<>(NotificationCounters::new);
+    private final Lazy<NotificationDispatcher> notificationDispatcher = new Lazy<>(NotificationDispatcher::new);
+    private final Lazy<NotificationCoalescer> notificationCoalescer = new Lazy<>(NotificationCoalescer::new);
+
+    private State state = State.NEW;
+
+    private AppContext() {}
+
+    public static AppContext get() {
+        return INSTANCE;
+    }
+
+    public UserDAO userDAO() { return userDAO.get(); }
+    public PostDAO postDAO() { return postDAO.get(); }
+    public PostStatsDAO postStatsDAO() { return postStatsDAO.get(); }
+    public PostTagDAO postTagDAO() { return postTagDAO.get(); }
+    public CommentDAO commentDAO() { return commentDAO.get(); }
+    public LikeDAO likeDAO() { return likeDAO.get(); }
+    public ConnectionDAO connectionDAO() { return connectionDAO.get(); }
+    public FollowDAO followDAO() { return followDAO.get(); }
+    public NotificationDAO notificationDAO() { return notificationDAO.get(); }
+    public ProfileDAO profileDAO() { return profileDAO.get(); }
+
+    public UserService userService() { return userService.get(); }
+    public PostService postService() { return postService.get(); }
+    public LikeService likeService() { return likeService.get(); }
+    public CommentService commentService() { return commentService.get(); }
+    public ConnectionService connectionService() { return connectionService.get(); }
+    public FollowService followService() { return followService.get(); }
+    public NotificationService notificationService() { return notificationService.get(); }
+    public ProfileService profileService() { return profileService.get(); }
+
+    public UserCache userCache() { return userCache.get(); }
+    public UserSearchIndex userSearchIndex() { return userSearchIndex.get(); }
+    public SocialGraphService socialGraphService() { return socialGraphService.get(); }
+    public SuggestionService suggestionService() { return suggestionService.get(); }
+    public TimelineService timelineService() { return timelineService.get(); }
+    public HashtagIndex hashtagIndex() { return hashtagIndex.get(); }
+    public TrendingService trendingService() { return trendingService.get(); }
+    public PostSearchService postSearchService() { return postSearchService.get(); }
+    public LikeCounterService likeCounterService() { return likeCounterService.get(); }
+    public LikerIndex likerIndex() { return likerIndex.get(); }
+    public LikeWritePipeline likeWritePipeline() { return likeWritePipeline.get(); }
+    public ReadCoalescer readCoalescer() { return readCoalescer.get(); }
+    public NotificationStore notificationStore() { return notificationStore.get(); }
+    public NotificationCounters notificationCounters() { return notificationCounters.get(); }
+    public NotificationDispatcher notificationDispatcher() { return notificationDispatcher.get(); }
+    public NotificationCoalescer notificationCoalescer() { return notificationCoalescer.get(); }
+
+    /** The like write pipeline if anything has used it yet, else null; never creates it. */
+    public LikeWritePipeline likeWritePipelineIfCreated() {
+        return likeWritePipeline.isInitialized() ? likeWritePipeline.get() : null;
+    }
+
+    // ===== Lifecycle =====
+
+    /** Starts the background loaders. Later calls do nothing. */
+    public synchronized void start() {
+        if (state != State.NEW) return;
+        suggestionService().start();
+        socialGraphService().start();
+        userSearchIndex().start();
+        hashtagIndex().start();
+        trendingService().start();
+        postSearchService().start();
+        // Bring posts.like_count in line with the likes table once, so a freshly
+        // migrated (or long-stopped) database does not show stale counts until
+        // the first scheduled reconcile
+        Thread backfill = new Thread(() -> likeCounterService().reconcile(), "revconnect-like-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+        state = State.RUNNING;
+    }
+
+    /**
+     * Flushes pending writes and stops background threads, then closes the
+     * pool. Engines that were never used are left alone rather than created
+     * just to be stopped. Safe to call more than once and from a shutdown hook.
+     */
+    public synchronized void stop() {
+        if (state == State.STOPPED) return;
+        state = State.STOPPED;
+        if (timelineService.isInitialized()) timelineService.get().shutdown();
+        if (trendingService.isInitialized()) trendingService.get().shutdown();
+        if (postSearchService.isInitialized()) postSearchService.get().shutdown();
+        if (suggestionService.isInitialized()) suggestionService.get().shutdown();
+        if (likeWritePipeline.isInitialized()) likeWritePipeline.get().shutdown();
+        if (likeCounterService.isInitialized()) likeCounterService.get().shutdown();
+        if (notificationDispatcher.isInitialized()) notificationDispatcher.get().shutdown();
+        Async.shutdown();
+        ConnectionUtil.shutdown();
+    }
+
+    public synchronized boolean isRunning() {
+        return state == State.RUNNING;
+    }
+}
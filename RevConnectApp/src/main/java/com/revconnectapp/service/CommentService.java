@@ -2,13 +2,19 @@ package com.revconnectapp.service;
 
 import com.revconnectapp.dao.CommentDAO;
 import com.revconnectapp.model.Comment;
+import com.revconnectapp.util.Async;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class CommentService {
-    private CommentDAO commentDAO = new CommentDAO();
+    private CommentDAO commentDAO = AppContext.get().commentDAO();
+    private PostSearchService postSearch = PostSearchService.getInstance(); // ✅ NEW: full-text index
     
     public void addComment(int postId, int userId, String content) {
-        commentDAO.addComment(postId, userId, content);
+        int commentId = commentDAO.addComment(postId, userId, content);
+        if (commentId > 0) {
+            postSearch.onCommentAdded(commentId, postId, content);
+        }
     }
     
     public List<Comment> getComments(int postId) {
@@ -21,9 +27,14 @@ public class CommentService {
     
     public void deleteComment(int commentId) {
         commentDAO.deleteComment(commentId);
+        postSearch.onCommentDeleted(commentId);
     }
     
     public int getCommentCount(int postId) {
         return commentDAO.getCommentCount(postId);
     }
+    
+    public CompletableFuture<Integer> getCommentCountAsync(int postId) {
+        return Async.supply(() -> getCommentCount(postId));
+    }
 }
\ No newline at end of file
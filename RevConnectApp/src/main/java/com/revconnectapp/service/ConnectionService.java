@@ -3,12 +3,22 @@ package com.revconnectapp.service;
 import com.revconnectapp.dao.ConnectionDAO;
 import com.revconnectapp.model.Connection;
 import com.revconnectapp.model.User;
+import com.revconnectapp.util.Async;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.IntSets;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class ConnectionService {
-    private ConnectionDAO connectionDAO = new ConnectionDAO();
-    private UserService userService = new UserService();
-    private NotificationService notificationService = new NotificationService();
+    private ConnectionDAO connectionDAO = AppContext.get().connectionDAO();
+    private UserService userService = AppContext.get().userService();
+    private NotificationService notificationService = AppContext.get().notificationService();
+    private TimelineService timelineService = TimelineService.getInstance();
+    private SocialGraphService socialGraph = SocialGraphService.getInstance();
+    private SuggestionService suggestionService = SuggestionService.getInstance();
     
     // REMOVE these problematic methods (lines 155-173):
     // public User findUserByUsername(String username) {
@@ -67,6 +77,7 @@ public class ConnectionService {
         
         boolean success = connectionDAO.createRequest(fromUserId, toUserId);
         if (success) {
+            socialGraph.onConnectionRequested(fromUserId, toUserId);
             System.out.println("✅ Connection request sent to " + toUser.getUsername() + "!");
             notificationService.notifyConnectionRequest(toUserId, fromUser.getUsername());
         } else {
@@ -80,6 +91,12 @@ public class ConnectionService {
         User toUser = userService.getUserByUsername(toUsername);
         if (toUser == null) {
             System.out.println("❌ User @" + toUsername + " not found!");
+            List<User> close = userService.completeUsernames(toUsername, fromUserId, 5);
+            if (!close.isEmpty()) {
+                StringBuilder names = new StringBuilder();
+                for (User u : close) names.append(names.length() > 0 ? ", @" : "@").append(u.getUsername());
+                System.out.println("💡 Did you mean: " + names + "?");
+            }
             return false;
         }
         return sendRequest(fromUserId, toUser.getId());
@@ -109,6 +126,9 @@ public class ConnectionService {
         
         boolean success = connectionDAO.updateStatus(connectionId, "ACCEPTED");
         if (success) {
+            socialGraph.onConnectionAccepted(connection.getUser1Id(), connection.getUser2Id());
+            timelineService.invalidate(connection.getUser1Id());
+            timelineService.invalidate(connection.getUser2Id());
             User receiver = userService.getUserById(connection.getUser2Id());
             User sender = userService.getUserById(connection.getUser1Id());
             
@@ -154,6 +174,9 @@ public class ConnectionService {
         
         boolean success = connectionDAO.updateStatus(connection.getId(), "ACCEPTED");
         if (success) {
+            socialGraph.onConnectionAccepted(receiverId, senderId);
+            timelineService.invalidate(receiverId);
+            timelineService.invalidate(senderId);
             User receiver = userService.getUserById(receiverId);
             
             if (receiver != null) {
@@ -201,11 +224,59 @@ public class ConnectionService {
     
     // ✅ NEW: Get mutual connections between two users
     public List<User> getMutualConnections(int userId1, int userId2) {
+        if (socialGraph.isLoaded()) {
+            List<User> mutuals = userService.getUsersByIds(socialGraph.getMutualConnectionIds(userId1, userId2));
+            mutuals.sort(Comparator.comparing(User::getUsername));
+            return mutuals;
+        }
         return connectionDAO.getMutualConnections(userId1, userId2);
     }
     
+    // ✅ NEW: Mutual-connection ids of two users, sorted
+    public int[] getMutualConnectionIds(int userId1, int userId2) {
+        if (socialGraph.isLoaded()) {
+            return socialGraph.getMutualConnectionIds(userId1, userId2);
+        }
+        Map<Integer, IntList> rows = connectionDAO.getAcceptedNeighbors(new int[]{userId1, userId2});
+        return IntSets.intersect(sortedRow(rows, userId1), sortedRow(rows, userId2));
+    }
+    
+    // ✅ NEW: Mutual-connection counts between userId and every user in others, in list order
+    public int[] getMutualConnectionCounts(int userId, List<User> others) {
+        int[] otherIds = new int[others.size()];
+        for (int i = 0; i < otherIds.length; i++) {
+            otherIds[i] = others.get(i).getId();
+        }
+        if (socialGraph.isLoaded()) {
+            return socialGraph.getMutualConnectionCounts(userId, otherIds);
+        }
+        
+        // Graph not loaded yet - fetch every row involved in one query and intersect here
+        int[] involved = Arrays.copyOf(otherIds, otherIds.length + 1);
+        involved[otherIds.length] = userId;
+        Map<Integer, IntList> rows = connectionDAO.getAcceptedNeighbors(involved);
+        int[] mine = sortedRow(rows, userId);
+        int[] counts = new int[otherIds.length];
+        for (int i = 0; i < otherIds.length; i++) {
+            counts[i] = IntSets.intersectionSize(mine, sortedRow(rows, otherIds[i]));
+        }
+        return counts;
+    }
+    
+    private static int[] sortedRow(Map<Integer, IntList> rows, int userId) {
+        IntList row = rows.get(userId);
+        if (row == null) return new int[0];
+        int[] ids = row.toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+    
     // ✅ NEW: Get connection suggestions (friends of friends)
     public List<User> getConnectionSuggestions(int userId) {
+        int[] ids = suggestionService.getConnectionSuggestionIds(userId);
+        if (ids != null) {
+            return userService.getUsersByIdsInOrder(ids);
+        }
         return connectionDAO.getConnectionSuggestions(userId);
     }
     
@@ -218,6 +289,9 @@ public class ConnectionService {
         
         boolean success = connectionDAO.removeConnection(userId1, userId2);
         if (success) {
+            socialGraph.onConnectionRemoved(userId1, userId2);
+            timelineService.invalidate(userId1);
+            timelineService.invalidate(userId2);
             User otherUser = userService.getUserById(userId2);
             System.out.println("✅ Connection with " + (otherUser != null ? otherUser.getUsername() : "user") + " removed.");
         }
@@ -283,13 +357,16 @@ public class ConnectionService {
             return false;
         }
         
-        return connectionDAO.deleteConnection(connection.getId());
+        boolean success = connectionDAO.deleteConnection(connection.getId());
+        if (success) {
+            socialGraph.onConnectionDeleted(fromUserId, toUserId);
+        }
+        return success;
     }
     
     // ✅ NEW: Get connection strength (mutual connections count)
     public int getConnectionStrength(int userId1, int userId2) {
-        List<User> mutuals = getMutualConnections(userId1, userId2);
-        return mutuals.size();
+        return getMutualConnectionIds(userId1, userId2).length;
     }
     
     // ✅ NEW: Are users connected or pending?
@@ -310,6 +387,9 @@ public class ConnectionService {
     // ✅ Keep existing methods with minor improvements:
     
     public boolean areConnected(int userId1, int userId2) {
+        if (socialGraph.isLoaded()) {
+            return socialGraph.areConnected(userId1, userId2);
+        }
         return connectionDAO.areConnected(userId1, userId2);
     }
     
@@ -326,10 +406,18 @@ public class ConnectionService {
     }
     
     public boolean cancelRequest(int connectionId) {
-        return connectionDAO.deleteConnection(connectionId);
+        Connection connection = connectionDAO.getConnectionById(connectionId);
+        boolean success = connectionDAO.deleteConnection(connectionId);
+        if (success && connection != null) {
+            socialGraph.onConnectionDeleted(connection.getUser1Id(), connection.getUser2Id());
+        }
+        return success;
     }
     
     public int getConnectionCount(int userId) {
+        if (socialGraph.isLoaded()) {
+            return socialGraph.getConnectionCount(userId);
+        }
         return connectionDAO.getConnectionCount(userId);
     }
     
@@ -337,6 +425,19 @@ public class ConnectionService {
         return connectionDAO.getPendingRequestsCount(userId);
     }
     
+    // ✅ NEW: Async variants of the counts, so a screen can run them in parallel
+    public CompletableFuture<Integer> getConnectionCountAsync(int userId) {
+        return Async.supply(() -> getConnectionCount(userId));
+    }
+    
+    public CompletableFuture<Integer> getPendingRequestsCountAsync(int userId) {
+        return Async.supply(() -> getPendingRequestsCount(userId));
+    }
+    
+    public CompletableFuture<Integer> getSentRequestsCountAsync(int userId) {
+        return Async.supply(() -> getSentRequestsCount(userId));
+    }
+    
     public boolean canConnect(int userId1, int userId2) {
         if (userId1 == userId2) return false;
         
@@ -5,9 +5,13 @@ import com.revconnectapp.model.User;
 import java.util.List;
 
 public class FollowService {
-    private FollowDAO followDAO = new FollowDAO();
-    private NotificationService notificationService = new NotificationService();
-    private UserService userService = new UserService();
+    private FollowDAO followDAO = AppContext.get().followDAO();
+    private NotificationService notificationService = AppContext.get().notificationService();
+    private UserService userService = AppContext.get().userService();
+    private TimelineService timelineService = TimelineService.getInstance();
+    private SocialGraphService socialGraph = SocialGraphService.getInstance();
+    private SuggestionService suggestionService = SuggestionService.getInstance();
+    private ReadCoalescer coalescer = ReadCoalescer.getInstance(); // ✅ NEW: shares concurrent identical reads
     
     // ✅ Follow a user (for creators/business accounts)
     public boolean follow(int followerId, int followedId) {
@@ -31,6 +35,8 @@ public class FollowService {
         boolean success = followDAO.follow(followerId, followedId);
         
         if (success) {
+            socialGraph.onFollow(followerId, followedId);
+            timelineService.invalidate(followerId);
             System.out.println("✅ Now following " + followed.getUsername() + "!");
             
             // Send notification to the followed user
@@ -52,6 +58,8 @@ public class FollowService {
         boolean success = followDAO.unfollow(followerId, followedId);
         
         if (success) {
+            socialGraph.onUnfollow(followerId, followedId);
+            timelineService.invalidate(followerId);
             User followed = userService.getUserById(followedId);
             System.out.println("✅ Unfollowed " + followed.getUsername() + "!");
         }
@@ -61,6 +69,9 @@ public class FollowService {
     
     // ✅ Check if user is following another user
     public boolean isFollowing(int followerId, int followedId) {
+        if (socialGraph.isLoaded()) {
+            return socialGraph.isFollowing(followerId, followedId);
+        }
         return followDAO.isFollowing(followerId, followedId);
     }
     
@@ -76,21 +87,34 @@ public class FollowService {
     
     // ✅ Get follower count
     public int getFollowerCount(int userId) {
-        return followDAO.getFollowerCount(userId);
+        if (socialGraph.isLoaded()) {
+            return socialGraph.getFollowerCount(userId);
+        }
+        return coalescer.getFollowerCount(userId);
     }
     
     // ✅ Get following count
     public int getFollowingCount(int userId) {
+        if (socialGraph.isLoaded()) {
+            return socialGraph.getFollowingCount(userId);
+        }
         return followDAO.getFollowingCount(userId);
     }
     
     // ✅ NEW: Get mutual followers (users who follow each other)
     public List<User> getMutualFollowers(int userId1, int userId2) {
+        if (socialGraph.isLoaded()) {
+            return userService.getUsersByIds(socialGraph.getMutualFollowerIds(userId1, userId2));
+        }
         return followDAO.getMutualFollowers(userId1, userId2);
     }
     
     // ✅ NEW: Get suggested users to follow (users followed by your followers)
     public List<User> getSuggestedUsers(int userId) {
+        int[] ids = suggestionService.getFollowSuggestionIds(userId);
+        if (ids != null) {
+            return userService.getUsersByIdsInOrder(ids);
+        }
         return followDAO.getSuggestedUsers(userId);
     }
     
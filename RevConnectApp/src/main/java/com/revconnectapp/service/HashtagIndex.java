@@ -0,0 +1,164 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.PostDAO;
+import com.revconnectapp.dao.PostTagDAO;
+import com.revconnectapp.util.Hashtags;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.InvertedIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hashtag to post-id index. Tags are parsed from a post's hashtags field and
+ * content when it is created or edited, stored as rows of {@code post_tags},
+ * and mirrored in an {@link InvertedIndex} so "posts with #tag" and
+ * multi-tag AND/OR pages are posting-list merges rather than table scans.
+ *
+ * The index is loaded from {@code post_tags} by {@link #start()} on a
+ * background thread. If that table is still empty (first run after it was
+ * added), existing posts are parsed and backfilled first. Until the load
+ * completes, queries go to {@code post_tags} directly.
+ */
+public class HashtagIndex {
+
+    private static final int BACKFILL_BATCH = 1_000;
+
+    private final PostTagDAO postTagDAO = AppContext.get().postTagDAO();
+    private final PostDAO postDAO = AppContext.get().postDAO();
+    private final InvertedIndex index = new InvertedIndex();
+
+    // Posts saved or deleted while the load was reading; their live entries win
+    private final Set<Integer> touchedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean loaded;
+    private volatile long lastLoadMillis;
+
+    private final LongAdder indexQueries = new LongAdder();
+    private final LongAdder databaseQueries = new LongAdder();
+
+    HashtagIndex() {}
+
+    public static HashtagIndex getInstance() {
+        return AppContext.get().hashtagIndex();
+    }
+
+    /** Loads the index on a background thread so startup is not blocked on MySQL. */
+    public void start() {
+        Thread loader = new Thread(this::reload, "revconnect-hashtag-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public synchronized boolean reload() {
+        long started = System.currentTimeMillis();
+        touchedDuringLoad.clear();
+        loading = true;
+        try {
+            if (!postTagDAO.hasAnyTags() && !backfill()) {
+                return false;
+            }
+            IntList postIds = new IntList(1024);
+            List<String> tags = new ArrayList<>();
+            if (!postTagDAO.loadTags(postIds, tags)) {
+                return false;
+            }
+            for (int i = 0; i < postIds.size(); i++) {
+                if (!touchedDuringLoad.contains(postIds.get(i))) {
+                    index.add(postIds.get(i), tags.get(i));
+                }
+            }
+        } finally {
+            loading = false;
+            touchedDuringLoad.clear();
+        }
+        lastLoadMillis = System.currentTimeMillis() - started;
+        loaded = true;
+        return true;
+    }
+
+    // Parses every existing post once and writes its tags
+    private boolean backfill() {
+        IntList ids = new IntList(1024);
+        List<String> contents = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        if (!postDAO.loadTagSources(ids, contents, fields)) {
+            return false;
+        }
+        int[] batchIds = new int[BACKFILL_BATCH];
+        String[] batchTags = new String[BACKFILL_BATCH];
+        int n = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            for (String tag : Hashtags.parse(fields.get(i), contents.get(i))) {
+                batchIds[n] = ids.get(i);
+                batchTags[n++] = tag;
+                if (n == BACKFILL_BATCH) {
+                    if (!postTagDAO.insertBatch(batchIds, batchTags, n)) return false;
+                    n = 0;
+                }
+            }
+        }
+        return postTagDAO.insertBatch(batchIds, batchTags, n);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // ===== Incremental updates =====
+
+    /** Re-parses a created or edited post's tags and stores them. */
+    public List<String> onPostSaved(int postId, String hashtagsField, String content) {
+        List<String> tags = Hashtags.parse(hashtagsField, content);
+        if (loading) touchedDuringLoad.add(postId);
+        postTagDAO.replaceTags(postId, tags);
+        index.set(postId, tags);
+        return tags;
+    }
+
+    public void onPostDeleted(int postId) {
+        if (loading) touchedDuringLoad.add(postId);
+        postTagDAO.deleteTags(postId);
+        index.remove(postId);
+    }
+
+    // ===== Queries =====
+
+    /**
+     * Newest post ids below {@code beforePostId} carrying all (matchAll) or any
+     * of the tags. Tags may be typed with or without '#'.
+     */
+    public int[] findPosts(List<String> rawTags, boolean matchAll, int beforePostId, int limit) {
+        List<String> tags = new ArrayList<>(rawTags.size());
+        for (String raw : rawTags) {
+            String tag = Hashtags.normalize(raw);
+            if (tag != null && !tags.contains(tag)) tags.add(tag);
+        }
+        if (tags.isEmpty()) return new int[0];
+        if (loaded) {
+            indexQueries.increment();
+            return matchAll || tags.size() == 1
+                    ? index.pageAll(tags, beforePostId, limit)
+                    : index.pageAny(tags, beforePostId, limit);
+        }
+        databaseQueries.increment();
+        List<Integer> ids = postTagDAO.getPostIds(tags, matchAll, beforePostId, limit);
+        int[] result = new int[ids.size()];
+        for (int i = 0; i < result.length; i++) result[i] = ids.get(i);
+        return result;
+    }
+
+    public int countPosts(String tag) {
+        String t = Hashtags.normalize(tag);
+        return t == null || !loaded ? 0 : index.count(t);
+    }
+
+    public String describe() {
+        return String.format("HashtagIndex{loaded=%s, tags=%d, posts=%d, indexQueries=%d, dbQueries=%d, lastLoad=%dms}",
+                loaded, index.termCount(), index.documentCount(), indexQueries.sum(), databaseQueries.sum(),
+                lastLoadMillis);
+    }
+}
@@ -0,0 +1,255 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.LikeDAO;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory like counts, so rendering a post does not run
+ * {@code SELECT COUNT(*) FROM likes} every time.
+ *
+ * Each post gets a {@link LongAdder}, whose striped cells keep concurrent
+ * likes on a hot post from contending on one memory word. A counter is seeded
+ * from the database the first time its post is read. After that, likes and
+ * unlikes that changed a row adjust it.
+ *
+ * Changed counts are written behind to the denormalized {@code posts.like_count}
+ * column in periodic batches. A slower reconciliation pass recounts the
+ * {@code likes} table, repairing both the column and any live counter that
+ * drifted. A counter can drift when a like races the first read of its post,
+ * or when a flush failed.
+ */
+public class LikeCounterService {
+
+    // Posts per IN (...) query when reconciling live counters
+    private static final int RECONCILE_CHUNK = 512;
+
+    private final LikeDAO likeDAO = AppContext.get().likeDAO();
+    private final ReadCoalescer coalescer = ReadCoalescer.getInstance();
+
+    private final long flushMillis = Long.getLong("revconnect.likes.flushMillis", 5_000L);
+    private final long reconcileMillis = Long.getLong("revconnect.likes.reconcileMillis", 600_000L);
+    private final int maxCounters = Integer.getInteger("revconnect.likes.maxCounters", 100_000);
+
+    private final ConcurrentHashMap<Integer, LongAdder> counters = new ConcurrentHashMap<>();
+    // Posts whose count changed since the last flush
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder seeds = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder counterRepairs = new LongAdder();
+    private final LongAdder columnRepairs = new LongAdder();
+
+    LikeCounterService() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revconnect-like-counters");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileMillis, reconcileMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static LikeCounterService getInstance() {
+        return AppContext.get().likeCounterService();
+    }
+
+    public int getLikeCount(int postId) {
+        LongAdder counter = counters.get(postId);
+        if (counter != null) {
+            hits.increment();
+            return (int) counter.sum();
+        }
+        return (int) seed(postId).sum();
+    }
+
+    /** Live count if the post's counter is loaded, otherwise -1. Never touches the database. */
+    public int peekLikeCount(int postId) {
+        LongAdder counter = counters.get(postId);
+        return counter == null ? -1 : (int) counter.sum();
+    }
+
+    /** Call after a like row was inserted. */
+    public void onLiked(int postId) {
+        adjust(postId, 1);
+    }
+
+    /** Call after a like row was deleted. */
+    public void onUnliked(int postId) {
+        adjust(postId, -1);
+    }
+
+    /** Call when queued likes/unlikes turned out to change fewer rows than were counted. */
+    public void correct(int postId, int delta) {
+        adjust(postId, delta);
+    }
+
+    /** Call before queueing a like that is not yet written; seeds the counter first. */
+    public void onLikeQueued(int postId) {
+        getLikeCount(postId);
+        adjust(postId, 1);
+    }
+
+    /** Call before queueing an unlike that is not yet written; seeds the counter first. */
+    public void onUnlikeQueued(int postId) {
+        getLikeCount(postId);
+        adjust(postId, -1);
+    }
+
+    // Posts with no counter yet are left alone: the seed query will count the row
+    private void adjust(int postId, int delta) {
+        LongAdder counter = counters.get(postId);
+        if (counter != null) {
+            counter.add(delta);
+            dirty.add(postId);
+        }
+    }
+
+    private LongAdder seed(int postId) {
+        LikeWritePipeline pipeline = AppContext.get().likeWritePipelineIfCreated();
+        int count = 0;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            int queued = pipeline != null ? pipeline.pendingDelta(postId) : 0;
+            // Concurrent misses on the same post share one COUNT(*)
+            count = coalescer.getLikeCount(postId);
+            // Queued likes are counted but not yet rows, as in reconcile; if one
+            // committed during the COUNT, count again rather than guess
+            int queuedAfter = pipeline != null ? pipeline.pendingDelta(postId) : 0;
+            count += queuedAfter;
+            if (queued == queuedAfter) break;
+        }
+        LongAdder fresh = new LongAdder();
+        fresh.add(count);
+        LongAdder existing = counters.putIfAbsent(postId, fresh);
+        if (existing != null) return existing;
+        seeds.increment();
+        if (counters.size() > maxCounters) evictClean();
+        return fresh;
+    }
+
+    // Drops counters with no unflushed change and no queued likes until the map is back under its limit
+    private void evictClean() {
+        LikeWritePipeline pipeline = AppContext.get().likeWritePipelineIfCreated();
+        int excess = counters.size() - maxCounters;
+        for (Iterator<Integer> it = counters.keySet().iterator(); it.hasNext() && excess > 0; ) {
+            Integer postId = it.next();
+            if (!dirty.contains(postId) && (pipeline == null || pipeline.pendingDelta(postId) == 0)) {
+                it.remove();
+                excess--;
+            }
+        }
+    }
+
+    /** Writes changed counts to posts.like_count. Returns the number of rows written, or -1 on failure. */
+    public int flush() {
+        if (dirty.isEmpty()) return 0;
+        int[] postIds = new int[dirty.size()];
+        long[] counts = new long[postIds.length];
+        int size = 0;
+        for (Iterator<Integer> it = dirty.iterator(); it.hasNext() && size < postIds.length; ) {
+            int postId = it.next();
+            it.remove();
+            LongAdder counter = counters.get(postId);
+            if (counter == null) continue;
+            postIds[size] = postId;
+            counts[size++] = counter.sum();
+        }
+        // Absolute values, so a retried batch cannot double-apply
+        if (!likeDAO.flushLikeCounts(postIds, counts, size)) {
+            failedFlushes.increment();
+            for (int i = 0; i < size; i++) dirty.add(postIds[i]);
+            return -1;
+        }
+        flushedRows.add(size);
+        return size;
+    }
+
+    /**
+     * Recounts likes for every live counter and repairs posts.like_count
+     * across the table. Returns the number of live counters corrected.
+     *
+     * Likes still queued in {@link LikeWritePipeline} are in the counters but
+     * not in the table, so their delta is added back to the recount. A post
+     * whose queued delta moves while its chunk is being counted is left for
+     * the next round rather than guessed at.
+     */
+    public int reconcile() {
+        LikeWritePipeline pipeline = AppContext.get().likeWritePipelineIfCreated();
+        int repaired = 0;
+        Integer[] keys = counters.keySet().toArray(new Integer[0]);
+        for (int from = 0; from < keys.length; from += RECONCILE_CHUNK) {
+            int[] chunk = new int[Math.min(RECONCILE_CHUNK, keys.length - from)];
+            int[] queuedBefore = new int[chunk.length];
+            for (int i = 0; i < chunk.length; i++) {
+                chunk[i] = keys[from + i];
+                if (pipeline != null) queuedBefore[i] = pipeline.pendingDelta(chunk[i]);
+            }
+            Map<Integer, Integer> actual = likeDAO.getLikeCounts(chunk);
+            if (actual == null) break;
+            for (int i = 0; i < chunk.length; i++) {
+                int postId = chunk[i];
+                Integer rows = actual.get(postId);
+                LongAdder counter = counters.get(postId);
+                if (rows == null || counter == null) continue;
+                int queued = pipeline != null ? pipeline.pendingDelta(postId) : 0;
+                if (queued != queuedBefore[i]) continue;
+                long drift = rows + queued - counter.sum();
+                if (drift != 0) {
+                    counter.add(drift);
+                    dirty.add(postId);
+                    repaired++;
+                }
+            }
+        }
+        counterRepairs.add(repaired);
+        int fixedRows = likeDAO.reconcileLikeCounts();
+        if (fixedRows > 0) columnRepairs.add(fixedRows);
+        return repaired;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive; dirty posts are retried next round
+            e.printStackTrace();
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public String describe() {
+        return String.format("LikeCounterService{counters=%d, dirty=%d, hits=%d, seeds=%d, flushed=%d, " +
+                        "failedFlushes=%d, counterRepairs=%d, columnRepairs=%d}",
+                counters.size(), dirty.size(), hits.sum(), seeds.sum(), flushedRows.sum(),
+                failedFlushes.sum(), counterRepairs.sum(), columnRepairs.sum());
+    }
+
+    /** Stops the background tasks after a final flush. */
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
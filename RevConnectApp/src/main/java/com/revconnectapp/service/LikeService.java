@@ -1,23 +1,53 @@
 package com.revconnectapp.service;
 
-import com.revconnectapp.dao.LikeDAO;
+import com.revconnectapp.util.Async;
+
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
 
 public class LikeService {
-    private LikeDAO likeDAO = new LikeDAO();
+    private LikeCounterService likeCounters = LikeCounterService.getInstance();
+    private LikeWritePipeline writePipeline = LikeWritePipeline.getInstance();
+    private LikerIndex likerIndex = LikerIndex.getInstance();
     
+    // Writes are queued and batched; the user's own reads see them at once
     public void likePost(int postId, int userId) {
-        likeDAO.likePost(postId, userId);
+        if (!isLikedByUser(postId, userId)) {
+            writePipeline.submit(postId, userId, true);
+        }
     }
     
     public void unlikePost(int postId, int userId) {
-        likeDAO.unlikePost(postId, userId);
+        if (isLikedByUser(postId, userId)) {
+            writePipeline.submit(postId, userId, false);
+        }
     }
     
     public boolean isLikedByUser(int postId, int userId) {
-        return likeDAO.isLiked(postId, userId);
+        return likedBy(userId, new int[]{postId}).get(0);
+    }
+    
+    // ✅ NEW: Bit i is set if the viewer likes postIds[i]; a whole feed page in one pass
+    public BitSet likedBy(int viewerId, int[] postIds) {
+        BitSet liked = likerIndex.likedBy(viewerId, postIds);
+        // The viewer's own queued likes/unlikes win over committed state
+        for (int i = 0; i < postIds.length; i++) {
+            Boolean pending = writePipeline.pendingState(postIds[i], viewerId);
+            if (pending != null) liked.set(i, pending);
+        }
+        return liked;
     }
     
     public int getLikeCount(int postId) {
-        return likeDAO.getLikeCount(postId);
+        return likeCounters.getLikeCount(postId);
+    }
+    
+    // ✅ NEW: Async variants for screens that load several independent values at once
+    public CompletableFuture<Integer> getLikeCountAsync(int postId) {
+        return Async.supply(() -> getLikeCount(postId));
+    }
+    
+    public CompletableFuture<Boolean> isLikedByUserAsync(int postId, int userId) {
+        return Async.supply(() -> isLikedByUser(postId, userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.revconnectapp.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One writer window of like/unlike intents folded per (post, user).
+ *
+ * Only the final state of each pair is written. Every intent already moved
+ * the like counter by one when it was queued, so once the write reports
+ * whether the row actually changed, {@link Entry#counterCorrection} says how
+ * far the counter is off. Two likes racing past the "already liked?" check
+ * therefore write one row and give back one of their two increments, and a
+ * like/unlike pair writes the original state and gives back nothing.
+ */
+final class LikeWindow<T> {
+
+    static final class Entry<T> {
+        final int postId;
+        final int userId;
+        boolean like;
+        int optimisticDelta;
+        T last;
+
+        Entry(int postId, int userId) {
+            this.postId = postId;
+            this.userId = userId;
+        }
+
+        /** What to add to the like counter once the write is known to have changed the row or not. */
+        int counterCorrection(boolean rowChanged) {
+            int actual = rowChanged ? (like ? 1 : -1) : 0;
+            return actual - optimisticDelta;
+        }
+    }
+
+    private final Map<Long, Entry<T>> entries = new LinkedHashMap<>();
+    private int intents;
+
+    void add(int postId, int userId, boolean like, T intent) {
+        Entry<T> entry = entries.computeIfAbsent(key(postId, userId), k -> new Entry<>(postId, userId));
+        entry.like = like;
+        entry.optimisticDelta += like ? 1 : -1;
+        entry.last = intent;
+        intents++;
+    }
+
+    Collection<Entry<T>> entries() {
+        return entries.values();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int intentCount() {
+        return intents;
+    }
+
+    void clear() {
+        entries.clear();
+        intents = 0;
+    }
+
+    static long key(int postId, int userId) {
+        return ((long) postId << 32) | (userId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,299 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.LikeDAO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous like/unlike writer. Callers enqueue intents; a single writer
+ * thread drains them in windows, coalesces them and writes each window as one
+ * JDBC batch in one transaction instead of one autocommit statement per click.
+ *
+ * Within a window, intents for the same (post, user) are folded to their
+ * final state and only that is written; the like counter is then corrected by
+ * what the write actually changed (see {@link LikeWindow}).
+ *
+ * Backpressure: when the queue is full the caller blocks until there is room,
+ * so a stalled database slows likers down rather than growing memory. Writes
+ * never bypass the queue while it runs, which keeps them in submission order
+ * per (post, user).
+ *
+ * Read-your-writes: until an intent is committed, {@link #pendingState(int, int)}
+ * reports it, and {@link LikeService} consults that before the database.
+ */
+public class LikeWritePipeline {
+
+    private final LikeDAO likeDAO = AppContext.get().likeDAO();
+    private final LikeCounterService likeCounters = LikeCounterService.getInstance();
+    private final LikerIndex likerIndex = LikerIndex.getInstance();
+
+    private final int capacity = Integer.getInteger("revconnect.likes.queueCapacity", 10_000);
+    private final int maxBatch = Integer.getInteger("revconnect.likes.batchSize", 500);
+    private final long windowMillis = Long.getLong("revconnect.likes.batchWindowMillis", 50L);
+    private final long enqueueTimeoutMillis = Long.getLong("revconnect.likes.enqueueTimeoutMillis", 1_000L);
+
+    private final BlockingQueue<Intent> queue = new ArrayBlockingQueue<>(capacity);
+    // Latest uncommitted intent per (post, user)
+    private final ConcurrentHashMap<Long, Intent> pending = new ConcurrentHashMap<>();
+    // Per post, how far the like counter has moved for intents not yet written
+    private final ConcurrentHashMap<Integer, Integer> pendingDeltas = new ConcurrentHashMap<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder noOps = new LongAdder();
+    private final LongAdder callerWrites = new LongAdder();
+    private final LongAdder stalls = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    private static final class Intent {
+        final int postId;
+        final int userId;
+        final boolean like;
+
+        Intent(int postId, int userId, boolean like) {
+            this.postId = postId;
+            this.userId = userId;
+            this.like = like;
+        }
+
+        long key() {
+            return LikeWindow.key(postId, userId);
+        }
+    }
+
+    LikeWritePipeline() {
+        writer = new Thread(this::runWriter, "revconnect-like-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static LikeWritePipeline getInstance() {
+        return AppContext.get().likeWritePipeline();
+    }
+
+    /**
+     * Queues a state change the caller has already checked is a change
+     * (liking a post the user has not liked, or the reverse). The like counter
+     * is adjusted immediately and corrected once the write shows whether the
+     * row really changed, so a racing duplicate is harmless.
+     */
+    public void submit(int postId, int userId, boolean like) {
+        Intent intent = new Intent(postId, userId, like);
+        if (running) {
+            // Seed before the intent is visible, so the seed cannot include it
+            if (like) likeCounters.onLikeQueued(postId);
+            else likeCounters.onUnlikeQueued(postId);
+            pending.put(intent.key(), intent);
+            addPendingDelta(postId, like ? 1 : -1);
+            if (enqueue(intent)) {
+                enqueued.increment();
+                // Shutdown raced the offer: the writer may have drained and exited already
+                if (!running) {
+                    awaitWriter();
+                    drainQueue();
+                }
+                return;
+            }
+            // Shut down while waiting: undo the optimistic count and write it ourselves
+            if (like) likeCounters.onUnliked(postId);
+            else likeCounters.onLiked(postId);
+            pending.remove(intent.key(), intent);
+            addPendingDelta(postId, like ? -1 : 1);
+        }
+        // Let what is queued land first, so this write lands after it
+        awaitWriter();
+        drainQueue();
+        callerWrites.increment();
+        writeDirect(intent);
+    }
+
+    // Waits for queue space while the writer runs; false once it has stopped
+    private boolean enqueue(Intent intent) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    if (queue.offer(intent, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) return true;
+                    stalls.increment();
+                    if (!running) return false;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitWriter() {
+        if (Thread.currentThread() == writer) return;
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Once the writer has stopped: writes whatever was queued behind its last drain
+    private synchronized void drainQueue() {
+        List<Intent> window = new ArrayList<>(maxBatch);
+        while (queue.drainTo(window, maxBatch) > 0) {
+            try {
+                writeWindow(window);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Could not write " + window.size() + " queued likes: " + e.getMessage());
+            }
+            window.clear();
+        }
+    }
+
+    /**
+     * Net like-count change already applied to the live counter for intents
+     * on this post that are not written yet; a recount from the database
+     * must add it back.
+     */
+    public int pendingDelta(int postId) {
+        return pendingDeltas.getOrDefault(postId, 0);
+    }
+
+    private void addPendingDelta(int postId, int delta) {
+        if (delta == 0) return;
+        pendingDeltas.merge(postId, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    /** TRUE/FALSE for an uncommitted like/unlike by this user, or null if none is pending. */
+    public Boolean pendingState(int postId, int userId) {
+        Intent intent = pending.get(LikeWindow.key(postId, userId));
+        return intent == null ? null : intent.like;
+    }
+
+    private void runWriter() {
+        List<Intent> window = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Intent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                window.add(first);
+                // Give a burst a moment to accumulate before writing it
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (window.size() < maxBatch) {
+                    long left = deadline - System.nanoTime();
+                    Intent next = left > 0 ? queue.poll(left, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    window.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Not expected (shutdown just clears running); stop waiting and drain what is left
+                running = false;
+            }
+            queue.drainTo(window, maxBatch - window.size());
+            try {
+                writeWindow(window);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            window.clear();
+        }
+    }
+
+    private void writeWindow(List<Intent> window) {
+        if (window.isEmpty()) return;
+        LikeWindow<Intent> folded = new LikeWindow<>();
+        for (Intent intent : window) folded.add(intent.postId, intent.userId, intent.like, intent);
+
+        int size = folded.size();
+        int[] postIds = new int[size];
+        int[] userIds = new int[size];
+        boolean[] likes = new boolean[size];
+        List<LikeWindow.Entry<Intent>> entries = new ArrayList<>(folded.entries());
+        for (int i = 0; i < size; i++) {
+            LikeWindow.Entry<Intent> entry = entries.get(i);
+            postIds[i] = entry.postId;
+            userIds[i] = entry.userId;
+            likes[i] = entry.like;
+        }
+        cancelled.add(folded.intentCount() - size);
+
+        int[] changed = likeDAO.applyLikeBatch(postIds, userIds, likes, size);
+        if (changed == null) {
+            failedBatches.increment();
+            for (LikeWindow.Entry<Intent> entry : entries) writeQueued(entry);
+        } else {
+            batches.increment();
+            written.add(size);
+            for (int i = 0; i < size; i++) resolved(entries.get(i), changed[i] > 0);
+        }
+    }
+
+    // The batch was rolled back; apply the final state on its own
+    private void writeQueued(LikeWindow.Entry<Intent> entry) {
+        boolean changed = entry.like
+                ? likeDAO.likePost(entry.postId, entry.userId)
+                : likeDAO.unlikePost(entry.postId, entry.userId);
+        resolved(entry, changed);
+    }
+
+    // The row is now in the entry's final state; square the counter with what changed
+    private void resolved(LikeWindow.Entry<Intent> entry, boolean rowChanged) {
+        int correction = entry.counterCorrection(rowChanged);
+        if (correction != 0) {
+            noOps.increment();
+            likeCounters.correct(entry.postId, correction);
+        }
+        committed(entry.last);
+        pending.remove(entry.last.key(), entry.last);
+        addPendingDelta(entry.postId, -entry.optimisticDelta);
+    }
+
+    // The row is now in the intent's state
+    private void committed(Intent intent) {
+        if (intent.like) likerIndex.onLiked(intent.postId, intent.userId);
+        else likerIndex.onUnliked(intent.postId, intent.userId);
+    }
+
+    private void writeDirect(Intent intent) {
+        if (intent.like) {
+            if (!likeDAO.likePost(intent.postId, intent.userId)) return;
+            likeCounters.onLiked(intent.postId);
+        } else {
+            if (!likeDAO.unlikePost(intent.postId, intent.userId)) return;
+            likeCounters.onUnliked(intent.postId);
+        }
+        committed(intent);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public String describe() {
+        long batchCount = batches.sum();
+        return String.format("LikeWritePipeline{queued=%d, depth=%d/%d, batches=%d, avgBatch=%.1f, " +
+                        "written=%d, cancelled=%d, noOps=%d, callerWrites=%d, stalls=%d, failedBatches=%d}",
+                enqueued.sum(), queue.size(), capacity, batchCount,
+                batchCount == 0 ? 0.0 : (double) written.sum() / batchCount,
+                written.sum(), cancelled.sum(), noOps.sum(), callerWrites.sum(), stalls.sum(), failedBatches.sum());
+    }
+
+    /**
+     * Stops accepting intents and writes everything already queued. The
+     * writer is not interrupted, since an interrupt left set during a batch
+     * would fail its connection checkout and the retries after it; it sees
+     * {@code running} go false within one poll timeout and drains the queue.
+     */
+    public void shutdown() {
+        running = false;
+        awaitWriter();
+        drainQueue();
+    }
+}
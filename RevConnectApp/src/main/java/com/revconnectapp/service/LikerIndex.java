@@ -0,0 +1,201 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.LikeDAO;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.RoaringBitmap;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * "Has this viewer liked these posts?" for a whole feed page at once.
+ *
+ * Posts that keep being asked about are promoted to hot: all their likers are
+ * loaded into a {@link RoaringBitmap}, and lookups become a bit test. Other
+ * (cold) posts on the page share one {@code post_id IN (...) AND user_id = ?}
+ * query. Hot posts are bounded and evicted least-recently-used.
+ *
+ * The index reflects committed likes: {@link LikeWritePipeline} reports each
+ * write after it commits. Edits arriving while a bitmap is loading are
+ * journaled and replayed on top of it; a load that falls too far behind is
+ * dropped and the post goes back to cold. Uncommitted intents are overlaid by
+ * {@link LikeService}.
+ */
+public class LikerIndex {
+
+    private final LikeDAO likeDAO = AppContext.get().likeDAO();
+
+    private final int hotAfter = Integer.getInteger("revconnect.likers.hotAfter", 3);
+    private final int maxHotPosts = Integer.getInteger("revconnect.likers.maxPosts", 10_000);
+    // Edits journaled for one loading post before the load is abandoned
+    private final int maxJournal = Integer.getInteger("revconnect.likers.maxJournal", 4_096);
+
+    private final Map<Integer, PostLikers> hot = Collections.synchronizedMap(
+            new LinkedHashMap<Integer, PostLikers>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, PostLikers> eldest) {
+                    return size() > maxHotPosts;
+                }
+            });
+    // Lookups per cold post since it was last promoted
+    private final ConcurrentHashMap<Integer, Integer> coldLookups = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor loader;
+
+    private final LongAdder hotHits = new LongAdder();
+    private final LongAdder coldPosts = new LongAdder();
+    private final LongAdder coldQueries = new LongAdder();
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    private static final class PostLikers {
+        RoaringBitmap likers;
+        // Edits while loading: user id, negated (minus one) for a removal;
+        // null once loaded or abandoned
+        IntList journal = new IntList(8);
+
+        boolean isLoaded() {
+            return likers != null;
+        }
+    }
+
+    LikerIndex() {
+        loader = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1_000), r -> {
+                    Thread t = new Thread(r, "revconnect-liker-loader");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public static LikerIndex getInstance() {
+        return AppContext.get().likerIndex();
+    }
+
+    /** Bit i is set if viewerId has liked postIds[i] (committed likes only). */
+    public BitSet likedBy(int viewerId, int[] postIds) {
+        BitSet liked = new BitSet(postIds.length);
+        IntList coldIndexes = new IntList(postIds.length);
+        for (int i = 0; i < postIds.length; i++) {
+            PostLikers entry = hot.get(postIds[i]);
+            if (entry != null) {
+                synchronized (entry) {
+                    if (entry.isLoaded()) {
+                        hotHits.increment();
+                        if (entry.likers.contains(viewerId)) liked.set(i);
+                        continue;
+                    }
+                }
+            }
+            coldIndexes.add(i);
+        }
+        if (coldIndexes.isEmpty()) return liked;
+
+        int[] coldIds = new int[coldIndexes.size()];
+        for (int i = 0; i < coldIds.length; i++) coldIds[i] = postIds[coldIndexes.get(i)];
+        coldQueries.increment();
+        coldPosts.add(coldIds.length);
+        Set<Integer> likedCold = likeDAO.getLikedPostIds(viewerId, coldIds);
+        for (int i = 0; i < coldIds.length; i++) {
+            if (likedCold.contains(coldIds[i])) liked.set(coldIndexes.get(i));
+        }
+        for (int postId : coldIds) noteLookup(postId);
+        return liked;
+    }
+
+    public void onLiked(int postId, int userId) {
+        apply(postId, userId, true);
+    }
+
+    public void onUnliked(int postId, int userId) {
+        apply(postId, userId, false);
+    }
+
+    private void apply(int postId, int userId, boolean like) {
+        PostLikers entry = hot.get(postId);
+        if (entry == null) return;
+        synchronized (entry) {
+            if (entry.isLoaded()) {
+                if (like) entry.likers.add(userId);
+                else entry.likers.remove(userId);
+                return;
+            }
+            if (entry.journal == null) return;
+            if (entry.journal.size() < maxJournal) {
+                entry.journal.add(like ? userId : -userId - 1);
+                return;
+            }
+            // Too busy to catch up with: stop the load and leave the post cold
+            entry.journal = null;
+        }
+        abandoned.increment();
+        hot.remove(postId, entry);
+    }
+
+    private void noteLookup(int postId) {
+        int lookups = coldLookups.merge(postId, 1, Integer::sum);
+        if (lookups < hotAfter) return;
+        coldLookups.remove(postId);
+        PostLikers entry = new PostLikers();
+        if (hot.putIfAbsent(postId, entry) == null) {
+            // Published first so edits during the load are journaled
+            try {
+                loader.execute(() -> load(postId, entry));
+            } catch (RejectedExecutionException e) {
+                // Loader backed up: stay cold and count lookups again from zero
+                hot.remove(postId, entry);
+            }
+        }
+        // Keep the counting map from outgrowing the hot set
+        if (coldLookups.size() > 4 * maxHotPosts) coldLookups.clear();
+    }
+
+    private void load(int postId, PostLikers entry) {
+        IntList userIds = new IntList(64);
+        if (!likeDAO.loadLikerIds(postId, userIds)) {
+            hot.remove(postId, entry);
+            return;
+        }
+        RoaringBitmap likers = new RoaringBitmap();
+        for (int i = 0; i < userIds.size(); i++) likers.add(userIds.get(i));
+        synchronized (entry) {
+            if (entry.journal == null) return;
+            // Journaled edits committed after (or during) the load; each user's last one wins
+            for (int i = 0; i < entry.journal.size(); i++) {
+                int edit = entry.journal.get(i);
+                if (edit >= 0) likers.add(edit);
+                else likers.remove(-edit - 1);
+            }
+            entry.journal = null;
+            entry.likers = likers;
+        }
+        promotions.increment();
+    }
+
+    public long memoryBytes() {
+        long bytes = 0;
+        synchronized (hot) {
+            for (PostLikers entry : hot.values()) {
+                synchronized (entry) {
+                    if (entry.isLoaded()) bytes += entry.likers.memoryBytes();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    public String describe() {
+        return String.format("LikerIndex{hotPosts=%d, memory=%.1fKB, hotHits=%d, coldPosts=%d, " +
+                        "coldQueries=%d, promotions=%d, abandoned=%d}",
+                hot.size(), memoryBytes() / 1024.0, hotHits.sum(), coldPosts.sum(),
+                coldQueries.sum(), promotions.sum(), abandoned.sum());
+    }
+}
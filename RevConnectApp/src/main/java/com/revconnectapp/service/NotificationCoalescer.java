@@ -0,0 +1,206 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.model.Notification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Folds repeated events of one type on one target (likes on a post, comments
+ * on a post, new followers of a user) into a single aggregate notification:
+ * "@carol, @bob and 40 others liked your post".
+ *
+ * The first event in a window creates the notification normally. Later ones
+ * within {@code revconnect.notifications.coalesceWindowMillis} of it rewrite
+ * that notification's message, mark it unread again and move it to the top,
+ * and the database row is updated in place instead of a new row per event.
+ */
+public class NotificationCoalescer {
+
+    // Actors named in the message; the rest are counted as "others"
+    private static final int NAMED_ACTORS = 2;
+    private static final int MAX_AGGREGATES = 50_000;
+
+    private final long windowNanos = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("revconnect.notifications.coalesceWindowMillis", 600_000L));
+
+    private final ConcurrentHashMap<Key, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final NotificationStore store = NotificationStore.getInstance();
+    private final NotificationDispatcher dispatcher = NotificationDispatcher.getInstance();
+    private final NotificationCounters counters = NotificationCounters.getInstance();
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder folded = new LongAdder();
+
+    private static final class Key {
+        final int userId;
+        final String type;
+        final int targetId;
+
+        Key(int userId, String type, int targetId) {
+            this.userId = userId;
+            this.type = type;
+            this.targetId = targetId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return userId == k.userId && targetId == k.targetId && type.equals(k.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return (userId * 31 + targetId) * 31 + type.hashCode();
+        }
+    }
+
+    private static final class Aggregate {
+        final long openedAt = System.nanoTime();
+        final Deque<String> recentActors = new ArrayDeque<>(NAMED_ACTORS);
+        int count = 1;
+        // Null until the opener has created it; events folded before then are
+        // counted here and written when it is published
+        volatile Notification notification;
+        String lastAction;
+
+        Aggregate(String firstActor) {
+            recentActors.add(firstActor);
+        }
+
+        // Caller holds the aggregate's lock
+        void addActor(String actorUsername) {
+            // The same user liking, unliking and liking again is one actor
+            if (!recentActors.contains(actorUsername)) {
+                count++;
+                if (recentActors.size() == NAMED_ACTORS) recentActors.removeLast();
+                recentActors.addFirst(actorUsername);
+            }
+        }
+
+        // Caller holds the aggregate's lock
+        void rewrite(String action) {
+            notification.setMessage(message(this, action));
+            notification.setRead(false);
+            notification.setCreatedAt(LocalDateTime.now());
+        }
+    }
+
+    NotificationCoalescer() {}
+
+    public static NotificationCoalescer getInstance() {
+        return AppContext.get().notificationCoalescer();
+    }
+
+    /**
+     * Records one event by {@code actorUsername}: folds it into the open
+     * aggregate for the target, or, for the first event in a window, calls
+     * {@code create} with the single-actor message to make the notification
+     * the window starts from. Only claiming the window happens under the
+     * map's lock for the key, so concurrent first events open one window, not
+     * one each; {@code create} runs after the lock is released.
+     */
+    public void record(int userId, String type, int targetId, String actorUsername, String action,
+                       Function<String, Notification> create) {
+        Key key = new Key(userId, type, targetId);
+        Aggregate[] fresh = new Aggregate[1];
+        Aggregate aggregate = aggregates.compute(key, (k, current) -> {
+            if (current != null && System.nanoTime() - current.openedAt <= windowNanos) return current;
+            fresh[0] = new Aggregate(actorUsername);
+            return fresh[0];
+        });
+        if (aggregate == fresh[0]) {
+            open(key, aggregate, actorUsername, action, create);
+            return;
+        }
+        Notification n;
+        boolean wasRead;
+        synchronized (aggregate) {
+            aggregate.addActor(actorUsername);
+            n = aggregate.notification;
+            if (n == null) {
+                // Still being created; the opener writes this fold with its own
+                aggregate.lastAction = action;
+                folded.increment();
+                return;
+            }
+            wasRead = n.isRead();
+            aggregate.rewrite(action);
+        }
+        store.bump(n);
+        counters.onReopened(userId, wasRead);
+        dispatcher.dispatchUpdate(n);
+        folded.increment();
+    }
+
+    private void open(Key key, Aggregate aggregate, String actorUsername, String action,
+                      Function<String, Notification> create) {
+        Notification n;
+        try {
+            n = create.apply("@" + actorUsername + " " + action);
+        } catch (RuntimeException | Error e) {
+            aggregates.remove(key, aggregate);
+            throw e;
+        }
+        boolean foldedEarly;
+        synchronized (aggregate) {
+            aggregate.notification = n;
+            foldedEarly = aggregate.lastAction != null;
+            if (foldedEarly) aggregate.rewrite(aggregate.lastAction);
+        }
+        if (foldedEarly) {
+            // Created unread a moment ago, so the unread count already has it
+            store.bump(n);
+            dispatcher.dispatchUpdate(n);
+        }
+        opened.increment();
+        if (aggregates.size() > MAX_AGGREGATES) expire();
+    }
+
+    /** Stops folding into a notification that was deleted. */
+    public void forget(int notificationId) {
+        aggregates.values().removeIf(a -> {
+            Notification n = a.notification;
+            return n != null && n.getId() == notificationId;
+        });
+    }
+
+    public void forgetUser(int userId) {
+        aggregates.keySet().removeIf(k -> k.userId == userId);
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+        for (Iterator<Map.Entry<Key, Aggregate>> it = aggregates.entrySet().iterator(); it.hasNext(); ) {
+            if (now - it.next().getValue().openedAt > windowNanos) it.remove();
+        }
+    }
+
+    private static String message(Aggregate aggregate, String action) {
+        StringBuilder sb = new StringBuilder();
+        int named = 0;
+        for (String actor : aggregate.recentActors) {
+            if (named > 0) sb.append(aggregate.count == 2 ? " and " : ", ");
+            sb.append('@').append(actor);
+            named++;
+        }
+        int others = aggregate.count - named;
+        if (others > 0) {
+            sb.append(" and ").append(others).append(others == 1 ? " other" : " others");
+        }
+        return sb.append(' ').append(action).toString();
+    }
+
+    public String describe() {
+        return String.format("NotificationCoalescer{open=%d, opened=%d, folded=%d}",
+                aggregates.size(), opened.sum(), folded.sum());
+    }
+}
@@ -0,0 +1,109 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.NotificationDAO;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cached total and unread notification counts per user, so the dashboard
+ * badge and the notification header cost a map lookup instead of a COUNT.
+ *
+ * A user's counts are seeded with one COUNT query on first use and then kept
+ * in step by the service as notifications are created, read and deleted.
+ * Changes the service cannot attribute to a user (or that race with a seed
+ * while a write is still queued) are absorbed by reseeding entries older than
+ * {@code revconnect.notifications.countTtlMillis}.
+ */
+public class NotificationCounters {
+
+    private final long ttlNanos = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("revconnect.notifications.countTtlMillis", 60_000L));
+    private final int maxUsers = Integer.getInteger("revconnect.notifications.maxUsers", 10_000);
+
+    private final NotificationDAO notificationDAO = AppContext.get().notificationDAO();
+    private final ConcurrentHashMap<Integer, Counts> counts = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder seeds = new LongAdder();
+
+    private static final class Counts {
+        final long seededAt = System.nanoTime();
+        int total;
+        int unread;
+
+        Counts(int total, int unread) {
+            this.total = total;
+            this.unread = unread;
+        }
+    }
+
+    NotificationCounters() {}
+
+    public static NotificationCounters getInstance() {
+        return AppContext.get().notificationCounters();
+    }
+
+    /** {total, unread}, or null when the database could not be reached. */
+    public int[] get(int userId) {
+        Counts c = counts.get(userId);
+        if (c != null && System.nanoTime() - c.seededAt <= ttlNanos) {
+            hits.increment();
+            synchronized (c) {
+                return new int[]{c.total, c.unread};
+            }
+        }
+        int[] seeded = notificationDAO.getCounts(userId);
+        if (seeded == null) return null;
+        seeds.increment();
+        if (counts.size() >= maxUsers) counts.clear();
+        counts.put(userId, new Counts(seeded[0], seeded[1]));
+        return seeded;
+    }
+
+    public void onCreated(int userId) {
+        adjust(userId, 1, 1);
+    }
+
+    /** An aggregate notification was rewritten and marked unread again. */
+    public void onReopened(int userId, boolean wasRead) {
+        if (wasRead) adjust(userId, 0, 1);
+    }
+
+    public void onRead(int userId, int count) {
+        adjust(userId, 0, -count);
+    }
+
+    public void onAllRead(int userId) {
+        Counts c = counts.get(userId);
+        if (c == null) return;
+        synchronized (c) {
+            c.unread = 0;
+        }
+    }
+
+    public void onDeleted(int userId, int count, int unreadCount) {
+        adjust(userId, -count, -unreadCount);
+    }
+
+    /** Drops a user's counts so the next read reseeds them. */
+    public void invalidate(int userId) {
+        counts.remove(userId);
+    }
+
+    // Users with no cached counts are left alone; their first read seeds them
+    private void adjust(int userId, int total, int unread) {
+        Counts c = counts.get(userId);
+        if (c == null) return;
+        synchronized (c) {
+            c.total = Math.max(0, c.total + total);
+            c.unread = Math.max(0, Math.min(c.total, c.unread + unread));
+        }
+    }
+
+    public String describe() {
+        return String.format("NotificationCounters{users=%d, hits=%d, seeds=%d}",
+                counts.size(), hits.sum(), seeds.sum());
+    }
+}
@@ -0,0 +1,204 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.NotificationDAO;
+import com.revconnectapp.model.Notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes notifications to MySQL off the caller's thread. Any number of
+ * producers put notifications on a bounded queue; one dedicated writer thread
+ * drains it and inserts each batch with a single JDBC batch in one transaction.
+ *
+ * A batch is written once it reaches {@code revconnect.notifications.batchSize}
+ * or once its oldest entry has waited {@code revconnect.notifications.maxLatencyMillis},
+ * whichever comes first. When the queue is full the producer waits up to
+ * {@code revconnect.notifications.enqueueTimeoutMillis} and then inserts on its
+ * own thread. {@link #shutdown()} stops intake and drains what is queued.
+ *
+ * Updates to aggregate notifications ride the same queue, after the insert of
+ * the row they update. Several updates to one notification in a batch become
+ * one UPDATE carrying its latest state.
+ */
+public class NotificationDispatcher {
+
+    private final NotificationDAO notificationDAO = AppContext.get().notificationDAO();
+    private final NotificationStore store = NotificationStore.getInstance();
+
+    private final int capacity = Integer.getInteger("revconnect.notifications.queueCapacity", 10_000);
+    private final int batchSize = Integer.getInteger("revconnect.notifications.batchSize", 200);
+    private final long maxLatencyMillis = Long.getLong("revconnect.notifications.maxLatencyMillis", 100L);
+    private final long enqueueTimeoutMillis = Long.getLong("revconnect.notifications.enqueueTimeoutMillis", 500L);
+
+    private final BlockingQueue<Queued> queue = new ArrayBlockingQueue<>(capacity);
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder callerWrites = new LongAdder();
+    private final LongAdder coalescedUpdates = new LongAdder();
+    private final AtomicLong maxBatch = new AtomicLong();
+    private final AtomicLong totalLagNanos = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    private static final class Queued {
+        final Notification notification;
+        final int localId;
+        final boolean update;
+        final long enqueuedAt = System.nanoTime();
+
+        Queued(Notification notification, int localId, boolean update) {
+            this.notification = notification;
+            this.localId = localId;
+            this.update = update;
+        }
+    }
+
+    NotificationDispatcher() {
+        writer = new Thread(this::runWriter, "revconnect-notification-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static NotificationDispatcher getInstance() {
+        return AppContext.get().notificationDispatcher();
+    }
+
+    /**
+     * Queues a notification that already sits in the store under a local id;
+     * the id is replaced with the database id once it is written.
+     */
+    public void dispatch(Notification notification) {
+        enqueue(new Queued(notification, notification.getId(), false));
+    }
+
+    /** Queues a rewrite of an already dispatched notification's message, read flag and time. */
+    public void dispatchUpdate(Notification notification) {
+        enqueue(new Queued(notification, notification.getId(), true));
+    }
+
+    private void enqueue(Queued queued) {
+        if (running) {
+            try {
+                if (queue.offer(queued, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    enqueued.increment();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Queue full or shutting down: write on the producer's thread
+        callerWrites.increment();
+        List<Queued> single = new ArrayList<>(1);
+        single.add(queued);
+        write(single);
+    }
+
+    private void runWriter() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Queued first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // Fill up to batchSize, but never hold the first entry past maxLatency
+                long deadline = first.enqueuedAt + TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+                while (batch.size() < batchSize) {
+                    long left = deadline - System.nanoTime();
+                    Queued next = left > 0 ? queue.poll(left, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Not expected (shutdown just clears running); stop waiting and drain what is left
+                running = false;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                failed.add(batch.size());
+                System.err.println("Warning: Could not write " + batch.size() + " notifications: " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Queued> batch) {
+        if (batch.isEmpty()) return;
+        List<Notification> inserts = new ArrayList<>(batch.size());
+        Set<Notification> updates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Queued queued : batch) {
+            if (!queued.update) inserts.add(queued.notification);
+            else updates.add(queued.notification);
+        }
+        if (!notificationDAO.createBatch(inserts)) {
+            // Stays in the store under its local id
+            failed.add(inserts.size());
+            for (Notification n : inserts) updates.remove(n);
+        } else {
+            for (Queued queued : batch) {
+                if (!queued.update) store.reassignId(queued.notification, queued.localId);
+            }
+        }
+        // Rows whose insert failed have no database id to update
+        updates.removeIf(n -> n.getId() <= 0);
+        coalescedUpdates.add(batch.size() - inserts.size() - updates.size());
+        if (!notificationDAO.updateBatch(new ArrayList<>(updates))) {
+            failed.add(updates.size());
+        }
+        long now = System.nanoTime();
+        for (Queued queued : batch) {
+            long lag = now - queued.enqueuedAt;
+            totalLagNanos.addAndGet(lag);
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+        }
+        batches.increment();
+        written.add(batch.size());
+        maxBatch.accumulateAndGet(batch.size(), Math::max);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public String describe() {
+        long batchCount = batches.sum();
+        long writtenCount = written.sum();
+        return String.format("NotificationDispatcher{queued=%d, depth=%d/%d, batches=%d, avgBatch=%.1f, " +
+                        "maxBatch=%d, written=%d, failed=%d, callerWrites=%d, coalescedUpdates=%d, " +
+                        "avgLag=%.3fms, maxLag=%.3fms}",
+                enqueued.sum(), queue.size(), capacity, batchCount,
+                batchCount == 0 ? 0.0 : (double) writtenCount / batchCount, maxBatch.get(),
+                writtenCount, failed.sum(), callerWrites.sum(), coalescedUpdates.sum(),
+                writtenCount == 0 ? 0.0 : totalLagNanos.get() / (double) writtenCount / 1_000_000.0,
+                maxLagNanos.get() / 1_000_000.0);
+    }
+
+    /**
+     * Stops accepting notifications and writes everything already queued. The
+     * writer is not interrupted: it sees {@code running} go false within one
+     * poll timeout and drains the queue, so a batch is never cut off mid-write.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,13 +2,23 @@ package com.revconnectapp.service;
 
 import com.revconnectapp.dao.NotificationDAO;
 import com.revconnectapp.model.Notification;
+import com.revconnectapp.model.NotificationCursor;
+import com.revconnectapp.model.NotificationPage;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class NotificationService {
-    private List<Notification> notifications = new ArrayList<>();
-    private NotificationDAO notificationDAO = new NotificationDAO();
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    // Most rows a single refresh pulls in; further behind than that, reload the first page
+    private static final int MAX_DELTA = 100;
+    
+    // Shared by every NotificationService instance and session
+    private NotificationStore store = NotificationStore.getInstance();
+    private NotificationDAO notificationDAO = AppContext.get().notificationDAO();
+    private NotificationDispatcher dispatcher = NotificationDispatcher.getInstance();
+    private NotificationCoalescer coalescer = NotificationCoalescer.getInstance();
+    private NotificationCounters counters = NotificationCounters.getInstance();
     
     // ========== NOTIFICATION CREATION METHODS ==========
     
@@ -31,10 +41,9 @@ public class NotificationService {
             "CONNECTION_REJECTED");
     }
     
+    // New followers within the coalescing window fold into one notification
     public void notifyNewFollower(int userId, String followerUsername) {
-        createNotification(userId,
-            "@" + followerUsername + " started following you!",
-            "FOLLOWER");
+        createCoalesced(userId, "FOLLOWER", userId, followerUsername, "started following you!");
     }
     
     // Post interactions
@@ -50,6 +59,15 @@ public class NotificationService {
             "COMMENT");
     }
     
+    // ✅ NEW: Per-post variants - likes/comments on one post fold into "@a, @b and N others ..."
+    public void notifyLikedPost(int postOwnerId, String likerUsername, int postId) {
+        createCoalesced(postOwnerId, "LIKE", postId, likerUsername, "liked your post");
+    }
+    
+    public void notifyNewComment(int postOwnerId, String commenterUsername, int postId) {
+        createCoalesced(postOwnerId, "COMMENT", postId, commenterUsername, "commented on your post");
+    }
+    
     public void notifyPostShared(int originalPosterId, String sharerUsername) {
         createNotification(originalPosterId,
             "@" + sharerUsername + " shared your post",
@@ -88,7 +106,7 @@ public class NotificationService {
     
     // ========== CORE METHODS ==========
     
-    private void createNotification(int userId, String message, String type) {
+    private Notification createNotification(int userId, String message, String type) {
         Notification notification = new Notification();
         notification.setUserId(userId);
         notification.setMessage(message);
@@ -97,68 +115,96 @@ public class NotificationService {
         notification.setCreatedAt(LocalDateTime.now());
         
         // Store in memory for quick access
-        notification.setId(notifications.size() + 1);
-        notifications.add(notification);
+        notification.setId(store.nextLocalId());
+        store.add(notification);
+        counters.onCreated(userId);
         
-        // Also save to database
-        try {
-            notificationDAO.create(notification);
-        } catch (Exception e) {
-            System.err.println("Warning: Could not save notification to database: " + e.getMessage());
-            // Continue with in-memory storage only
-        }
-        
-        System.out.println("🔔 Created notification for user " + userId + ": " + message);
+        // Saved to the database in the background; the caller does not wait on the INSERT
+        dispatcher.dispatch(notification);
+        return notification;
+    }
+    
+    private void createCoalesced(int userId, String type, int targetId, String actorUsername, String action) {
+        coalescer.record(userId, type, targetId, actorUsername, action,
+                message -> createNotification(userId, message, type));
     }
     
     // ========== NOTIFICATION RETRIEVAL METHODS ==========
     
+    // ✅ NEW: The newest page only - use getPage with its cursor to read further back
     public List<Notification> getNotifications(int userId) {
-        // Try to get from database first
-        try {
-            List<Notification> dbNotifications = notificationDAO.getAllForUser(userId);
-            if (!dbNotifications.isEmpty()) {
-                return dbNotifications;
-            }
-        } catch (Exception e) {
-            System.err.println("Warning: Could not load notifications from database: " + e.getMessage());
-        }
-        
-        // Fall back to in-memory notifications
-        List<Notification> userNotifications = new ArrayList<>();
-        for (Notification n : notifications) {
-            if (n.getUserId() == userId) {
-                userNotifications.add(n);
-            }
-        }
-        
-        // Sort by newest first
-        userNotifications.sort((n1, n2) -> {
-            if (n1.getCreatedAt() != null && n2.getCreatedAt() != null) {
-                return n2.getCreatedAt().compareTo(n1.getCreatedAt());
-            }
-            return 0;
-        });
-        
-        return userNotifications;
+        return getPage(userId, null, DEFAULT_PAGE_SIZE).getNotifications();
     }
     
+    // ✅ NEW: Served from a cached counter; only the first call (or one after expiry) runs a COUNT
     public int getUnreadCount(int userId) {
-        // Try database first
-        try {
-            return notificationDAO.getUnreadCount(userId);
-        } catch (Exception e) {
-            System.err.println("Warning: Could not get unread count from database: " + e.getMessage());
+        int[] counts = counters.get(userId);
+        if (counts != null) {
+            return counts[1];
         }
         
         // Fall back to in-memory
-        int count = 0;
-        for (Notification n : notifications) {
-            if (n.getUserId() == userId && !n.isRead()) {
-                count++;
+        return store.unreadCount(userId);
+    }
+    
+    // ✅ NEW: One page of notifications, newest first; pass the previous page's cursor for the next
+    public NotificationPage getPage(int userId, NotificationCursor after, int limit) {
+        return page(userId, after, limit, false);
+    }
+    
+    public NotificationPage getUnreadPage(int userId, NotificationCursor after, int limit) {
+        return page(userId, after, limit, true);
+    }
+    
+    private NotificationPage page(int userId, NotificationCursor after, int limit, boolean unreadOnly) {
+        NotificationPage page = notificationDAO.getPage(userId, after, limit, unreadOnly);
+        if (page == null) {
+            // Database unavailable: page through the in-memory copy instead
+            List<Notification> older = store.matching(userId,
+                n -> (!unreadOnly || !n.isRead()) && (after == null || isOlder(n, after)));
+            return slice(older, limit);
+        }
+        if (after == null) {
+            // Notifications still waiting in the write queue are newer than anything stored
+            List<Notification> pending = store.pending(userId);
+            if (unreadOnly) pending.removeIf(Notification::isRead);
+            if (!pending.isEmpty()) {
+                pending.addAll(page.getNotifications());
+                return new NotificationPage(pending, page.getNextCursor());
             }
         }
-        return count;
+        return page;
+    }
+    
+    // ✅ NEW: Delta for a refresh - what arrived or was updated since the newest stored
+    // notification shown (pending ones included). Null means the viewer is too far behind
+    // for a delta and should reload the first page.
+    public List<Notification> getSince(int userId, NotificationCursor newestSeen) {
+        List<Notification> delta = notificationDAO.getSince(userId, newestSeen, MAX_DELTA);
+        if (delta == null) {
+            return store.matching(userId,
+                n -> !isOlder(n, newestSeen) && n.getId() != newestSeen.getNotificationId());
+        }
+        if (delta.size() == MAX_DELTA) {
+            return null;
+        }
+        List<Notification> pending = store.pending(userId);
+        pending.addAll(delta);
+        return pending;
+    }
+    
+    private static boolean isOlder(Notification n, NotificationCursor cursor) {
+        NotificationCursor own = NotificationCursor.of(n);
+        int cmp = own.getCreatedAt().compareTo(cursor.getCreatedAt());
+        return cmp < 0 || cmp == 0 && own.getNotificationId() < cursor.getNotificationId();
+    }
+    
+    private static NotificationPage slice(List<Notification> notifications, int limit) {
+        if (notifications.size() <= limit) {
+            return new NotificationPage(notifications, null);
+        }
+        List<Notification> page = new ArrayList<>(notifications.subList(0, limit));
+        return new NotificationPage(page, NotificationCursor.of(page.get(limit - 1)));
     }
     
     public List<Notification> getUnreadNotifications(int userId) {
@@ -170,13 +216,7 @@ public class NotificationService {
         }
         
         // Fall back to in-memory
-        List<Notification> unread = new ArrayList<>();
-        for (Notification n : notifications) {
-            if (n.getUserId() == userId && !n.isRead()) {
-                unread.add(n);
-            }
-        }
-        return unread;
+        return store.unread(userId);
     }
     
     public List<Notification> getHistory(int userId) {
@@ -185,27 +225,48 @@ public class NotificationService {
     }
     
     public int getTotalCount(int userId) {
-        List<Notification> userNotifications = getNotifications(userId);
-        return userNotifications.size();
+        int[] counts = counters.get(userId);
+        if (counts != null) {
+            return counts[0];
+        }
+        
+        // Fall back to in-memory
+        return store.size(userId);
     }
     
     // ========== NOTIFICATION UPDATE METHODS ==========
     
+    // ✅ NEW: Whether the notification belongs to the user (pending ones are checked in memory)
+    public boolean isOwnedBy(int notificationId, int userId) {
+        Integer ownerId = store.ownerOf(notificationId);
+        if (ownerId != null) return ownerId == userId;
+        return notificationId > 0 && notificationDAO.getOwnerId(notificationId) == userId;
+    }
+
     public void markAsRead(int notificationId) {
+        Integer ownerId = store.ownerOf(notificationId);
+        
         // Update in database
         try {
-            notificationDAO.markAsRead(notificationId);
+            if (notificationId < 0) {
+                // Not written yet - the queued insert carries the read flag; recount later
+                if (ownerId != null) counters.invalidate(ownerId);
+            } else {
+                if (ownerId == null) ownerId = notificationDAO.getOwnerId(notificationId);
+                if (notificationDAO.markAsRead(notificationId)) {
+                    counters.onRead(ownerId, 1);
+                } else if (ownerId != 0) {
+                    // Already read, missing or the update failed: recount rather than guess
+                    counters.invalidate(ownerId);
+                }
+            }
         } catch (Exception e) {
             System.err.println("Warning: Could not mark notification as read in database: " + e.getMessage());
         }
         
         // Update in memory
-        for (Notification n : notifications) {
-            if (n.getId() == notificationId) {
-                n.setRead(true);
-                System.out.println("🔔 Marked notification " + notificationId + " as read");
-                return;
-            }
+        if (store.markRead(notificationId)) {
+            System.out.println("🔔 Marked notification " + notificationId + " as read");
         }
     }
     
@@ -213,18 +274,13 @@ public class NotificationService {
         // Update in database
         try {
             notificationDAO.markAllRead(userId);
+            counters.onAllRead(userId);
         } catch (Exception e) {
             System.err.println("Warning: Could not mark all notifications as read in database: " + e.getMessage());
         }
         
         // Update in memory
-        int count = 0;
-        for (Notification n : notifications) {
-            if (n.getUserId() == userId && !n.isRead()) {
-                n.setRead(true);
-                count++;
-            }
-        }
+        int count = store.markAllRead(userId);
         System.out.println("🔔 Marked " + count + " notifications as read for user " + userId);
     }
     
@@ -234,15 +290,21 @@ public class NotificationService {
     }
     
     public void deleteNotification(int notificationId) {
+        Integer ownerId = store.ownerOf(notificationId);
+        
         // Delete from database
         try {
-            notificationDAO.deleteNotification(notificationId);
+            if (notificationDAO.deleteNotification(notificationId) && ownerId != null) {
+                // Whether it was unread is not known here, so recount on next read
+                counters.invalidate(ownerId);
+            }
         } catch (Exception e) {
             System.err.println("Warning: Could not delete notification from database: " + e.getMessage());
         }
         
         // Delete from memory
-        notifications.removeIf(n -> n.getId() == notificationId);
+        store.remove(notificationId);
+        coalescer.forget(notificationId);
         System.out.println("🔔 Deleted notification " + notificationId);
     }
     
@@ -250,24 +312,23 @@ public class NotificationService {
         // Delete from database
         try {
             int deletedCount = notificationDAO.deleteAllRead(userId);
+            counters.onDeleted(userId, deletedCount, 0);
             System.out.println("🔔 Deleted " + deletedCount + " read notifications from database for user " + userId);
         } catch (Exception e) {
             System.err.println("Warning: Could not delete read notifications from database: " + e.getMessage());
         }
         
         // Delete from memory
-        int initialSize = notifications.size();
-        notifications.removeIf(n -> n.getUserId() == userId && n.isRead());
-        int deletedCount = initialSize - notifications.size();
+        int deletedCount = store.removeIf(userId, Notification::isRead);
+        coalescer.forgetUser(userId);
         System.out.println("🔔 Deleted " + deletedCount + " read notifications for user " + userId);
     }
     
     public void clearAllNotifications(int userId) {
         // Clear from database (would need a new method in DAO)
         // For now, just clear from memory
-        int initialSize = notifications.size();
-        notifications.removeIf(n -> n.getUserId() == userId);
-        int deletedCount = initialSize - notifications.size();
+        int deletedCount = store.removeIf(userId, n -> true);
+        coalescer.forgetUser(userId);
         System.out.println("🔔 Cleared " + deletedCount + " notifications for user " + userId);
     }
     
@@ -282,13 +343,7 @@ public class NotificationService {
         }
         
         // Fall back to in-memory
-        List<Notification> filtered = new ArrayList<>();
-        for (Notification n : notifications) {
-            if (n.getUserId() == userId && type.equals(n.getType())) {
-                filtered.add(n);
-            }
-        }
-        return filtered;
+        return store.matching(userId, n -> type.equals(n.getType()));
     }
     
     public List<Notification> getLatest(int userId, int limit) {
@@ -300,10 +355,6 @@ public class NotificationService {
         }
         
         // Fall back to in-memory
-        List<Notification> all = getNotifications(userId);
-        if (all.size() <= limit) {
-            return all;
-        }
-        return all.subList(0, Math.min(limit, all.size()));
+        return store.newest(userId, 0, limit);
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.model.Notification;
+import com.revconnectapp.util.NotificationRing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Shared in-memory notifications: a {@link NotificationRing} per user holding
+ * their most recent {@code revconnect.notifications.perUser} notifications.
+ * When more than {@code revconnect.notifications.maxUsers} users have rings,
+ * the least recently touched tenth are dropped.
+ *
+ * Safe to use from any number of sessions. Notifications not yet stored in
+ * the database carry negative ids so they never collide with real ones.
+ */
+public class NotificationStore {
+
+    private final int perUser = Integer.getInteger("revconnect.notifications.perUser", 200);
+    private final int maxUsers = Integer.getInteger("revconnect.notifications.maxUsers", 10_000);
+
+    private final ConcurrentHashMap<Integer, Entry> rings = new ConcurrentHashMap<>();
+    // Notification id -> owner, so id-only calls don't scan every ring
+    private final ConcurrentHashMap<Integer, Integer> owners = new ConcurrentHashMap<>();
+    private final AtomicInteger localIds = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong();
+
+    private static final class Entry {
+        final NotificationRing ring;
+        volatile long lastTouched;
+
+        Entry(NotificationRing ring) {
+            this.ring = ring;
+        }
+    }
+
+    NotificationStore() {}
+
+    public static NotificationStore getInstance() {
+        return AppContext.get().notificationStore();
+    }
+
+    /** A fresh negative id for a notification the database has not assigned one to. */
+    public int nextLocalId() {
+        return localIds.decrementAndGet();
+    }
+
+    public void add(Notification notification) {
+        Entry entry = rings.computeIfAbsent(notification.getUserId(), k -> new Entry(new NotificationRing(perUser)));
+        entry.lastTouched = clock.incrementAndGet();
+        owners.put(notification.getId(), notification.getUserId());
+        Notification evicted = entry.ring.add(notification);
+        if (evicted != null) owners.remove(evicted.getId(), evicted.getUserId());
+        if (rings.size() > maxUsers) evictUsers();
+    }
+
+    /** Moves an updated notification back to the top of its user's ring. */
+    public void bump(Notification notification) {
+        Entry entry = rings.get(notification.getUserId());
+        if (entry == null) {
+            add(notification);
+            return;
+        }
+        entry.lastTouched = clock.incrementAndGet();
+        synchronized (entry.ring) {
+            entry.ring.removeIf(n -> n == notification);
+            Notification evicted = entry.ring.add(notification);
+            if (evicted != null) owners.remove(evicted.getId(), evicted.getUserId());
+        }
+        owners.put(notification.getId(), notification.getUserId());
+    }
+
+    /** Call after the database assigns the real id. */
+    public void reassignId(Notification notification, int oldId) {
+        owners.remove(oldId, notification.getUserId());
+        owners.put(notification.getId(), notification.getUserId());
+    }
+
+    /** The user a stored notification belongs to, or null if it is not held here. */
+    public Integer ownerOf(int notificationId) {
+        return owners.get(notificationId);
+    }
+
+    /** Notifications created here that the database has not stored yet, newest first. */
+    public List<Notification> pending(int userId) {
+        return matching(userId, n -> n.getId() < 0);
+    }
+
+    public int unreadCount(int userId) {
+        Entry entry = touch(userId);
+        return entry == null ? 0 : entry.ring.unreadCount();
+    }
+
+    public int size(int userId) {
+        Entry entry = touch(userId);
+        return entry == null ? 0 : entry.ring.size();
+    }
+
+    public List<Notification> newest(int userId, int offset, int limit) {
+        Entry entry = touch(userId);
+        return entry == null ? new ArrayList<>() : entry.ring.newest(offset, limit);
+    }
+
+    public List<Notification> unread(int userId) {
+        Entry entry = touch(userId);
+        return entry == null ? new ArrayList<>() : entry.ring.unread();
+    }
+
+    public List<Notification> matching(int userId, Predicate<Notification> filter) {
+        Entry entry = touch(userId);
+        return entry == null ? new ArrayList<>() : entry.ring.matching(filter);
+    }
+
+    public boolean markRead(int notificationId) {
+        Integer userId = owners.get(notificationId);
+        if (userId == null) return false;
+        Entry entry = rings.get(userId);
+        return entry != null && entry.ring.markRead(notificationId);
+    }
+
+    public int markAllRead(int userId) {
+        Entry entry = touch(userId);
+        return entry == null ? 0 : entry.ring.markAllRead();
+    }
+
+    public boolean remove(int notificationId) {
+        Integer userId = owners.remove(notificationId);
+        if (userId == null) return false;
+        return removeIf(userId, n -> n.getId() == notificationId) > 0;
+    }
+
+    /** Removes the user's notifications matching the filter; returns how many. */
+    public int removeIf(int userId, Predicate<Notification> filter) {
+        Entry entry = rings.get(userId);
+        if (entry == null) return 0;
+        List<Notification> removed = entry.ring.removeIf(filter);
+        for (Notification n : removed) owners.remove(n.getId(), userId);
+        return removed.size();
+    }
+
+    private Entry touch(int userId) {
+        Entry entry = rings.get(userId);
+        if (entry != null) entry.lastTouched = clock.incrementAndGet();
+        return entry;
+    }
+
+    // Drops the least recently touched tenth of the rings
+    private synchronized void evictUsers() {
+        if (rings.size() <= maxUsers) return;
+        List<Long> stamps = new ArrayList<>(rings.size());
+        for (Entry entry : rings.values()) stamps.add(entry.lastTouched);
+        Collections.sort(stamps);
+        long cutoff = stamps.get(Math.max(0, stamps.size() / 10 - 1));
+        for (Map.Entry<Integer, Entry> e : rings.entrySet()) {
+            if (e.getValue().lastTouched <= cutoff && rings.remove(e.getKey(), e.getValue())) {
+                for (Notification n : e.getValue().ring.newest(0, perUser)) {
+                    owners.remove(n.getId(), e.getKey());
+                }
+            }
+        }
+    }
+
+    public String describe() {
+        return String.format("NotificationStore{users=%d, notifications=%d, perUser=%d}",
+                rings.size(), owners.size(), perUser);
+    }
+}
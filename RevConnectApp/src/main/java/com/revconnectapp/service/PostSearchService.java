@@ -0,0 +1,161 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.CommentDAO;
+import com.revconnectapp.dao.PostDAO;
+import com.revconnectapp.util.FullTextIndex;
+import com.revconnectapp.util.IntList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Full-text search over post content, hashtags and comments, ranked with
+ * BM25. Each post and each comment is its own document in a
+ * {@link FullTextIndex} grouped by post id, so a search returns posts and a
+ * post matching only through a comment still shows up, below posts that
+ * match in their own text.
+ *
+ * The index is built from MySQL by {@link #start()} on a background thread;
+ * posts and comments written meanwhile are indexed live and win over the
+ * loader's copy. Segment merges run on their own daemon thread.
+ */
+public class PostSearchService {
+
+    // A comment match counts for half a match in the post itself
+    private static final float COMMENT_BOOST = 0.5f;
+
+    private final PostDAO postDAO = AppContext.get().postDAO();
+    private final CommentDAO commentDAO = AppContext.get().commentDAO();
+
+    private final int flushDocs = Integer.getInteger("revconnect.search.flushDocs", 2_000);
+    private final int mergeFactor = Integer.getInteger("revconnect.search.mergeFactor", 8);
+
+    private final ExecutorService merger = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "revconnect-search-merger");
+        t.setDaemon(true);
+        return t;
+    });
+    private final FullTextIndex index = new FullTextIndex(flushDocs, mergeFactor, merger);
+
+    // Documents written or deleted while loading; the loader skips them
+    private final Set<Long> touchedDuringLoad = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> postsDeletedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean loaded;
+    private volatile long lastLoadMillis;
+
+    private final LongAdder searches = new LongAdder();
+
+    PostSearchService() {}
+
+    public static PostSearchService getInstance() {
+        return AppContext.get().postSearchService();
+    }
+
+    public void start() {
+        Thread loader = new Thread(this::load, "revconnect-search-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private synchronized void load() {
+        if (loaded) return;
+        long started = System.currentTimeMillis();
+        loading = true;
+        try {
+            IntList ids = new IntList(1024);
+            List<String> contents = new ArrayList<>();
+            List<String> hashtags = new ArrayList<>();
+            if (!postDAO.loadTagSources(ids, contents, hashtags)) return;
+            for (int i = 0; i < ids.size(); i++) {
+                int postId = ids.get(i);
+                if (!touchedDuringLoad.contains(postKey(postId)) && !postsDeletedDuringLoad.contains(postId)) {
+                    index.put(postKey(postId), postId, postText(contents.get(i), hashtags.get(i)), 1f);
+                }
+            }
+
+            IntList commentIds = new IntList(1024);
+            IntList postIds = new IntList(1024);
+            contents.clear();
+            if (!commentDAO.loadSearchSources(commentIds, postIds, contents)) return;
+            for (int i = 0; i < commentIds.size(); i++) {
+                int commentId = commentIds.get(i);
+                if (!touchedDuringLoad.contains(commentKey(commentId)) && !postsDeletedDuringLoad.contains(postIds.get(i))) {
+                    index.put(commentKey(commentId), postIds.get(i), contents.get(i), COMMENT_BOOST);
+                }
+            }
+            index.flush();
+            lastLoadMillis = System.currentTimeMillis() - started;
+            loaded = true;
+        } finally {
+            loading = false;
+            touchedDuringLoad.clear();
+            postsDeletedDuringLoad.clear();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // ===== Incremental updates =====
+
+    public void onPostSaved(int postId, String content, String hashtags) {
+        if (loading) touchedDuringLoad.add(postKey(postId));
+        index.put(postKey(postId), postId, postText(content, hashtags), 1f);
+    }
+
+    public void onPostDeleted(int postId) {
+        if (loading) postsDeletedDuringLoad.add(postId);
+        index.removeGroup(postId);
+    }
+
+    public void onCommentAdded(int commentId, int postId, String content) {
+        if (loading) touchedDuringLoad.add(commentKey(commentId));
+        index.put(commentKey(commentId), postId, content, COMMENT_BOOST);
+    }
+
+    public void onCommentDeleted(int commentId) {
+        if (loading) touchedDuringLoad.add(commentKey(commentId));
+        index.remove(commentKey(commentId));
+    }
+
+    // ===== Queries =====
+
+    /**
+     * Ids of the best matching posts, best first, or null while the index is
+     * still loading. See {@link FullTextIndex} for the query syntax.
+     */
+    public int[] search(String query, int limit) {
+        if (!loaded) return null;
+        searches.increment();
+        return index.search(query, limit);
+    }
+
+    private static long postKey(int postId) {
+        return postId;
+    }
+
+    // Comments live above the post id range
+    private static long commentKey(int commentId) {
+        return (1L << 32) | commentId;
+    }
+
+    private static String postText(String content, String hashtags) {
+        return hashtags == null || hashtags.isEmpty() ? content : content + "\n" + hashtags;
+    }
+
+    public String describe() {
+        return String.format("PostSearchService{loaded=%s, docs=%d, segments=%d, merges=%d, searches=%d, lastLoad=%dms}",
+                loaded, index.liveDocs(), index.segmentCount(), index.mergeCount(), searches.sum(), lastLoadMillis);
+    }
+
+    public void shutdown() {
+        merger.shutdownNow();
+    }
+}
@@ -1,15 +1,39 @@
 package com.revconnectapp.service;
 
 import com.revconnectapp.dao.PostDAO;
+import com.revconnectapp.dao.PostStatsDAO;
+import com.revconnectapp.model.FeedCursor;
+import com.revconnectapp.model.FeedPage;
 import com.revconnectapp.model.Post;
-import java.util.List;
+import com.revconnectapp.model.PostStats;
+import com.revconnectapp.model.TrendingTag;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
 
 public class PostService {
-    private PostDAO postDAO = new PostDAO();
+    private PostDAO postDAO = AppContext.get().postDAO();
+    private PostStatsDAO postStatsDAO = AppContext.get().postStatsDAO();
+    private TimelineService timelineService = TimelineService.getInstance();
+    private LikeCounterService likeCounters = LikeCounterService.getInstance();
+    private LikeService likeService = AppContext.get().likeService();
+    private HashtagIndex hashtagIndex = HashtagIndex.getInstance(); // ✅ NEW: post_tags + tag index
+    private TrendingService trending = TrendingService.getInstance(); // ✅ NEW: sliding-window tag counts
+    private PostSearchService postSearch = PostSearchService.getInstance(); // ✅ NEW: full-text index
+    private ReadCoalescer coalescer = ReadCoalescer.getInstance(); // ✅ NEW: shares concurrent identical reads
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
     
     public void createPost(Post post) {
         postDAO.createPost(post);
+        timelineService.onPostCreated(post);
+        if (post.getId() > 0) {
+            List<String> tags = hashtagIndex.onPostSaved(post.getId(), post.getHashtags(), post.getContent());
+            trending.record(tags);
+            postSearch.onPostSaved(post.getId(), post.getContent(), post.getHashtags());
+        }
     }
     
     public List<Post> getUserFeed(int userId) {
@@ -17,10 +41,14 @@ public class PostService {
     }
     public void editPost(int postId, String content, String hashtags) {
         postDAO.editPost(postId, content, hashtags);
+        hashtagIndex.onPostSaved(postId, hashtags, content);
+        postSearch.onPostSaved(postId, content, hashtags);
     }
 
     public void deletePost(int postId) {
         postDAO.deletePost(postId);
+        hashtagIndex.onPostDeleted(postId);
+        postSearch.onPostDeleted(postId);
     }
 
     public List<Post> getConnectionsFeed(int userId) {
@@ -28,27 +56,78 @@ public class PostService {
     }
 
     public Post getPostById(int postId) {
-        return postDAO.getPostById(postId);
+        return coalescer.getPostById(postId);
+    }
+
+    // ✅ NEW: Author, like/comment counts and viewer flags for a whole page of posts
+    public Map<Integer, PostStats> getFeedStats(List<Post> posts, int viewerId) {
+        int[] postIds = new int[posts.size()];
+        for (int i = 0; i < postIds.length; i++) {
+            postIds[i] = posts.get(i).getId();
+        }
+        Map<Integer, PostStats> stats = postStatsDAO.loadStats(postIds, viewerId);
+        // Live counters are ahead of the flushed like_count column
+        for (PostStats s : stats.values()) {
+            int live = likeCounters.peekLikeCount(s.getPostId());
+            if (live >= 0) s.setLikeCount(live);
+        }
+        BitSet liked = likeService.likedBy(viewerId, postIds);
+        for (int i = 0; i < postIds.length; i++) {
+            PostStats s = stats.get(postIds[i]);
+            if (s != null) s.setLikedByViewer(liked.get(i));
+        }
+        return stats;
     }
      
- // In PostService.java
     public List<Post> getAllPublicPosts() {
-        // This should return all posts from database
-        // For now, get posts from all users
-        
-        List<Post> allPosts = new ArrayList<>();
-        
-        // You'll need to implement this properly in your PostDAO
-        // For now, you can combine posts from multiple users
-        
-        // Example: Get posts from first 20 users
-        for (int i = 1; i <= 20; i++) {
-            List<Post> userPosts = getUserFeed(i);
-            if (userPosts != null) {
-                allPosts.addAll(userPosts);
-            }
+        return getPublicFeed(null, DEFAULT_PAGE_SIZE).getPosts();
+    }
+
+    // ✅ NEW: Keyset-paged timelines - pass the previous page's next cursor, or null for the first page
+    public FeedPage getPublicFeed(FeedCursor after, int limit) {
+        return postDAO.getPublicFeed(after, limit);
+    }
+
+    public FeedPage getConnectionsFeed(int userId, FeedCursor after, int limit) {
+        return timelineService.getConnectionsFeed(userId, after, limit);
+    }
+
+    // ✅ NEW: Full-text search over post text and comments, best match first; null while the index loads
+    public List<Post> searchPosts(String query, int limit) {
+        int[] ids = postSearch.search(query, limit);
+        return ids == null ? null : postDAO.getPostsByIds(ids);
+    }
+
+    // ✅ NEW: Trending hashtags over the last hour / 24 hours, served from memory
+    public List<TrendingTag> getTrendingNow(int limit) {
+        return trending.getTrendingNow(limit);
+    }
+
+    public List<TrendingTag> getTrendingToday(int limit) {
+        return trending.getTrendingToday(limit);
+    }
+
+    // ✅ NEW: Posts tagged #tag, newest first; the cursor's post id is the page boundary
+    public FeedPage getPostsByTag(String tag, FeedCursor after, int limit) {
+        List<String> tags = new ArrayList<>();
+        tags.add(tag);
+        return searchByTags(tags, true, after, limit);
+    }
+
+    // ✅ NEW: Posts carrying all (matchAll) or any of the tags
+    public FeedPage searchByTags(List<String> tags, boolean matchAll, FeedCursor after, int limit) {
+        int beforeId = after != null ? after.getPostId() : Integer.MAX_VALUE;
+        int[] ids = hashtagIndex.findPosts(tags, matchAll, beforeId, limit + 1);
+        boolean more = ids.length > limit;
+        int[] pageIds = more ? Arrays.copyOf(ids, limit) : ids;
+        List<Post> posts = postDAO.getPostsByIds(pageIds);
+        FeedCursor next = null;
+        if (more && pageIds.length > 0) {
+            int lastId = pageIds[pageIds.length - 1];
+            Post last = posts.isEmpty() ? null : posts.get(posts.size() - 1);
+            String createdAt = last != null ? last.getCreatedAt() : null;
+            next = new FeedCursor(TimelineService.parseTimestamp(createdAt), lastId);
         }
-        
-        return allPosts;
+        return new FeedPage(posts, next);
     }
 }
@@ -2,21 +2,42 @@ package com.revconnectapp.service;
 
 import com.revconnectapp.dao.ProfileDAO;
 import com.revconnectapp.model.Profile;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ProfileService {
-    private final ProfileDAO profileDAO = new ProfileDAO();
+    private final ProfileDAO profileDAO = AppContext.get().profileDAO();
+    private final UserSearchIndex searchIndex = UserSearchIndex.getInstance();
+    private static final int SEARCH_LIMIT = 50;
 
     public Profile createOrUpdate(Profile profile) {
-        return profileDAO.createOrUpdate(profile);
+        Profile saved = profileDAO.createOrUpdate(profile);
+        searchIndex.onProfileUpdated(saved.getUserId(), saved.getName(), saved.getLocation());
+        return saved;
     }
 
     public Profile getProfile(int userId) {
         return profileDAO.getByUserId(userId);
     }
 
+    // Ranked by the search index; users matched only by username but without a profile are skipped
     public List<Profile> searchProfiles(String query) {
-        return profileDAO.searchProfiles(query);
+        int[] userIds = searchIndex.searchProfiles(query, SEARCH_LIMIT);
+        if (userIds == null) {
+            return profileDAO.searchProfiles(query);
+        }
+        Map<Integer, Profile> byUser = new HashMap<>();
+        for (Profile profile : profileDAO.getByUserIds(userIds)) {
+            byUser.put(profile.getUserId(), profile);
+        }
+        List<Profile> ordered = new ArrayList<>(byUser.size());
+        for (int userId : userIds) {
+            Profile profile = byUser.get(userId);
+            if (profile != null) ordered.add(profile);
+        }
+        return ordered;
     }
 
     public int getUnreadCount(int userId) {
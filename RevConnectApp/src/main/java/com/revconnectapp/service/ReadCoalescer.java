@@ -0,0 +1,68 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.FollowDAO;
+import com.revconnectapp.dao.LikeDAO;
+import com.revconnectapp.dao.PostDAO;
+import com.revconnectapp.model.Post;
+import com.revconnectapp.util.SingleFlight;
+
+/**
+ * Single-flight front for the reads that spike together when a popular post
+ * goes out: the post itself, its like count and its author's follower count.
+ * Sessions asking for the same key at the same moment share one query and
+ * its result (see {@link SingleFlight}).
+ *
+ * The caches still decide what is kept: {@link LikeCounterService} seeds
+ * missing counters through here, so a miss storm on one post costs one
+ * {@code COUNT(*)}, and callers reading around a cache use it the same way.
+ */
+public class ReadCoalescer {
+
+    private final PostDAO postDAO = AppContext.get().postDAO();
+    private final LikeDAO likeDAO = AppContext.get().likeDAO();
+    private final FollowDAO followDAO = AppContext.get().followDAO();
+
+    // How long a caller waits on someone else's query before running its own
+    private final long timeoutMillis = Long.getLong("revconnect.coalesce.timeoutMs", 2_000L);
+
+    // Posts are mutable, so each waiting caller gets its own copy
+    private final SingleFlight<Integer, Post> posts = new SingleFlight<>(timeoutMillis, ReadCoalescer::copy);
+    private final SingleFlight<Integer, Integer> likeCounts = new SingleFlight<>(timeoutMillis);
+    private final SingleFlight<Integer, Integer> followerCounts = new SingleFlight<>(timeoutMillis);
+
+    ReadCoalescer() {}
+
+    public static ReadCoalescer getInstance() {
+        return AppContext.get().readCoalescer();
+    }
+
+    public Post getPostById(int postId) {
+        return posts.get(postId, () -> postDAO.getPostById(postId));
+    }
+
+    public int getLikeCount(int postId) {
+        return likeCounts.get(postId, () -> likeDAO.getLikeCount(postId));
+    }
+
+    public int getFollowerCount(int userId) {
+        return followerCounts.get(userId, () -> followDAO.getFollowerCount(userId));
+    }
+
+    private static Post copy(Post post) {
+        Post c = new Post();
+        c.setId(post.getId());
+        c.setUserId(post.getUserId());
+        c.setContent(post.getContent());
+        c.setHashtags(post.getHashtags());
+        c.setPromotional(post.isPromotional());
+        c.setPinned(post.isPinned());
+        c.setCreatedAt(post.getCreatedAt());
+        c.setUsername(post.getUsername());
+        return c;
+    }
+
+    public String describe() {
+        return "ReadCoalescer{posts[" + posts + "], likeCounts[" + likeCounts
+                + "], followerCounts[" + followerCounts + "]}";
+    }
+}
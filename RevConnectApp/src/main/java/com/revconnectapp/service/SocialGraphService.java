@@ -0,0 +1,293 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.ConnectionDAO;
+import com.revconnectapp.dao.FollowDAO;
+import com.revconnectapp.dao.UserDAO;
+import com.revconnectapp.util.CsrGraph;
+import com.revconnectapp.util.DynamicGraph;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.IntSets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory copy of the social graph: accepted connections and connection
+ * requests of any status (undirected), following and followers (directed),
+ * each held as a CSR adjacency array with a small edit overlay, plus every
+ * user's account type.
+ *
+ * The graph is loaded from the database by {@link #start()} and kept current
+ * by the connection and follow services. Until the first load completes,
+ * {@link #isLoaded()} is false and callers should ask the DAOs instead.
+ */
+public class SocialGraphService {
+
+    private final ConnectionDAO connectionDAO = AppContext.get().connectionDAO();
+    private final FollowDAO followDAO = AppContext.get().followDAO();
+    private final UserDAO userDAO = AppContext.get().userDAO();
+
+    private final DynamicGraph connections = new DynamicGraph(true);
+    // Any connections row between two users, whatever its status
+    private final DynamicGraph requests = new DynamicGraph(true);
+    private final DynamicGraph following = new DynamicGraph(false);
+    private final DynamicGraph followers = new DynamicGraph(false);
+
+    // Indexed by user id: 0 unknown, else USER_TYPES index + 1
+    private static final String[] USER_TYPES = {"PERSONAL", "CREATOR", "BUSINESS"};
+    private volatile byte[] userTypes = new byte[0];
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean loaded;
+    private volatile long lastLoadMillis;
+
+    /** Notified after each edge change and after every full reload. */
+    public interface Listener {
+        void connectionChanged(int userId1, int userId2);
+
+        void followChanged(int followerId, int followedId);
+
+        void graphReloaded();
+    }
+
+    SocialGraphService() {}
+
+    public static SocialGraphService getInstance() {
+        return AppContext.get().socialGraphService();
+    }
+
+    /** Loads the graph on a background thread so startup is not blocked on MySQL. */
+    public void start() {
+        Thread loader = new Thread(this::rebuild, "revconnect-graph-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /** Reloads all relations from the database. Returns false if the load failed. */
+    public synchronized boolean rebuild() {
+        long started = System.currentTimeMillis();
+        connections.beginReload();
+        requests.beginReload();
+        following.beginReload();
+        followers.beginReload();
+
+        IntList user1 = new IntList(1024), user2 = new IntList(1024), accepted = new IntList(1024);
+        IntList follower = new IntList(1024), followed = new IntList(1024);
+        IntList userIds = new IntList(1024);
+        List<String> types = new ArrayList<>();
+        boolean ok = connectionDAO.loadConnectionEdges(user1, user2, accepted)
+                && followDAO.loadFollowEdges(follower, followed)
+                && userDAO.loadUserTypes(userIds, types);
+        if (!ok) {
+            connections.abortReload();
+            requests.abortReload();
+            following.abortReload();
+            followers.abortReload();
+            return false;
+        }
+
+        IntList accepted1 = new IntList(user1.size()), accepted2 = new IntList(user1.size());
+        for (int i = 0; i < user1.size(); i++) {
+            if (accepted.get(i) == 1) {
+                accepted1.add(user1.get(i));
+                accepted2.add(user2.get(i));
+            }
+        }
+        loadUserTypes(userIds, types);
+        connections.finishReload(CsrGraph.fromEdges(accepted1.rawArray(), accepted2.rawArray(), accepted1.size(), true));
+        requests.finishReload(CsrGraph.fromEdges(user1.rawArray(), user2.rawArray(), user1.size(), true));
+        following.finishReload(CsrGraph.fromEdges(follower.rawArray(), followed.rawArray(), follower.size(), false));
+        followers.finishReload(CsrGraph.fromEdges(followed.rawArray(), follower.rawArray(), follower.size(), false));
+
+        lastLoadMillis = System.currentTimeMillis() - started;
+        loaded = true;
+        for (Listener listener : listeners) {
+            listener.graphReloaded();
+        }
+        return true;
+    }
+
+    private synchronized void loadUserTypes(IntList ids, List<String> types) {
+        int maxId = 0;
+        for (int i = 0; i < ids.size(); i++) maxId = Math.max(maxId, ids.get(i));
+        byte[] fresh = new byte[Math.max(maxId + 1, userTypes.length)];
+        for (int i = 0; i < ids.size(); i++) {
+            fresh[ids.get(i)] = typeCode(types.get(i));
+        }
+        // Users registered while loading keep their entries
+        byte[] current = userTypes;
+        for (int id = 0; id < current.length; id++) {
+            if (current[id] != 0) fresh[id] = current[id];
+        }
+        userTypes = fresh;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // ===== Incremental updates =====
+
+    public synchronized void onUserRegistered(int userId, String userType) {
+        byte[] current = userTypes;
+        byte[] next = userId < current.length ? current.clone()
+                : Arrays.copyOf(current, Math.max(userId + 1, current.length * 2));
+        next[userId] = typeCode(userType);
+        userTypes = next;
+    }
+
+    public void onConnectionRequested(int fromUserId, int toUserId) {
+        requests.addEdge(fromUserId, toUserId);
+    }
+
+    /** The connections row was deleted (cancelled request or removed connection). */
+    public void onConnectionDeleted(int userId1, int userId2) {
+        requests.removeEdge(userId1, userId2);
+        if (connections.removeEdge(userId1, userId2)) {
+            fireConnectionChanged(userId1, userId2);
+        }
+    }
+
+    public void onConnectionAccepted(int userId1, int userId2) {
+        requests.addEdge(userId1, userId2);
+        if (connections.addEdge(userId1, userId2)) {
+            fireConnectionChanged(userId1, userId2);
+        }
+    }
+
+    public void onConnectionRemoved(int userId1, int userId2) {
+        onConnectionDeleted(userId1, userId2);
+    }
+
+    public void onFollow(int followerId, int followedId) {
+        following.addEdge(followerId, followedId);
+        followers.addEdge(followedId, followerId);
+        fireFollowChanged(followerId, followedId);
+    }
+
+    public void onUnfollow(int followerId, int followedId) {
+        following.removeEdge(followerId, followedId);
+        followers.removeEdge(followedId, followerId);
+        fireFollowChanged(followerId, followedId);
+    }
+
+    private void fireConnectionChanged(int userId1, int userId2) {
+        for (Listener listener : listeners) {
+            listener.connectionChanged(userId1, userId2);
+        }
+    }
+
+    private void fireFollowChanged(int followerId, int followedId) {
+        for (Listener listener : listeners) {
+            listener.followChanged(followerId, followedId);
+        }
+    }
+
+    // ===== Queries =====
+
+    public boolean areConnected(int userId1, int userId2) {
+        return connections.hasEdge(userId1, userId2);
+    }
+
+    public int getConnectionCount(int userId) {
+        return connections.degree(userId);
+    }
+
+    /** True if any connections row (pending, accepted or rejected) links the two users. */
+    public boolean hasConnectionRow(int userId1, int userId2) {
+        return requests.hasEdge(userId1, userId2);
+    }
+
+    /** Account type, or null if the user is unknown to the graph. */
+    public String getUserType(int userId) {
+        byte[] types = userTypes;
+        if (userId < 0 || userId >= types.length || types[userId] == 0) return null;
+        return USER_TYPES[types[userId] - 1];
+    }
+
+    /** Highest user id seen + 1. */
+    public int getUserIdBound() {
+        return userTypes.length;
+    }
+
+    /** Sorted ids of userId's accepted connections. */
+    public int[] getConnectionIds(int userId) {
+        return connections.neighbors(userId);
+    }
+
+    public boolean isFollowing(int followerId, int followedId) {
+        return following.hasEdge(followerId, followedId);
+    }
+
+    public int getFollowerCount(int userId) {
+        return followers.degree(userId);
+    }
+
+    public int getFollowingCount(int userId) {
+        return following.degree(userId);
+    }
+
+    /** Sorted ids of the users following userId. */
+    public int[] getFollowerIds(int userId) {
+        return followers.neighbors(userId);
+    }
+
+    /** Sorted ids of the users userId follows. */
+    public int[] getFollowingIds(int userId) {
+        return following.neighbors(userId);
+    }
+
+    // ===== Mutual neighbours =====
+
+    /**
+     * Mutual-connection counts between userId and each of otherIds, aligned
+     * with otherIds. userId's row is fetched once and intersected with each
+     * other row by merge or galloping search.
+     */
+    public int[] getMutualConnectionCounts(int userId, int[] otherIds) {
+        int[] mine = connections.neighbors(userId);
+        int[] counts = new int[otherIds.length];
+        for (int i = 0; i < otherIds.length; i++) {
+            counts[i] = IntSets.intersectionSize(mine, connections.neighbors(otherIds[i]));
+        }
+        return counts;
+    }
+
+    /** Sorted ids of the users connected to both users. */
+    public int[] getMutualConnectionIds(int userId1, int userId2) {
+        return IntSets.intersect(connections.neighbors(userId1), connections.neighbors(userId2));
+    }
+
+    /** Sorted ids of the users following both users (never the two users themselves). */
+    public int[] getMutualFollowerIds(int userId1, int userId2) {
+        int[] common = IntSets.intersect(followers.neighbors(userId1), followers.neighbors(userId2));
+        int[] self = userId1 < userId2 ? new int[]{userId1, userId2} : new int[]{userId2, userId1};
+        return IntSets.difference(common, self);
+    }
+
+    public long memoryBytes() {
+        return connections.memoryBytes() + requests.memoryBytes()
+                + following.memoryBytes() + followers.memoryBytes() + userTypes.length;
+    }
+
+    private static byte typeCode(String userType) {
+        for (int i = 0; i < USER_TYPES.length; i++) {
+            if (USER_TYPES[i].equals(userType)) return (byte) (i + 1);
+        }
+        return 0;
+    }
+
+    public String describe() {
+        return String.format("SocialGraph{loaded=%s, connections=%d, follows=%d, overlay=%d, memory=%.1fKB, lastLoad=%dms}",
+                loaded, connections.edgeCount() / 2, following.edgeCount(),
+                connections.overlaySize() + requests.overlaySize() + following.overlaySize() + followers.overlaySize(),
+                memoryBytes() / 1024.0, lastLoadMillis);
+    }
+}
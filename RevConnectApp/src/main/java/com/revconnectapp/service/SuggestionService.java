@@ -0,0 +1,333 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.TopK;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Precomputed "people you may know" and "who to follow" lists, built from the
+ * in-memory {@link SocialGraphService} instead of self-joins on MySQL.
+ *
+ * Connection suggestions are friends of friends ranked by mutual connection
+ * count; follow suggestions are accounts followed by the user's followers,
+ * ranked by how many of them follow it. After every graph load all users are
+ * scored in a fork-join batch. Afterwards each edge change marks only the users
+ * whose two-hop neighbourhood it touched, and a background refresher rescores
+ * them. Users with no stored result yet (new accounts) are scored on demand.
+ *
+ * Until the first batch completes {@link #isReady()} is false and callers
+ * should fall back to the DAOs.
+ */
+public class SuggestionService implements SocialGraphService.Listener {
+
+    // Callers show 10; the extra slack absorbs requests sent since the last refresh
+    private static final int SHOWN = 10;
+    private static final int STORED = 20;
+    // Batch slices smaller than this run on one worker
+    private static final int SLICE = 256;
+
+    private final SocialGraphService graph = SocialGraphService.getInstance();
+    private final int parallelism = Integer.getInteger("revconnect.suggest.parallelism",
+            Runtime.getRuntime().availableProcessors());
+    private final long refreshMillis = Long.getLong("revconnect.suggest.refreshMillis", 1000L);
+
+    private final ConcurrentHashMap<Integer, Ranked> connectionSuggestions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Ranked> followSuggestions = new ConcurrentHashMap<>();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private final AtomicBoolean batchRunning = new AtomicBoolean();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean ready;
+
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService refresher;
+
+    private final LongAdder usersScored = new LongAdder();
+    private final LongAdder incrementalRefreshes = new LongAdder();
+    private final LongAdder onDemandScores = new LongAdder();
+    private volatile long lastBatchMillis;
+    private volatile int lastBatchUsers;
+
+    /** Ranked suggestion ids with their scores (mutual connections or followers). */
+    public static final class Ranked {
+        private static final Ranked EMPTY = new Ranked(new int[0], new int[0]);
+
+        private final int[] ids;
+        private final int[] scores;
+
+        Ranked(int[] ids, int[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        public int[] getIds() { return ids.clone(); }
+        public int[] getScores() { return scores.clone(); }
+        public int size() { return ids.length; }
+    }
+
+    private static final class Scratch {
+        int[] counts = new int[0];
+        final IntList touched = new IntList(256);
+        final TopK top = new TopK(STORED);
+
+        void ensure(int bound) {
+            if (counts.length < bound) {
+                counts = Arrays.copyOf(counts, Math.max(bound, counts.length * 2));
+            }
+        }
+    }
+
+    SuggestionService() {
+        pool = new ForkJoinPool(Math.max(1, parallelism), p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("revconnect-suggest-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revconnect-suggest-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static SuggestionService getInstance() {
+        return AppContext.get().suggestionService();
+    }
+
+    /** Subscribes to graph changes; call before {@link SocialGraphService#start()}. */
+    public void start() {
+        if (!started.compareAndSet(false, true)) return;
+        graph.addListener(this);
+        refresher.scheduleWithFixedDelay(this::refreshDirty, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        if (graph.isLoaded()) {
+            graphReloaded();
+        }
+    }
+
+    public boolean isReady() {
+        return ready && graph.isLoaded();
+    }
+
+    /** Ranked friend-of-friend ids for a personal user, or null if not ready. */
+    public int[] getConnectionSuggestionIds(int userId) {
+        Ranked ranked = getConnectionSuggestions(userId);
+        if (ranked == null) return null;
+        IntList ids = new IntList(SHOWN);
+        for (int i = 0; i < ranked.ids.length && ids.size() < SHOWN; i++) {
+            // Requests sent since the last refresh are excluded here rather than waiting for it
+            if (!graph.hasConnectionRow(userId, ranked.ids[i])) ids.add(ranked.ids[i]);
+        }
+        return ids.toArray();
+    }
+
+    /** Ranked ids of accounts the user's followers follow, or null if not ready. */
+    public int[] getFollowSuggestionIds(int userId) {
+        Ranked ranked = getFollowSuggestions(userId);
+        if (ranked == null) return null;
+        IntList ids = new IntList(SHOWN);
+        for (int i = 0; i < ranked.ids.length && ids.size() < SHOWN; i++) {
+            if (!graph.isFollowing(userId, ranked.ids[i])) ids.add(ranked.ids[i]);
+        }
+        return ids.toArray();
+    }
+
+    public Ranked getConnectionSuggestions(int userId) {
+        if (!isReady()) return null;
+        Ranked ranked = connectionSuggestions.get(userId);
+        if (ranked == null) {
+            onDemandScores.increment();
+            ranked = scoreConnections(userId);
+            connectionSuggestions.put(userId, ranked);
+        }
+        return ranked;
+    }
+
+    public Ranked getFollowSuggestions(int userId) {
+        if (!isReady()) return null;
+        Ranked ranked = followSuggestions.get(userId);
+        if (ranked == null) {
+            onDemandScores.increment();
+            ranked = scoreFollows(userId);
+            followSuggestions.put(userId, ranked);
+        }
+        return ranked;
+    }
+
+    // ---- SocialGraphService.Listener ----
+
+    @Override
+    public void connectionChanged(int userId1, int userId2) {
+        // Friend-of-friend counts change for both ends and everyone connected to either
+        dirty.add(userId1);
+        dirty.add(userId2);
+        for (int id : graph.getConnectionIds(userId1)) dirty.add(id);
+        for (int id : graph.getConnectionIds(userId2)) dirty.add(id);
+    }
+
+    @Override
+    public void followChanged(int followerId, int followedId) {
+        // The followed account gained or lost a follower whose follows it now ranks,
+        // and everyone the follower follows now counts (or no longer counts) followedId
+        dirty.add(followerId);
+        dirty.add(followedId);
+        for (int id : graph.getFollowingIds(followerId)) dirty.add(id);
+    }
+
+    @Override
+    public void graphReloaded() {
+        pool.execute(this::runFullBatch);
+    }
+
+    /** Scores every known user in parallel. Returns the number of users scored. */
+    public int runFullBatch() {
+        if (!batchRunning.compareAndSet(false, true)) return 0;
+        try {
+            long started = System.currentTimeMillis();
+            int bound = graph.getUserIdBound();
+            IntList ids = new IntList(bound);
+            for (int id = 1; id < bound; id++) {
+                if (graph.getUserType(id) != null) ids.add(id);
+            }
+            pool.invoke(new ScoreSlice(ids.rawArray(), 0, ids.size()));
+            lastBatchUsers = ids.size();
+            lastBatchMillis = System.currentTimeMillis() - started;
+            ready = true;
+            return ids.size();
+        } finally {
+            batchRunning.set(false);
+        }
+    }
+
+    // Users edited during a batch stay dirty, so the batch can't leave them stale
+    private void refreshDirty() {
+        if (!ready || batchRunning.get() || dirty.isEmpty()) return;
+        try {
+            IntList ids = new IntList(Math.max(16, dirty.size()));
+            for (Iterator<Integer> it = dirty.iterator(); it.hasNext(); ) {
+                ids.add(it.next());
+                it.remove();
+            }
+            incrementalRefreshes.add(ids.size());
+            if (ids.size() > SLICE) {
+                pool.invoke(new ScoreSlice(ids.rawArray(), 0, ids.size()));
+            } else {
+                for (int i = 0; i < ids.size(); i++) score(ids.get(i));
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive; the next change re-marks affected users
+            e.printStackTrace();
+        }
+    }
+
+    private final class ScoreSlice extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        ScoreSlice(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SLICE) {
+                for (int i = from; i < to; i++) score(ids[i]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreSlice(ids, from, mid), new ScoreSlice(ids, mid, to));
+        }
+    }
+
+    private void score(int userId) {
+        if ("PERSONAL".equals(graph.getUserType(userId))) {
+            connectionSuggestions.put(userId, scoreConnections(userId));
+        } else {
+            connectionSuggestions.remove(userId);
+        }
+        followSuggestions.put(userId, scoreFollows(userId));
+        usersScored.increment();
+    }
+
+    private Ranked scoreConnections(int userId) {
+        if (!"PERSONAL".equals(graph.getUserType(userId))) return Ranked.EMPTY;
+        Scratch s = scratch.get();
+        s.ensure(graph.getUserIdBound());
+        for (int friend : graph.getConnectionIds(userId)) {
+            for (int candidate : graph.getConnectionIds(friend)) {
+                if (candidate != userId) count(s, candidate);
+            }
+        }
+        for (int i = 0; i < s.touched.size(); i++) {
+            int candidate = s.touched.get(i);
+            if (!graph.hasConnectionRow(userId, candidate)
+                    && "PERSONAL".equals(graph.getUserType(candidate))) {
+                s.top.offer(candidate, s.counts[candidate]);
+            }
+        }
+        return collect(s);
+    }
+
+    private Ranked scoreFollows(int userId) {
+        Scratch s = scratch.get();
+        s.ensure(graph.getUserIdBound());
+        for (int follower : graph.getFollowerIds(userId)) {
+            for (int candidate : graph.getFollowingIds(follower)) {
+                if (candidate != userId) count(s, candidate);
+            }
+        }
+        for (int i = 0; i < s.touched.size(); i++) {
+            int candidate = s.touched.get(i);
+            if (!graph.isFollowing(userId, candidate)) {
+                s.top.offer(candidate, s.counts[candidate]);
+            }
+        }
+        return collect(s);
+    }
+
+    private static void count(Scratch s, int candidate) {
+        // Ids registered after the scratch was sized
+        if (candidate >= s.counts.length) s.ensure(candidate + 1);
+        if (s.counts[candidate]++ == 0) s.touched.add(candidate);
+    }
+
+    private static Ranked collect(Scratch s) {
+        for (int i = 0; i < s.touched.size(); i++) {
+            s.counts[s.touched.get(i)] = 0;
+        }
+        s.touched.clear();
+        Ranked ranked = s.top.size() == 0 ? Ranked.EMPTY : new Ranked(s.top.ids(), s.top.scores());
+        s.top.clear();
+        return ranked;
+    }
+
+    public String describe() {
+        return String.format("SuggestionService{ready=%s, users=%d, lastBatch=%dms/%d users, " +
+                        "scored=%d, incremental=%d, onDemand=%d, dirty=%d, parallelism=%d}",
+                ready, followSuggestions.size(), lastBatchMillis, lastBatchUsers,
+                usersScored.sum(), incrementalRefreshes.sum(), onDemandScores.sum(),
+                dirty.size(), pool.getParallelism());
+    }
+
+    public void shutdown() {
+        refresher.shutdownNow();
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,250 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.PostDAO;
+import com.revconnectapp.model.FeedCursor;
+import com.revconnectapp.model.FeedPage;
+import com.revconnectapp.model.Post;
+import com.revconnectapp.model.User;
+import com.revconnectapp.util.LongRingBuffer;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional fan-out-on-write cache for the connections feed
+ * (enable with -Drevconnect.timeline.fanout=true).
+ *
+ * Each user who has opened their feed gets a bounded ring of recent timeline
+ * entries, each packing (post id, author id) into one long. New posts are
+ * pushed into the rings of the author's followers and connections on a
+ * background thread. CREATOR accounts are not fanned out; their posts are
+ * fetched at read time and merged in, so one popular post does not touch
+ * thousands of rings.
+ *
+ * Pages are keyed by post id, which grows with created_at. When a reader
+ * pages past what the ring holds, the feed falls back to the SQL timeline.
+ */
+public class TimelineService {
+
+    private final PostDAO postDAO = AppContext.get().postDAO();
+    private final UserCache userCache = UserCache.getInstance();
+
+    private final boolean enabled = Boolean.getBoolean("revconnect.timeline.fanout");
+    private final int capacity = Integer.getInteger("revconnect.timeline.capacity", 500);
+
+    private final ConcurrentHashMap<Integer, Timeline> timelines = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor fanoutExecutor;
+
+    // Metrics
+    private final LongAdder postsFannedOut = new LongAdder();
+    private final LongAdder deliveries = new LongAdder();
+    private final LongAdder readOnPost = new LongAdder();
+    private final LongAdder cacheReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+    private final AtomicLong totalLagNanos = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    TimelineService() {
+        fanoutExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(10_000), r -> {
+                    Thread t = new Thread(r, "revconnect-timeline-fanout");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public static TimelineService getInstance() {
+        return AppContext.get().timelineService();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Schedules delivery of a freshly created post. The post must carry its generated id. */
+    public void onPostCreated(Post post) {
+        if (!enabled || post.getId() <= 0) return;
+        long createdNanos = System.nanoTime();
+        fanoutExecutor.execute(() -> fanOut(post.getId(), post.getUserId(), createdNanos));
+    }
+
+    private void fanOut(int postId, int authorId, long createdNanos) {
+        User author = userCache.getById(authorId);
+        if (author != null && "CREATOR".equals(author.getUserType())) {
+            // Read-time merge picks these up
+            readOnPost.increment();
+            return;
+        }
+
+        long entry = pack(postId, authorId);
+        deliver(authorId, entry);
+        for (int recipient : postDAO.getFanoutRecipients(authorId)) {
+            deliver(recipient, entry);
+        }
+        postsFannedOut.increment();
+
+        long lag = System.nanoTime() - createdNanos;
+        totalLagNanos.addAndGet(lag);
+        maxLagNanos.accumulateAndGet(lag, Math::max);
+    }
+
+    private void deliver(int userId, long entry) {
+        // Only users with a materialised ring; everyone else is built on first read
+        Timeline timeline = timelines.get(userId);
+        if (timeline != null) {
+            timeline.entries.push(entry);
+            deliveries.increment();
+        }
+    }
+
+    /**
+     * Drops a user's cached ring so it is rebuilt on their next read. Call when
+     * the set of people they see changes (follow, unfollow, connect, disconnect).
+     */
+    public void invalidate(int userId) {
+        timelines.remove(userId);
+    }
+
+    public FeedPage getConnectionsFeed(int userId, FeedCursor after, int limit) {
+        if (!enabled) {
+            return postDAO.getConnectionsFeed(userId, after, limit);
+        }
+
+        Timeline timeline = timelineFor(userId);
+        int before = after != null ? after.getPostId() : Integer.MAX_VALUE;
+
+        long[] cached = new long[limit + 1];
+        int n = timeline.entries.readBefore(pack(before, 0), cached);
+        if (n <= limit && timeline.entries.isFull()) {
+            // Ring may have evicted older posts we would need - let SQL serve this page
+            fallbackReads.increment();
+            return postDAO.getConnectionsFeed(userId, after, limit);
+        }
+        cacheReads.increment();
+
+        List<int[]> creatorPosts = postDAO.getTimelineEntries(userId, true, before, limit + 1);
+
+        // Merge two id-descending lists
+        int[] ids = new int[limit + 1];
+        int count = 0, i = 0, j = 0;
+        while (count < ids.length && (i < n || j < creatorPosts.size())) {
+            int fromCache = i < n ? postIdOf(cached[i]) : Integer.MIN_VALUE;
+            int fromCreators = j < creatorPosts.size() ? creatorPosts.get(j)[0] : Integer.MIN_VALUE;
+            if (fromCache >= fromCreators) {
+                ids[count++] = fromCache;
+                i++;
+                if (fromCache == fromCreators) j++;
+            } else {
+                ids[count++] = fromCreators;
+                j++;
+            }
+        }
+
+        boolean hasMore = count > limit;
+        int[] pageIds = new int[Math.min(count, limit)];
+        System.arraycopy(ids, 0, pageIds, 0, pageIds.length);
+        List<Post> posts = postDAO.getPostsByIds(pageIds);
+
+        FeedCursor next = null;
+        if (hasMore && !posts.isEmpty()) {
+            Post last = posts.get(posts.size() - 1);
+            next = new FeedCursor(parseTimestamp(last.getCreatedAt()), pageIds[pageIds.length - 1]);
+        }
+        return new FeedPage(posts, next);
+    }
+
+    private Timeline timelineFor(int userId) {
+        Timeline timeline = timelines.get(userId);
+        if (timeline != null && timeline.warm) {
+            return timeline;
+        }
+        if (timeline == null) {
+            Timeline fresh = new Timeline(capacity);
+            timeline = timelines.putIfAbsent(userId, fresh);
+            if (timeline == null) {
+                timeline = fresh;
+            }
+        }
+        synchronized (timeline) {
+            if (!timeline.warm) {
+                warm(userId, timeline);
+            }
+        }
+        return timeline;
+    }
+
+    // The ring is published before loading so fan-outs racing with the load are kept
+    private void warm(int userId, Timeline timeline) {
+        List<int[]> recent = postDAO.getTimelineEntries(userId, false, Integer.MAX_VALUE, capacity);
+        LongRingBuffer entries = timeline.entries;
+        synchronized (entries) {
+            long[] racing = entries.toArray();
+            entries.clear();
+            for (int k = recent.size() - 1; k >= 0; k--) {
+                entries.push(pack(recent.get(k)[0], recent.get(k)[1]));
+            }
+            long newest = recent.isEmpty() ? Long.MIN_VALUE : pack(recent.get(0)[0], recent.get(0)[1]);
+            for (int k = racing.length - 1; k >= 0; k--) {
+                if (racing[k] > newest) entries.push(racing[k]);
+            }
+        }
+        timeline.warm = true;
+    }
+
+    public TimelineStats getStats() {
+        long rings = 0, entries = 0, bytes = 0;
+        for (Timeline timeline : timelines.values()) {
+            rings++;
+            entries += timeline.entries.size();
+            // long[] payload plus object headers and ring bookkeeping
+            bytes += 8L * timeline.entries.capacity() + 64;
+        }
+        long fanned = postsFannedOut.sum();
+        return new TimelineStats(enabled, rings, entries, bytes, fanned, deliveries.sum(),
+                readOnPost.sum(), fanoutExecutor.getQueue().size(),
+                fanned == 0 ? 0 : totalLagNanos.get() / fanned, maxLagNanos.get(),
+                cacheReads.sum(), fallbackReads.sum());
+    }
+
+    public void shutdown() {
+        fanoutExecutor.shutdown();
+        try {
+            fanoutExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static long pack(int postId, int authorId) {
+        return ((long) postId << 32) | (authorId & 0xFFFFFFFFL);
+    }
+
+    static int postIdOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    static Timestamp parseTimestamp(String createdAt) {
+        try {
+            return Timestamp.valueOf(createdAt);
+        } catch (RuntimeException e) {
+            return new Timestamp(System.currentTimeMillis());
+        }
+    }
+
+    private static final class Timeline {
+        final LongRingBuffer entries;
+        volatile boolean warm;
+
+        Timeline(int capacity) {
+            this.entries = new LongRingBuffer(capacity);
+        }
+    }
+}
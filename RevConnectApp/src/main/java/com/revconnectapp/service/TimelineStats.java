@@ -0,0 +1,61 @@
+package com.revconnectapp.service;
+
+/**
+ * Point-in-time snapshot of {@link TimelineService} size and fan-out health.
+ */
+public class TimelineStats {
+    private final boolean enabled;
+    private final long timelines;
+    private final long entries;
+    private final long memoryBytes;
+    private final long postsFannedOut;
+    private final long deliveries;
+    private final long readOnPostPosts;
+    private final int pendingFanouts;
+    private final long avgFanoutLagNanos;
+    private final long maxFanoutLagNanos;
+    private final long cacheReads;
+    private final long fallbackReads;
+
+    public TimelineStats(boolean enabled, long timelines, long entries, long memoryBytes,
+                         long postsFannedOut, long deliveries, long readOnPostPosts, int pendingFanouts,
+                         long avgFanoutLagNanos, long maxFanoutLagNanos,
+                         long cacheReads, long fallbackReads) {
+        this.enabled = enabled;
+        this.timelines = timelines;
+        this.entries = entries;
+        this.memoryBytes = memoryBytes;
+        this.postsFannedOut = postsFannedOut;
+        this.deliveries = deliveries;
+        this.readOnPostPosts = readOnPostPosts;
+        this.pendingFanouts = pendingFanouts;
+        this.avgFanoutLagNanos = avgFanoutLagNanos;
+        this.maxFanoutLagNanos = maxFanoutLagNanos;
+        this.cacheReads = cacheReads;
+        this.fallbackReads = fallbackReads;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public long getTimelines() { return timelines; }
+    public long getEntries() { return entries; }
+    public long getMemoryBytes() { return memoryBytes; }
+    public long getPostsFannedOut() { return postsFannedOut; }
+    public long getDeliveries() { return deliveries; }
+    public long getReadOnPostPosts() { return readOnPostPosts; }
+    public int getPendingFanouts() { return pendingFanouts; }
+    public long getAvgFanoutLagNanos() { return avgFanoutLagNanos; }
+    public long getMaxFanoutLagNanos() { return maxFanoutLagNanos; }
+    public long getCacheReads() { return cacheReads; }
+    public long getFallbackReads() { return fallbackReads; }
+
+    @Override
+    public String toString() {
+        return String.format("TimelineStats{enabled=%s, timelines=%d, entries=%d, memory=%.1fKB, " +
+                        "fannedOut=%d, deliveries=%d, readOnPost=%d, pending=%d, " +
+                        "avgLag=%.3fms, maxLag=%.3fms, cacheReads=%d, fallbackReads=%d}",
+                enabled, timelines, entries, memoryBytes / 1024.0,
+                postsFannedOut, deliveries, readOnPostPosts, pendingFanouts,
+                avgFanoutLagNanos / 1_000_000.0, maxFanoutLagNanos / 1_000_000.0,
+                cacheReads, fallbackReads);
+    }
+}
@@ -0,0 +1,259 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.PostTagDAO;
+import com.revconnectapp.model.TrendingTag;
+import com.revconnectapp.util.CountMinSketch;
+import com.revconnectapp.util.IntList;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trending hashtags over the last hour ("now") and the last 24 hours
+ * ("today"), fed by post creation.
+ *
+ * Counts live in {@link CountMinSketch}es, so any number of distinct tags
+ * fits in fixed memory: 60 one-minute sketches and 24 one-hour sketches in
+ * circular arrays, plus a running sum for each window. Recording a tag is a
+ * handful of atomic adds with no lock. Once a minute (or hour) ends, the
+ * bucket falling out of the window is subtracted from the running sum and
+ * cleared for reuse.
+ *
+ * A tag whose windowed estimate reaches the current top-K floor becomes a
+ * candidate. Every refresh ranks the candidates with a bounded heap and
+ * publishes immutable lists, so reading "trending now / today" is O(K) and
+ * never touches MySQL. Minute rotation, refresh and the startup warm-up from
+ * {@code post_tags} all run on one scheduler thread, so only that thread ever
+ * clears a bucket.
+ */
+public class TrendingService {
+
+    private static final int MINUTES = 60;
+    private static final int HOURS = 24;
+
+    private final PostTagDAO postTagDAO = AppContext.get().postTagDAO();
+
+    private final int sketchWidth = Integer.getInteger("revconnect.trending.sketchWidth", 2048);
+    private final int sketchDepth = Integer.getInteger("revconnect.trending.sketchDepth", 4);
+    private final int topK = Integer.getInteger("revconnect.trending.topK", 20);
+    private final int maxCandidates = Integer.getInteger("revconnect.trending.maxCandidates", 2_000);
+    private final long refreshMillis = Long.getLong("revconnect.trending.refreshMillis", 1_000L);
+
+    private final CountMinSketch[] minutes = new CountMinSketch[MINUTES];
+    private final CountMinSketch[] hours = new CountMinSketch[HOURS];
+    private final CountMinSketch lastHour;
+    private final CountMinSketch lastDay;
+    // Epoch minute that live records go to; only the scheduler advances it
+    private volatile int currentMinute;
+
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+    // Smallest windowed count that can still enter a top-K list
+    private volatile int admitFloor = 1;
+    private volatile List<TrendingTag> trendingNow = Collections.emptyList();
+    private volatile List<TrendingTag> trendingToday = Collections.emptyList();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private volatile int warmedTags;
+
+    TrendingService() {
+        for (int i = 0; i < MINUTES; i++) minutes[i] = new CountMinSketch(sketchWidth, sketchDepth);
+        for (int i = 0; i < HOURS; i++) hours[i] = new CountMinSketch(sketchWidth, sketchDepth);
+        lastHour = new CountMinSketch(sketchWidth, sketchDepth);
+        lastDay = new CountMinSketch(sketchWidth, sketchDepth);
+        currentMinute = epochMinute(System.currentTimeMillis());
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revconnect-trending");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static TrendingService getInstance() {
+        return AppContext.get().trendingService();
+    }
+
+    /** Warms the windows from the last day's post tags, then rotates and refreshes on a schedule. */
+    public void start() {
+        scheduler.execute(this::warmQuietly);
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Call with the normalized tags of a newly created post. */
+    public void record(List<String> tags) {
+        int minute = currentMinute;
+        for (String tag : tags) {
+            add(tag, minute);
+        }
+    }
+
+    private void add(String tag, int minute) {
+        long h = CountMinSketch.hash(tag);
+        minutes[minute % MINUTES].add(h, 1);
+        hours[(minute / MINUTES) % HOURS].add(h, 1);
+        lastHour.add(h, 1);
+        lastDay.add(h, 1);
+        recorded.increment();
+        if (!candidates.contains(tag) && candidates.size() < maxCandidates * 2
+                && Math.max(lastHour.estimate(h), lastDay.estimate(h)) >= admitFloor) {
+            candidates.add(tag);
+        }
+    }
+
+    /** Most used tags over the last hour, best first. */
+    public List<TrendingTag> getTrendingNow(int limit) {
+        List<TrendingTag> list = trendingNow;
+        return list.subList(0, Math.min(limit, list.size()));
+    }
+
+    /** Most used tags over the last 24 hours, best first. */
+    public List<TrendingTag> getTrendingToday(int limit) {
+        List<TrendingTag> list = trendingToday;
+        return list.subList(0, Math.min(limit, list.size()));
+    }
+
+    // ===== Scheduler thread =====
+
+    private void warmQuietly() {
+        try {
+            warm();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void warm() {
+        advance();
+        int now = currentMinute;
+        // Whole hours, so the oldest hourly bucket is complete
+        int fromMinute = (now / MINUTES - (HOURS - 1)) * MINUTES;
+        List<String> tags = new ArrayList<>();
+        IntList tagMinutes = new IntList(1024);
+        if (!postTagDAO.loadTagsSince(new Timestamp(fromMinute * 60_000L), tags, tagMinutes)) {
+            return;
+        }
+        for (int i = 0; i < tags.size(); i++) {
+            int minute = tagMinutes.get(i);
+            if (minute > now || minute < fromMinute) continue;
+            long h = CountMinSketch.hash(tags.get(i));
+            if (minute > now - MINUTES) {
+                minutes[minute % MINUTES].add(h, 1);
+                lastHour.add(h, 1);
+            }
+            hours[(minute / MINUTES) % HOURS].add(h, 1);
+            lastDay.add(h, 1);
+            candidates.add(tags.get(i));
+        }
+        warmedTags = tags.size();
+        refresh();
+    }
+
+    private void refreshQuietly() {
+        try {
+            advance();
+            refresh();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Rotates minute and hour buckets up to the wall clock
+    private void advance() {
+        int target = epochMinute(System.currentTimeMillis());
+        if (target - currentMinute >= MINUTES * HOURS) {
+            // Asleep for a day or more: every bucket is stale
+            for (CountMinSketch s : minutes) s.clear();
+            for (CountMinSketch s : hours) s.clear();
+            lastHour.clear();
+            lastDay.clear();
+            currentMinute = target;
+            return;
+        }
+        while (currentMinute < target) {
+            int next = currentMinute + 1;
+            CountMinSketch expiredMinute = minutes[next % MINUTES];
+            lastHour.merge(expiredMinute, -1);
+            expiredMinute.clear();
+            if (next % MINUTES == 0) {
+                CountMinSketch expiredHour = hours[(next / MINUTES) % HOURS];
+                lastDay.merge(expiredHour, -1);
+                expiredHour.clear();
+            }
+            currentMinute = next;
+        }
+    }
+
+    private void refresh() {
+        Comparator<TrendingTag> worstFirst = Comparator.comparingInt(TrendingTag::getCount)
+                .thenComparing(TrendingTag::getTag, Comparator.reverseOrder());
+        PriorityQueue<TrendingTag> nowHeap = new PriorityQueue<>(worstFirst);
+        PriorityQueue<TrendingTag> todayHeap = new PriorityQueue<>(worstFirst);
+        List<TrendingTag> dayCounts = new ArrayList<>(candidates.size());
+        for (Iterator<String> it = candidates.iterator(); it.hasNext(); ) {
+            String tag = it.next();
+            long h = CountMinSketch.hash(tag);
+            int day = lastDay.estimate(h);
+            if (day == 0) {
+                it.remove();
+                continue;
+            }
+            int hour = lastHour.estimate(h);
+            if (hour > 0) offer(nowHeap, new TrendingTag(tag, hour));
+            TrendingTag today = new TrendingTag(tag, day);
+            offer(todayHeap, today);
+            dayCounts.add(today);
+        }
+        trendingNow = drain(nowHeap);
+        trendingToday = drain(todayHeap);
+        int nowFloor = trendingNow.size() < topK ? 1 : trendingNow.get(topK - 1).getCount();
+        int todayFloor = trendingToday.size() < topK ? 1 : trendingToday.get(topK - 1).getCount();
+        admitFloor = Math.max(1, Math.min(nowFloor, todayFloor));
+
+        // Keep the candidates with the most use today
+        if (dayCounts.size() > maxCandidates) {
+            dayCounts.sort(worstFirst);
+            for (int i = 0; i < dayCounts.size() - maxCandidates; i++) {
+                candidates.remove(dayCounts.get(i).getTag());
+            }
+        }
+        refreshes.increment();
+    }
+
+    private void offer(PriorityQueue<TrendingTag> heap, TrendingTag tag) {
+        heap.offer(tag);
+        if (heap.size() > topK) heap.poll();
+    }
+
+    private static List<TrendingTag> drain(PriorityQueue<TrendingTag> heap) {
+        TrendingTag[] ranked = new TrendingTag[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) ranked[i] = heap.poll();
+        return Collections.unmodifiableList(Arrays.asList(ranked));
+    }
+
+    private static int epochMinute(long millis) {
+        return (int) (millis / 60_000L);
+    }
+
+    public String describe() {
+        return String.format("TrendingService{recorded=%d, warmed=%d, candidates=%d, floor=%d, refreshes=%d, sketch=%dx%d}",
+                recorded.sum(), warmedTags, candidates.size(), admitFloor, refreshes.sum(), sketchDepth, sketchWidth);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
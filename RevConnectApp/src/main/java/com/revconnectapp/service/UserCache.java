@@ -0,0 +1,206 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.UserDAO;
+import com.revconnectapp.model.User;
+import com.revconnectapp.util.IntList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared cache of user rows, indexed by id and by username, in front of
+ * {@link UserDAO}. Holds up to {@code revconnect.users.cacheSize} users and
+ * evicts the least recently used; the username index follows the id index.
+ *
+ * Writes go through it: updates drop the cached copy once the database
+ * accepts them, and writes it cannot see must call {@link #invalidate}. A
+ * load that overlaps an invalidation is returned but not cached, so a read
+ * that started before a write cannot put the old row back afterwards.
+ * Usernames that do not exist are remembered for
+ * {@code revconnect.users.negativeTtlMillis} so repeated lookups of a missing
+ * name skip the database; registering that name clears the entry.
+ *
+ * Callers always get their own copy, so mutating a returned user never
+ * changes what other sessions see.
+ */
+public class UserCache {
+
+    private final int capacity = Integer.getInteger("revconnect.users.cacheSize", 10_000);
+    private final long negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("revconnect.users.negativeTtlMillis", 30_000L));
+
+    private final UserDAO userDAO = AppContext.get().userDAO();
+
+    private final Map<Integer, User> byId = Collections.synchronizedMap(
+            new LinkedHashMap<Integer, User>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, User> eldest) {
+                    if (size() <= capacity) return false;
+                    idByName.remove(key(eldest.getValue().getUsername()), eldest.getKey());
+                    evictions.increment();
+                    return true;
+                }
+            });
+    // Lower-cased username -> id; MySQL's default collation matches names case-insensitively
+    private final ConcurrentHashMap<String, Integer> idByName = new ConcurrentHashMap<>();
+    // Lower-cased username -> when the "no such user" answer expires
+    private final Map<String, Long> missing = Collections.synchronizedMap(
+            new LinkedHashMap<String, Long>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > capacity;
+                }
+            });
+
+    // Bumped by every invalidate; loads only cache what they read if it has not moved
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    UserCache() {}
+
+    public static UserCache getInstance() {
+        return AppContext.get().userCache();
+    }
+
+    public User getById(int id) {
+        User cached = byId.get(id);
+        if (cached != null) {
+            hits.increment();
+            return copy(cached);
+        }
+        misses.increment();
+        long seen = generation.get();
+        User user = userDAO.getById(id);
+        if (user != null) cacheLoaded(user, seen);
+        return user;
+    }
+
+    public User getByUsername(String username) {
+        if (username == null) return null;
+        String key = key(username);
+        Integer id = idByName.get(key);
+        User cached = id != null ? byId.get(id) : null;
+        if (cached != null) {
+            hits.increment();
+            return copy(cached);
+        }
+        Long expires = missing.get(key);
+        if (expires != null) {
+            if (System.nanoTime() - expires < 0) {
+                negativeHits.increment();
+                return null;
+            }
+            missing.remove(key);
+        }
+        misses.increment();
+        long seen = generation.get();
+        User user = userDAO.getByUsername(username);
+        if (user != null) {
+            cacheLoaded(user, seen);
+        } else {
+            missing.put(key, System.nanoTime() + negativeTtlNanos);
+        }
+        return user;
+    }
+
+    /** Users for a set of ids; cached ones are served here and the rest come from one query. */
+    public List<User> getByIds(int[] ids) {
+        List<User> users = new ArrayList<>(ids.length);
+        IntList absent = new IntList(ids.length);
+        for (int id : ids) {
+            User cached = byId.get(id);
+            if (cached != null) {
+                users.add(copy(cached));
+            } else {
+                absent.add(id);
+            }
+        }
+        hits.add(users.size());
+        misses.add(absent.size());
+        if (absent.size() > 0) {
+            long seen = generation.get();
+            for (User user : userDAO.getByIds(absent.toArray())) {
+                cacheLoaded(user, seen);
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    /** Stores the current state of a user, e.g. one just registered. */
+    public void put(User user) {
+        if (user == null || user.getId() <= 0) return;
+        User stored = copy(user);
+        User previous = byId.put(user.getId(), stored);
+        if (previous != null && !key(previous.getUsername()).equals(key(stored.getUsername()))) {
+            idByName.remove(key(previous.getUsername()), previous.getId());
+        }
+        String name = key(stored.getUsername());
+        idByName.put(name, stored.getId());
+        missing.remove(name);
+    }
+
+    /** Drops a user whose row changed behind the cache; the next read reloads it. */
+    public void invalidate(int id) {
+        synchronized (byId) {
+            generation.incrementAndGet();
+            User removed = byId.remove(id);
+            if (removed != null) idByName.remove(key(removed.getUsername()), id);
+        }
+    }
+
+    // byId's lock orders this against invalidate: either the load sees the bump, or the
+    // invalidate runs after the put and removes it
+    private void cacheLoaded(User user, long seenGeneration) {
+        synchronized (byId) {
+            if (generation.get() == seenGeneration) put(user);
+        }
+    }
+
+    private static String key(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static User copy(User user) {
+        User c = new User();
+        c.setId(user.getId());
+        c.setUsername(user.getUsername());
+        c.setEmail(user.getEmail());
+        c.setPassword(user.getPassword());
+        c.setUserType(user.getUserType());
+        c.setCreatedAt(user.getCreatedAt());
+        c.setSecurityQuestion(user.getSecurityQuestion());
+        c.setSecurityAnswer(user.getSecurityAnswer());
+        c.setFullName(user.getFullName());
+        c.setBio(user.getBio());
+        c.setLocation(user.getLocation());
+        c.setWebsite(user.getWebsite());
+        c.setPrivacySetting(user.getPrivacySetting());
+        return c;
+    }
+
+    public double hitRatio() {
+        long h = hits.sum() + negativeHits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public String describe() {
+        return String.format("UserCache{users=%d/%d, missingNames=%d, hits=%d, negativeHits=%d, misses=%d, " +
+                        "hitRatio=%.3f, evictions=%d}",
+                byId.size(), capacity, missing.size(), hits.sum(), negativeHits.sum(), misses.sum(),
+                hitRatio(), evictions.sum());
+    }
+}
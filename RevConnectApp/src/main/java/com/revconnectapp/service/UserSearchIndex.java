@@ -0,0 +1,179 @@
+package com.revconnectapp.service;
+
+import com.revconnectapp.dao.UserDAO;
+import com.revconnectapp.util.IntList;
+import com.revconnectapp.util.PrefixIndex;
+import com.revconnectapp.util.TrigramIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory substring search over every user's username, profile name and
+ * profile location, backed by a {@link TrigramIndex}. Replaces the
+ * leading-wildcard LIKE scans in user and profile search.
+ *
+ * Also holds a {@link PrefixIndex} of usernames for @-autocomplete, ranked
+ * for the viewer: an exact username, then people they are connected to, then
+ * people they follow, each by follower count.
+ *
+ * The index is built from the database by {@link #start()} on a background
+ * thread and kept current by the user and profile services. Until the first
+ * build completes the search methods return null and callers should ask the
+ * DAOs instead.
+ */
+public class UserSearchIndex {
+
+    public static final int USERNAME = 0;
+    public static final int NAME = 1;
+    public static final int LOCATION = 2;
+
+    private static final int USERNAME_ONLY = 1 << USERNAME;
+    private static final int ALL_FIELDS = (1 << USERNAME) | (1 << NAME) | (1 << LOCATION);
+
+    private final UserDAO userDAO = AppContext.get().userDAO();
+    private final TrigramIndex index = new TrigramIndex(3);
+    private final PrefixIndex usernames = new PrefixIndex();
+    private final SocialGraphService socialGraph = SocialGraphService.getInstance();
+
+    private final int maxCompletionScan = Integer.getInteger("revconnect.search.completionMaxScan", 20_000);
+    // Proximity boosts, above any realistic follower count
+    private static final int CONNECTED_BOOST = 1 << 29;
+    private static final int FOLLOWING_BOOST = 1 << 28;
+
+    // Users changed while the build was reading; their live entries win
+    private final Set<Integer> touchedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, String> registeredDuringBuild = new ConcurrentHashMap<>();
+    private volatile boolean building;
+    private volatile boolean loaded;
+    private volatile long lastBuildMillis;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder completionNanos = new LongAdder();
+
+    UserSearchIndex() {}
+
+    public static UserSearchIndex getInstance() {
+        return AppContext.get().userSearchIndex();
+    }
+
+    /** Builds the index on a background thread so startup is not blocked on MySQL. */
+    public void start() {
+        Thread loader = new Thread(this::rebuild, "revconnect-search-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public synchronized boolean rebuild() {
+        long started = System.currentTimeMillis();
+        touchedDuringBuild.clear();
+        registeredDuringBuild.clear();
+        building = true;
+        IntList ids = new IntList(1024);
+        List<String> loginNames = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> locations = new ArrayList<>();
+        try {
+            if (!userDAO.loadSearchFields(ids, loginNames, names, locations)) {
+                return false;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                int id = ids.get(i);
+                if (touchedDuringBuild.contains(id)) continue;
+                index.put(id, loginNames.get(i), names.get(i), locations.get(i));
+            }
+            usernames.load(ids.rawArray(), loginNames.toArray(new String[0]), ids.size());
+            // load() replaced the whole array, so put back anyone registered meanwhile
+            for (Map.Entry<Integer, String> e : registeredDuringBuild.entrySet()) {
+                usernames.add(e.getKey(), e.getValue());
+            }
+        } finally {
+            building = false;
+            touchedDuringBuild.clear();
+            registeredDuringBuild.clear();
+        }
+        lastBuildMillis = System.currentTimeMillis() - started;
+        loaded = true;
+        return true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // ===== Incremental updates =====
+
+    public void onUserRegistered(int userId, String username) {
+        if (building) {
+            touchedDuringBuild.add(userId);
+            registeredDuringBuild.put(userId, username);
+        }
+        index.setField(userId, USERNAME, username);
+        usernames.add(userId, username);
+    }
+
+    public void onProfileUpdated(int userId, String name, String location) {
+        if (building) touchedDuringBuild.add(userId);
+        index.setField(userId, NAME, name);
+        index.setField(userId, LOCATION, location);
+    }
+
+    // ===== Queries =====
+
+    /** Ids of users whose username contains the query, best match first; null until loaded. */
+    public int[] searchUsernames(String query, int limit) {
+        return search(query, USERNAME_ONLY, limit);
+    }
+
+    /** Ids of users whose username, name or location contains the query; null until loaded. */
+    public int[] searchProfiles(String query, int limit) {
+        return search(query, ALL_FIELDS, limit);
+    }
+
+    /**
+     * Ids of up to {@code limit} users whose username starts with the prefix,
+     * best first for this viewer; null until loaded.
+     */
+    public int[] completeUsername(String prefix, int viewerId, int limit) {
+        if (!loaded) return null;
+        long started = System.nanoTime();
+        int[] ids = usernames.complete(prefix, limit, maxCompletionScan, id -> {
+            if (id == viewerId) return -1;
+            long score = 0;
+            if (socialGraph.isLoaded()) {
+                score = socialGraph.getFollowerCount(id);
+                if (socialGraph.areConnected(viewerId, id)) score += CONNECTED_BOOST;
+                else if (socialGraph.isFollowing(viewerId, id)) score += FOLLOWING_BOOST;
+            }
+            return (int) Math.min(score, Integer.MAX_VALUE - 1);
+        });
+        completionNanos.add(System.nanoTime() - started);
+        completions.increment();
+        return ids;
+    }
+
+    private int[] search(String query, int fieldMask, int limit) {
+        if (!loaded) return null;
+        long started = System.nanoTime();
+        int[] ids = index.search(query, fieldMask, limit);
+        searchNanos.add(System.nanoTime() - started);
+        searches.increment();
+        return ids;
+    }
+
+    public String describe() {
+        long count = searches.sum();
+        long completed = completions.sum();
+        return String.format("UserSearchIndex{loaded=%s, users=%d, trigrams=%d, usernames=%d, searches=%d, " +
+                        "avgSearch=%.3fms, completions=%d, avgCompletion=%.3fms, lastBuild=%dms}",
+                loaded, index.size(), index.trigramCount(), usernames.size(), count,
+                count == 0 ? 0.0 : searchNanos.sum() / (double) count / 1_000_000.0, completed,
+                completed == 0 ? 0.0 : completionNanos.sum() / (double) completed / 1_000_000.0, lastBuildMillis);
+    }
+}
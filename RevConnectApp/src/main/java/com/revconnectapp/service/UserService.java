@@ -6,20 +6,33 @@ import com.revconnectapp.util.ConnectionUtil;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class UserService {
-    private UserDAO userDAO = new UserDAO();
+    private UserDAO userDAO = AppContext.get().userDAO();
+    // ✅ NEW: Shared id/username cache in front of UserDAO
+    private UserCache userCache = UserCache.getInstance();
+    private UserSearchIndex searchIndex = UserSearchIndex.getInstance();
+    // Matches shown by user search (same as the old LIMIT 5)
+    private static final int SEARCH_LIMIT = 5;
 
     public User register(User user) {
-        return userDAO.create(user);
+        User created = userDAO.create(user);
+        if (created != null && created.getId() > 0) {
+            userCache.put(created);
+            searchIndex.onUserRegistered(created.getId(), created.getUsername());
+            SocialGraphService.getInstance().onUserRegistered(created.getId(), created.getUserType());
+        }
+        return created;
     }
 
     public User login(String username, String password) {
-        User user = userDAO.getByUsername(username);
-        if (user != null && user.getPassword().equals(password)) {
+        User user = userCache.getByUsername(username);
+        if (user != null && user.getPassword() != null && user.getPassword().equals(password)) {
             return user;
         }
         return null;
@@ -35,56 +48,72 @@ public class UserService {
             pstmt.setString(1, question);
             pstmt.setString(2, answer);
             pstmt.setInt(3, userId);
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            userCache.invalidate(userId);
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
 
-    // Also update your getUserById and other methods to load security questions:
+    // Delegates to UserDAO through the shared cache (full row, incl. security questions)
     public User getUserById(int id) {
-        String sql = "SELECT * FROM users WHERE id = ?";
-        try (Connection conn = ConnectionUtil.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                User user = new User();
-                user.setId(rs.getInt("id"));
-                user.setUsername(rs.getString("username"));
-                user.setEmail(rs.getString("email"));
-                user.setPassword(rs.getString("password"));
-                user.setUserType(rs.getString("user_type"));
-                user.setSecurityQuestion(rs.getString("security_question"));
-                user.setSecurityAnswer(rs.getString("security_answer"));
-                return user;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return userCache.getById(id);
     }
     // CORRECTED METHOD: Simply delegate to the DAO
     public User getUserByUsername(String username) {
-        return userDAO.getByUsername(username);
+        return userCache.getByUsername(username);
+    }
+
+    // ✅ NEW: Bulk lookup, cached users plus one query for the rest
+    public List<User> getUsersByIds(int[] ids) {
+        return userCache.getByIds(ids);
+    }
+
+    // ✅ NEW: Bulk lookup that keeps the order of ids (e.g. a ranking); unknown ids are skipped
+    public List<User> getUsersByIdsInOrder(int[] ids) {
+        Map<Integer, User> byId = new HashMap<>();
+        for (User user : userCache.getByIds(ids)) {
+            byId.put(user.getId(), user);
+        }
+        List<User> ordered = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            User user = byId.get(id);
+            if (user != null) ordered.add(user);
+        }
+        return ordered;
+    }
+
+    // ✅ NEW: @-autocomplete - usernames starting with the prefix, ranked for the viewer
+    public List<User> completeUsernames(String prefix, int viewerId, int limit) {
+        int[] ids = searchIndex.completeUsername(prefix, viewerId, limit);
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        return getUsersByIdsInOrder(ids);
     }
 
+    // ✅ NEW: Trigram index lookup, best matches first; LIKE scan only until the index is built
     public List<User> searchUsers(String query) {
-        return userDAO.searchUsers(query);
+        int[] ids = searchIndex.searchUsernames(query, SEARCH_LIMIT);
+        if (ids == null) {
+            return userDAO.searchUsers(query);
+        }
+        return getUsersByIdsInOrder(ids);
     }
  // In UserService.java - Add this method
+    // ✅ NEW: Persists the password (only that column, so a concurrent profile edit is kept)
     public boolean updatePassword(int userId, String newPassword) {
-        // In a real app, you'd update this in the database
-        // For now, we'll update the UserDAO if it exists
-        
-        // This is a simplified version - you'll need to implement properly
-        User user = userDAO.getById(userId);
-        if (user != null) {
-            user.setPassword(newPassword);
-            // Here you would call userDAO.update(user) if you have that method
-            return true;
-        }
-        return false;
+        boolean updated = userDAO.updatePassword(userId, newPassword);
+        userCache.invalidate(userId);
+        return updated;
+    }
+
+    // ✅ NEW: The cached copy is dropped after the write; the next read loads the new row
+    public boolean updateUser(User user) {
+        boolean updated = userDAO.update(user);
+        userCache.invalidate(user.getId());
+        return updated;
     }
 }
\ No newline at end of file
@@ -1,26 +1,35 @@
 package com.revconnectapp.ui;
 
 import com.revconnectapp.model.User;
+import com.revconnectapp.model.FeedCursor;
+import com.revconnectapp.model.FeedPage;
 import com.revconnectapp.model.Post;
+import com.revconnectapp.model.PostStats;
+import com.revconnectapp.model.TrendingTag;
 import com.revconnectapp.model.Comment;
 import com.revconnectapp.model.Connection;
+import com.revconnectapp.service.AppContext;
 import com.revconnectapp.service.UserService;
 import com.revconnectapp.service.PostService;
 import com.revconnectapp.service.ConnectionService;
 import com.revconnectapp.service.NotificationService;
 import com.revconnectapp.service.LikeService;
 import com.revconnectapp.service.CommentService;
+import com.revconnectapp.util.Async;
 import com.revconnectapp.util.InputUtil;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class MainMenu {
-    private UserService userService = new UserService();
-    private PostService postService = new PostService();
-    private NotificationService notificationService = new NotificationService();
-    private ConnectionService connectionService = new ConnectionService();
-    private LikeService likeService = new LikeService();
-    private CommentService commentService = new CommentService();
+    private UserService userService = AppContext.get().userService();
+    private PostService postService = AppContext.get().postService();
+    private NotificationService notificationService = AppContext.get().notificationService();
+    private ConnectionService connectionService = AppContext.get().connectionService();
+    private LikeService likeService = AppContext.get().likeService();
+    private CommentService commentService = AppContext.get().commentService();
     private User currentUser;
 
     // Profile storage
@@ -787,6 +796,9 @@ public class MainMenu {
         System.out.println("3. 🌐 Browse All Public Posts");
         System.out.println("4. 🔍 Search Posts by User");
         System.out.println("5. 🤝 Connections Feed");  // ADDED THIS OPTION
+        System.out.println("6. 🏷️ Search Posts by Hashtag");
+        System.out.println("7. 🔥 Trending Hashtags");
+        System.out.println("8. 🔎 Search Post Content");
         System.out.println("0. Back to Dashboard");
         
         int choice = InputUtil.getInt();
@@ -796,16 +808,24 @@ public class MainMenu {
             case 3 -> browseAllPublicPosts();
             case 4 -> searchPostsByUser();
             case 5 -> showConnectionsFeed();  // NOW USED!
+            case 6 -> searchPostsByHashtag();
+            case 7 -> showTrendingHashtags();
+            case 8 -> searchPostContent();
             default -> {}
         }
     }
 
     private void browseAllPublicPosts() {
+        browseAllPublicPosts(null, 1);
+    }
+
+    private void browseAllPublicPosts(FeedCursor after, int pageNumber) {
         System.out.println("\n🌐 === ALL PUBLIC POSTS ===");
         System.out.println("Browse and interact with posts from everyone!");
         
-        // Get all posts from the database
-        List<Post> allPosts = postService.getAllPublicPosts();
+        // One page of posts, newest first
+        FeedPage page = postService.getPublicFeed(after, PostService.DEFAULT_PAGE_SIZE);
+        List<Post> allPosts = page.getPosts();
         
         if (allPosts.isEmpty()) {
             System.out.println("📭 No posts available yet!");
@@ -815,27 +835,21 @@ public class MainMenu {
             return;
         }
         
-        // Sort by date (newest first)
-        allPosts.sort((p1, p2) -> {
-            if (p1.getCreatedAt() != null && p2.getCreatedAt() != null) {
-                return p2.getCreatedAt().compareTo(p1.getCreatedAt());
-            }
-            return 0;
-        });
-        
-        // Display ALL posts with full content
-        System.out.println("\n📊 TOTAL POSTS: " + allPosts.size());
+        // Display the page with full content
+        System.out.println("\n📊 PAGE " + pageNumber + " - POSTS: " + allPosts.size());
         System.out.println("=".repeat(80));
         
+        // Authors, counts and flags for the whole list in a few queries
+        Map<Integer, PostStats> feedStats = postService.getFeedStats(allPosts, currentUser.getId());
+        
         for (Post post : allPosts) {
-            // Get author info
-            User author = userService.getUserById(post.getUserId());
-            String authorName = (author != null) ? "@" + author.getUsername() : "User#" + post.getUserId();
+            PostStats stats = statsFor(feedStats, post);
+            String authorName = authorName(stats);
             
             // Get stats
-            int likeCount = likeService.getLikeCount(post.getId());
-            int commentCount = commentService.getCommentCount(post.getId());
-            boolean iLiked = likeService.isLikedByUser(post.getId(), currentUser.getId());
+            int likeCount = stats.getLikeCount();
+            int commentCount = stats.getCommentCount();
+            boolean iLiked = stats.isLikedByViewer();
             boolean isMyPost = post.getUserId() == currentUser.getId();  // This is now USED below
             
             System.out.println("\n" + "─".repeat(80));
@@ -859,7 +873,7 @@ public class MainMenu {
             if (isMyPost) {
                 System.out.println("🤝 ✅ Your post");  // USING isMyPost
             } else {
-                boolean connected = connectionService.areConnected(currentUser.getId(), post.getUserId());
+                boolean connected = stats.isConnectedToAuthor();
                 System.out.println("🤝 " + (connected ? "✅ Connected" : "🔗 Not connected"));
             }
             
@@ -872,6 +886,9 @@ public class MainMenu {
         System.out.println("2. Like/Unlike a post (by ID)");
         System.out.println("3. Comment on a post (by ID)");
         System.out.println("4. Refresh list");
+        if (page.hasMore()) {
+            System.out.println("5. Next page ➡️");
+        }
         System.out.println("0. Back to Feed Menu");
         
         System.out.print("\nYour choice: ");
@@ -882,17 +899,175 @@ public class MainMenu {
             case 2 -> quickLikePost(allPosts);
             case 3 -> quickCommentPost(allPosts);
             case 4 -> browseAllPublicPosts(); // Refresh
+            case 5 -> {
+                if (page.hasMore()) browseAllPublicPosts(page.getNextCursor(), pageNumber + 1);
+            }
+            default -> {}
+        }
+    }
+
+    // ========== HASHTAG SEARCH ==========
+    private void searchPostsByHashtag() {
+        System.out.println("\n🏷️ === SEARCH POSTS BY HASHTAG ===");
+        System.out.print("Enter one or more hashtags (e.g. #java #sql): ");
+        String input = InputUtil.getString();
+
+        List<String> tags = new ArrayList<>();
+        for (String part : input.split("[\\s,]+")) {
+            if (!part.isBlank()) tags.add(part);
+        }
+        if (tags.isEmpty()) {
+            System.out.println("❌ Please enter at least one hashtag!");
+            return;
+        }
+
+        boolean matchAll = true;
+        if (tags.size() > 1) {
+            System.out.println("1. Posts with ALL of these tags");
+            System.out.println("2. Posts with ANY of these tags");
+            System.out.print("Choose: ");
+            matchAll = InputUtil.getInt() != 2;
+        }
+        showHashtagResults(tags, matchAll, null, 1);
+    }
+
+    private void searchPostContent() {
+        System.out.println("\n🔎 === SEARCH POST CONTENT ===");
+        System.out.println("💡 Words must all match. Use \"quotes\" for a phrase, OR for alternatives, -word to exclude.");
+        System.out.print("Search: ");
+        String query = InputUtil.getString();
+        if (query.isBlank()) {
+            System.out.println("❌ Search cannot be empty!");
+            return;
+        }
+
+        List<Post> results = postService.searchPosts(query, PostService.DEFAULT_PAGE_SIZE);
+        if (results == null) {
+            System.out.println("⏳ Search index is still loading, please try again in a moment.");
+            return;
+        }
+        if (results.isEmpty()) {
+            System.out.println("📭 No posts match \"" + query + "\"");
+            System.out.println("\n⏎ Press Enter...");
+            InputUtil.getString();
+            return;
+        }
+
+        System.out.println("\n📊 TOP " + results.size() + " RESULTS FOR \"" + query + "\"");
+        System.out.println("=".repeat(80));
+        Map<Integer, PostStats> feedStats = postService.getFeedStats(results, currentUser.getId());
+        for (int i = 0; i < results.size(); i++) {
+            Post post = results.get(i);
+            PostStats stats = statsFor(feedStats, post);
+            String content = post.getContent();
+            if (content != null && content.length() > 120) content = content.substring(0, 117) + "...";
+            System.out.println("\n" + (i + 1) + ". POST ID: " + post.getId() + " | " + authorName(stats) +
+                             " | ❤️ " + stats.getLikeCount() + " | 💬 " + stats.getCommentCount());
+            System.out.println("   " + content);
+        }
+
+        System.out.println("\n1. Select a post to interact (by ID)");
+        System.out.println("0. Back to Feed Menu");
+        System.out.print("\nYour choice: ");
+        if (InputUtil.getInt() == 1) {
+            selectPostById(results);
+        }
+    }
+
+    private void showTrendingHashtags() {
+        List<TrendingTag> now = postService.getTrendingNow(10);
+        List<TrendingTag> today = postService.getTrendingToday(10);
+
+        System.out.println("\n🔥 === TRENDING HASHTAGS ===");
+        System.out.println("\n⏱️ Trending now (last hour):");
+        printTrending(now);
+        System.out.println("\n📅 Trending today (last 24 hours):");
+        printTrending(today);
+
+        if (now.isEmpty() && today.isEmpty()) {
+            System.out.println("\n⏎ Press Enter...");
+            InputUtil.getString();
+            return;
+        }
+        System.out.print("\nEnter a hashtag to see its posts (or press Enter to go back): ");
+        String tag = InputUtil.getString();
+        if (!tag.isBlank()) {
+            List<String> tags = new ArrayList<>();
+            tags.add(tag.trim());
+            showHashtagResults(tags, true, null, 1);
+        }
+    }
+
+    private void printTrending(List<TrendingTag> tags) {
+        if (tags.isEmpty()) {
+            System.out.println("   📭 Nothing trending yet");
+            return;
+        }
+        for (int i = 0; i < tags.size(); i++) {
+            TrendingTag t = tags.get(i);
+            System.out.println("   " + (i + 1) + ". #" + t.getTag() + " - " + t.getCount() + " posts");
+        }
+    }
+
+    private void showHashtagResults(List<String> tags, boolean matchAll, FeedCursor after, int pageNumber) {
+        FeedPage page = postService.searchByTags(tags, matchAll, after, PostService.DEFAULT_PAGE_SIZE);
+        List<Post> posts = page.getPosts();
+        String label = String.join(matchAll ? " AND " : " OR ", tags);
+
+        if (posts.isEmpty()) {
+            System.out.println(pageNumber == 1 ? "📭 No posts found for " + label : "📭 No more posts.");
+            System.out.println("\n⏎ Press Enter...");
+            InputUtil.getString();
+            return;
+        }
+
+        System.out.println("\n📊 PAGE " + pageNumber + " - POSTS FOR " + label + ": " + posts.size());
+        System.out.println("=".repeat(80));
+
+        Map<Integer, PostStats> feedStats = postService.getFeedStats(posts, currentUser.getId());
+        for (Post post : posts) {
+            PostStats stats = statsFor(feedStats, post);
+            System.out.println("\n" + "─".repeat(80));
+            System.out.println("POST ID: " + post.getId() + " | " + authorName(stats) +
+                             " | " + (post.getCreatedAt() != null ? post.getCreatedAt() : "Recently"));
+            System.out.println(post.getContent());
+            if (post.getHashtags() != null && !post.getHashtags().isEmpty()) {
+                System.out.println("🏷️ TAGS: " + post.getHashtags());
+            }
+            System.out.println("📊 ❤️ " + stats.getLikeCount() + (stats.isLikedByViewer() ? " (You liked)" : "") +
+                             " | 💬 " + stats.getCommentCount() + " comments");
+        }
+
+        System.out.println("\n🎯 POST ACTIONS:");
+        System.out.println("1. Select a post to interact (by ID)");
+        if (page.hasMore()) {
+            System.out.println("2. Next page ➡️");
+        }
+        System.out.println("0. Back to Feed Menu");
+
+        System.out.print("\nYour choice: ");
+        int choice = InputUtil.getInt();
+        switch (choice) {
+            case 1 -> selectPostById(posts);
+            case 2 -> {
+                if (page.hasMore()) showHashtagResults(tags, matchAll, page.getNextCursor(), pageNumber + 1);
+            }
             default -> {}
         }
     }
 
     // ========== CONNECTIONS FEED (NOW INTEGRATED) ==========
     private void showConnectionsFeed() {
+        showConnectionsFeed(null, 1);
+    }
+
+    private void showConnectionsFeed(FeedCursor after, int pageNumber) {
         System.out.println("\n🤝 === CONNECTIONS FEED ===");
-        System.out.println("See what your connections are posting!");
+        System.out.println("See what your connections and the people you follow are posting!");
         
-        // Get connections feed
-        List<Post> feed = postService.getConnectionsFeed(currentUser.getId());
+        // Get one page of the connections + follows timeline
+        FeedPage page = postService.getConnectionsFeed(currentUser.getId(), after, PostService.DEFAULT_PAGE_SIZE);
+        List<Post> feed = page.getPosts();
         
         if (feed.isEmpty()) {
             System.out.println("📭 No posts from your connections yet!");
@@ -902,16 +1077,18 @@ public class MainMenu {
             return;
         }
         
-        System.out.println("\n📊 TOTAL POSTS FROM CONNECTIONS: " + feed.size());
+        System.out.println("\n📊 PAGE " + pageNumber + " - POSTS FROM YOUR NETWORK: " + feed.size());
         System.out.println("=".repeat(80));
         
+        Map<Integer, PostStats> feedStats = postService.getFeedStats(feed, currentUser.getId());
+        
         for (Post post : feed) {
-            User author = userService.getUserById(post.getUserId());
-            String authorName = (author != null) ? "@" + author.getUsername() : "User#" + post.getUserId();
+            PostStats stats = statsFor(feedStats, post);
+            String authorName = authorName(stats);
             
-            int likeCount = likeService.getLikeCount(post.getId());
-            int commentCount = commentService.getCommentCount(post.getId());
-            boolean iLiked = likeService.isLikedByUser(post.getId(), currentUser.getId());
+            int likeCount = stats.getLikeCount();
+            int commentCount = stats.getCommentCount();
+            boolean iLiked = stats.isLikedByViewer();
             boolean isMyPost = post.getUserId() == currentUser.getId();  // FIXED: Now used
             
             System.out.println("\n" + "─".repeat(80));
@@ -933,7 +1110,7 @@ public class MainMenu {
             if (isMyPost) {
                 System.out.println("🤝 ✅ Your post");  // USING isMyPost
             } else {
-                System.out.println("🤝 ✅ Connected");
+                System.out.println("🤝 " + (stats.isConnectedToAuthor() ? "✅ Connected" : "👥 Following"));
             }
             
             System.out.println("─".repeat(80));
@@ -945,6 +1122,9 @@ public class MainMenu {
         System.out.println("2. Like/Unlike a post (by ID)");
         System.out.println("3. Comment on a post (by ID)");
         System.out.println("4. Refresh feed");
+        if (page.hasMore()) {
+            System.out.println("5. Next page ➡️");
+        }
         System.out.println("0. Back to Feed Menu");
         
         System.out.print("\nYour choice: ");
@@ -955,10 +1135,27 @@ public class MainMenu {
             case 2 -> quickLikePost(feed);
             case 3 -> quickCommentPost(feed);
             case 4 -> showConnectionsFeed(); // Refresh
+            case 5 -> {
+                if (page.hasMore()) showConnectionsFeed(page.getNextCursor(), pageNumber + 1);
+            }
             default -> {}
         }
     }
 
+    private PostStats statsFor(Map<Integer, PostStats> feedStats, Post post) {
+        PostStats stats = feedStats.get(post.getId());
+        if (stats == null) {
+            // Post was deleted between listing and hydration
+            stats = new PostStats(post.getId());
+            stats.setAuthorId(post.getUserId());
+        }
+        return stats;
+    }
+
+    private String authorName(PostStats stats) {
+        return stats.getAuthorUsername() != null ? "@" + stats.getAuthorUsername() : "User#" + stats.getAuthorId();
+    }
+
     private void selectPostById(List<Post> posts) {
         if (posts.isEmpty()) {
             System.out.println("❌ No posts available!");
@@ -1028,7 +1225,7 @@ public class MainMenu {
             
             // Notify post owner if not yourself
             if (selectedPost.getUserId() != currentUser.getId()) {
-                notificationService.notifyLikedPost(selectedPost.getUserId(), currentUser.getUsername());
+                notificationService.notifyLikedPost(selectedPost.getUserId(), currentUser.getUsername(), selectedPost.getId());
             }
         }
         
@@ -1073,7 +1270,7 @@ public class MainMenu {
             
             // Notify post owner if not yourself
             if (selectedPost.getUserId() != currentUser.getId()) {
-                notificationService.notifyNewComment(selectedPost.getUserId(), currentUser.getUsername());
+                notificationService.notifyNewComment(selectedPost.getUserId(), currentUser.getUsername(), selectedPost.getId());
             }
         }
         
@@ -1087,6 +1284,19 @@ public class MainMenu {
         }
     }
 
+    // Offers usernames starting with what was typed; null if there are none or none is picked
+    private User pickCompletion(String prefix) {
+        List<User> completions = userService.completeUsernames(prefix, currentUser.getId(), 5);
+        if (completions.isEmpty()) return null;
+        System.out.println("💡 Did you mean:");
+        for (int i = 0; i < completions.size(); i++) {
+            System.out.println((i + 1) + ". @" + completions.get(i).getUsername());
+        }
+        System.out.print("Select number (0=Cancel): ");
+        int choice = InputUtil.getInt();
+        return choice > 0 && choice <= completions.size() ? completions.get(choice - 1) : null;
+    }
+
     private void searchPostsByUser() {
         System.out.println("\n🔍 === SEARCH POSTS BY USER ===");
         System.out.print("Enter username: ");
@@ -1094,6 +1304,9 @@ public class MainMenu {
         
         // Find the user
         User targetUser = userService.getUserByUsername(username);
+        if (targetUser == null) {
+            targetUser = pickCompletion(username);
+        }
         if (targetUser == null) {
             System.out.println("❌ User @" + username + " not found!");
             System.out.println("\n⏎ Press Enter...");
@@ -1118,12 +1331,15 @@ public class MainMenu {
                 return 0;
             });
             
+            Map<Integer, PostStats> feedStats = postService.getFeedStats(userPosts, currentUser.getId());
+            
             // Display all posts with full content
             for (Post post : userPosts) {
                 // Get stats
-                int likeCount = likeService.getLikeCount(post.getId());
-                int commentCount = commentService.getCommentCount(post.getId());
-                boolean iLiked = likeService.isLikedByUser(post.getId(), currentUser.getId());
+                PostStats stats = statsFor(feedStats, post);
+                int likeCount = stats.getLikeCount();
+                int commentCount = stats.getCommentCount();
+                boolean iLiked = stats.isLikedByViewer();
                 boolean isMyPost = post.getUserId() == currentUser.getId();  // FIXED: Now used
                 
                 System.out.println("\n" + "─".repeat(80));
@@ -1241,9 +1457,14 @@ public class MainMenu {
 
     private void interactWithPost(Post post) {
         while (true) {
-            int likes = likeService.getLikeCount(post.getId());
-            int comments = commentService.getCommentCount(post.getId());
-            boolean iLiked = likeService.isLikedByUser(post.getId(), currentUser.getId());
+            // Independent reads: issue together, wait for the slowest
+            CompletableFuture<Integer> likeCount = likeService.getLikeCountAsync(post.getId());
+            CompletableFuture<Integer> commentCount = commentService.getCommentCountAsync(post.getId());
+            CompletableFuture<Boolean> likedByMe = likeService.isLikedByUserAsync(post.getId(), currentUser.getId());
+            Async.awaitAll(likeCount, commentCount, likedByMe);
+            int likes = likeCount.join();
+            int comments = commentCount.join();
+            boolean iLiked = likedByMe.join();
 
             System.out.println("\n═══════════════════════════════════════");
             System.out.println("💬 POST ID: " + post.getId());
@@ -1291,7 +1512,7 @@ public class MainMenu {
         } else {
             likeService.likePost(post.getId(), currentUser.getId());
             System.out.println("❤️ Liked!");
-            notificationService.notifyLikedPost(post.getUserId(), currentUser.getUsername());
+            notificationService.notifyLikedPost(post.getUserId(), currentUser.getUsername(), post.getId());
         }
         System.out.println("⏎ Press Enter...");
         InputUtil.getString();
@@ -1306,7 +1527,7 @@ public class MainMenu {
         }
         commentService.addComment(post.getId(), currentUser.getId(), content);
         System.out.println("✅ Comment added!");
-        notificationService.notifyNewComment(post.getUserId(), currentUser.getUsername());
+        notificationService.notifyNewComment(post.getUserId(), currentUser.getUsername(), post.getId());
         System.out.println("⏎ Press Enter...");
         InputUtil.getString();
     }
@@ -1569,31 +1790,36 @@ public class MainMenu {
             System.out.println("✅ You have " + connections.size() + " connection(s)");
             System.out.println("-".repeat(60));
             
+            // Mutual counts for every connection at once
+            int[] mutualCounts = connectionService.getMutualConnectionCounts(currentUser.getId(), connections);
+            // Mutual friends are always my connections too, so names come from this list
+            Map<Integer, String> namesById = new HashMap<>();
+            for (User connection : connections) {
+                namesById.put(connection.getId(), connection.getUsername());
+            }
+            
             // Display all connections with details
             for (int i = 0; i < connections.size(); i++) {
                 User connection = connections.get(i);
                 
-                // Get mutual friends count
-                List<User> mutuals = connectionService.getMutualConnections(
-                    currentUser.getId(), connection.getId());
-                
                 System.out.println("\n" + (i + 1) + ". 👤 " + connection.getUsername());
                 System.out.println("   📧 Email: " + connection.getEmail());
                 System.out.println("   🏷️ Type: " + connection.getUserType());
-                System.out.println("   🤝 Mutual Friends: " + mutuals.size());
+                System.out.println("   🤝 Mutual Friends: " + mutualCounts[i]);
                 System.out.println("   🆔 User ID: " + connection.getId());
                 
                 // Show mutual friends if any
-                if (!mutuals.isEmpty()) {
+                if (mutualCounts[i] > 0) {
+                    int[] mutualIds = connectionService.getMutualConnectionIds(currentUser.getId(), connection.getId());
                     System.out.print("   👥 Mutual: ");
-                    for (int j = 0; j < Math.min(3, mutuals.size()); j++) {
-                        System.out.print("@" + mutuals.get(j).getUsername());
-                        if (j < Math.min(3, mutuals.size()) - 1) {
+                    for (int j = 0; j < Math.min(3, mutualIds.length); j++) {
+                        System.out.print("@" + namesById.getOrDefault(mutualIds[j], "user" + mutualIds[j]));
+                        if (j < Math.min(3, mutualIds.length) - 1) {
                             System.out.print(", ");
                         }
                     }
-                    if (mutuals.size() > 3) {
-                        System.out.print(" and " + (mutuals.size() - 3) + " more");
+                    if (mutualIds.length > 3) {
+                        System.out.print(" and " + (mutualIds.length - 3) + " more");
                     }
                     System.out.println();
                 }
@@ -1752,9 +1978,10 @@ public class MainMenu {
         System.out.println("\n📈 NETWORK GROWTH");
         System.out.println("=".repeat(40));
         
-        int totalConnections = connectionService.getConnectionCount(currentUser.getId());
-        int pendingReceived = connectionService.getPendingRequestsCount(currentUser.getId());
-        int pendingSent = connectionService.getSentRequestsCount(currentUser.getId());
+        int[] counts = loadNetworkCounts();
+        int totalConnections = counts[0];
+        int pendingReceived = counts[1];
+        int pendingSent = counts[2];
         
         System.out.println("✅ Current Connections: " + totalConnections);
         System.out.println("📥 Pending Requests (incoming): " + pendingReceived);
@@ -1801,10 +2028,13 @@ public class MainMenu {
             System.out.println("   Creators: " + creator);
             System.out.println("   Businesses: " + business);
             
+            // Mutual counts aligned with the connections list
+            int[] mutualCounts = connectionService.getMutualConnectionCounts(currentUser.getId(), connections);
+            
             // Average mutual connections
             int totalMutuals = 0;
-            for (User conn : connections) {
-                totalMutuals += connectionService.getMutualConnections(currentUser.getId(), conn.getId()).size();
+            for (int mutuals : mutualCounts) {
+                totalMutuals += mutuals;
             }
             double avgMutuals = connections.size() > 0 ? (double) totalMutuals / connections.size() : 0;
             System.out.printf("🤝 Average Mutual Connections: %.1f\n", avgMutuals);
@@ -1812,11 +2042,10 @@ public class MainMenu {
             // Most connected friend
             User mostConnected = null;
             int maxMutuals = 0;
-            for (User conn : connections) {
-                int mutuals = connectionService.getMutualConnections(currentUser.getId(), conn.getId()).size();
-                if (mutuals > maxMutuals) {
-                    maxMutuals = mutuals;
-                    mostConnected = conn;
+            for (int i = 0; i < connections.size(); i++) {
+                if (mutualCounts[i] > maxMutuals) {
+                    maxMutuals = mutualCounts[i];
+                    mostConnected = connections.get(i);
                 }
             }
             
@@ -1839,21 +2068,20 @@ public class MainMenu {
         if (connections.isEmpty()) {
             System.out.println("No connections yet.");
         } else {
-            // Sort by mutual connections
-            List<User> sortedConnections = new ArrayList<>(connections);
-            sortedConnections.sort((u1, u2) -> {
-                int mut1 = connectionService.getMutualConnections(currentUser.getId(), u1.getId()).size();
-                int mut2 = connectionService.getMutualConnections(currentUser.getId(), u2.getId()).size();
-                return Integer.compare(mut2, mut1); // Descending order
-            });
+            // Sort by mutual connections, computed once up front
+            int[] mutualCounts = connectionService.getMutualConnectionCounts(currentUser.getId(), connections);
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < connections.size(); i++) {
+                order.add(i);
+            }
+            order.sort((a, b) -> Integer.compare(mutualCounts[b], mutualCounts[a])); // Descending order
             
             System.out.println("Ranked by mutual connections:");
             System.out.println("-".repeat(40));
             
-            for (int i = 0; i < Math.min(10, sortedConnections.size()); i++) {
-                User conn = sortedConnections.get(i);
-                int mutuals = connectionService.getMutualConnections(currentUser.getId(), conn.getId()).size();
-                System.out.printf("%2d. @%-15s Mutual: %d\n", (i+1), conn.getUsername(), mutuals);
+            for (int i = 0; i < Math.min(10, order.size()); i++) {
+                User conn = connections.get(order.get(i));
+                System.out.printf("%2d. @%-15s Mutual: %d\n", (i+1), conn.getUsername(), mutualCounts[order.get(i)]);
             }
         }
         
@@ -1875,9 +2103,10 @@ public class MainMenu {
             System.out.println("Top 5 connection recommendations:");
             System.out.println("-".repeat(40));
             
+            int[] mutualCounts = connectionService.getMutualConnectionCounts(currentUser.getId(), suggestions);
             for (int i = 0; i < Math.min(5, suggestions.size()); i++) {
                 User user = suggestions.get(i);
-                int mutuals = connectionService.getMutualConnections(currentUser.getId(), user.getId()).size();
+                int mutuals = mutualCounts[i];
                 System.out.printf("%d. @%-15s %d mutual friends\n", (i+1), user.getUsername(), mutuals);
             }
             
@@ -1957,10 +2186,21 @@ public class MainMenu {
 
     // ========== HELPER METHODS ==========
     
+    // Connections, incoming and outgoing pending requests, queried in parallel
+    private int[] loadNetworkCounts() {
+        int userId = currentUser.getId();
+        CompletableFuture<Integer> connections = connectionService.getConnectionCountAsync(userId);
+        CompletableFuture<Integer> received = connectionService.getPendingRequestsCountAsync(userId);
+        CompletableFuture<Integer> sent = connectionService.getSentRequestsCountAsync(userId);
+        Async.awaitAll(connections, received, sent);
+        return new int[]{connections.join(), received.join(), sent.join()};
+    }
+    
     private void showConnectionStats() {
-        int totalConnections = connectionService.getConnectionCount(currentUser.getId());
-        int pendingReceived = connectionService.getPendingRequestsCount(currentUser.getId());
-        int pendingSent = connectionService.getSentRequestsCount(currentUser.getId());
+        int[] counts = loadNetworkCounts();
+        int totalConnections = counts[0];
+        int pendingReceived = counts[1];
+        int pendingSent = counts[2];
         
         System.out.println("📊 NETWORK STATS: Connections: " + totalConnections + 
                          " | 📥 Pending: " + pendingReceived + 
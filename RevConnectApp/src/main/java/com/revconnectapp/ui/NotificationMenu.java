@@ -2,30 +2,44 @@ package com.revconnectapp.ui;
 
 import com.revconnectapp.model.User;
 import com.revconnectapp.model.Notification;
+import com.revconnectapp.model.NotificationCursor;
+import com.revconnectapp.model.NotificationPage;
+import com.revconnectapp.service.AppContext;
 import com.revconnectapp.service.NotificationService;
 import com.revconnectapp.util.InputUtil;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class NotificationMenu {
-    private NotificationService notificationService = new NotificationService();
+    private NotificationService notificationService = AppContext.get().notificationService();
     
     public void show(User currentUser) {
-        System.out.println("\n🔔 === NOTIFICATIONS ===");
-        System.out.println("=".repeat(50));
+        int userId = currentUser.getId();
+        NotificationPage page = notificationService.getPage(userId, null, NotificationService.DEFAULT_PAGE_SIZE);
+        List<Notification> notifications = new ArrayList<>(page.getNotifications());
+        int pageNumber = 1;
         
-        int unreadCount = notificationService.getUnreadCount(currentUser.getId());
-        int totalCount = notificationService.getTotalCount(currentUser.getId());
-        
-        System.out.println("📊 Stats: " + unreadCount + " unread / " + totalCount + " total");
-        System.out.println("-".repeat(50));
-        
-        List<Notification> notifications = notificationService.getNotifications(currentUser.getId());
-        
-        if (notifications.isEmpty()) {
-            System.out.println("📭 No notifications yet!");
-            System.out.println("💡 Connect with people and engage with posts to get notifications.");
-        } else {
+        while (true) {
+            System.out.println("\n🔔 === NOTIFICATIONS ===");
+            System.out.println("=".repeat(50));
+            
+            // Both counts come from a cached counter, not from loading the list
+            int unreadCount = notificationService.getUnreadCount(userId);
+            int totalCount = notificationService.getTotalCount(userId);
+            
+            System.out.println("📊 Stats: " + unreadCount + " unread / " + totalCount + " total");
+            System.out.println("-".repeat(50));
+            
+            if (notifications.isEmpty()) {
+                System.out.println("📭 No notifications yet!");
+                System.out.println("💡 Connect with people and engage with posts to get notifications.");
+                break;
+            }
+            
             // Display notifications
+            System.out.println("📄 Page " + pageNumber);
             for (int i = 0; i < notifications.size(); i++) {
                 Notification n = notifications.get(i);
                 String statusIcon = n.isRead() ? "📭" : "📬";
@@ -45,25 +59,73 @@ public class NotificationMenu {
             System.out.println("3. 🗑️ Delete Notification (by number)");
             System.out.println("4. 🗑️ Delete All Read Notifications");
             System.out.println("5. 🔄 Refresh List");
+            if (page.hasMore()) {
+                System.out.println("6. Next page ➡️");
+            }
             System.out.println("0. ↩️ Back to Dashboard");
             
             System.out.print("\nYour choice: ");
             int choice = InputUtil.getInt();
             
+            if (choice == 5) {
+                // Page 1 only pulls in what changed since it was loaded; deeper pages start over
+                List<Notification> merged = pageNumber == 1 ? refresh(userId, notifications) : null;
+                if (merged == null) {
+                    page = notificationService.getPage(userId, null, NotificationService.DEFAULT_PAGE_SIZE);
+                    merged = new ArrayList<>(page.getNotifications());
+                    pageNumber = 1;
+                }
+                notifications = merged;
+                continue;
+            }
+            if (choice == 6 && page.hasMore()) {
+                page = notificationService.getPage(userId, page.getNextCursor(), NotificationService.DEFAULT_PAGE_SIZE);
+                notifications = new ArrayList<>(page.getNotifications());
+                pageNumber++;
+                continue;
+            }
+            
             switch (choice) {
-                case 1 -> markAsRead(notifications, currentUser.getId());
-                case 2 -> markAllAsRead(currentUser.getId());
-                case 3 -> deleteNotification(notifications, currentUser.getId());
-                case 4 -> deleteAllReadNotifications(currentUser.getId());
-                case 5 -> show(currentUser); // Refresh
+                case 1 -> markAsRead(notifications, userId);
+                case 2 -> markAllAsRead(userId);
+                case 3 -> deleteNotification(notifications, userId);
+                case 4 -> deleteAllReadNotifications(userId);
                 default -> {}
             }
+            break;
         }
         
         System.out.println("\n⏎ Press Enter to continue...");
         InputUtil.getString();
     }
     
+    // Merges the delta since the newest stored notification shown into the list; null to reload
+    private List<Notification> refresh(int userId, List<Notification> shown) {
+        Notification newest = null;
+        for (Notification n : shown) {
+            // Pending notifications (negative ids) are always part of the delta
+            if (n.getId() > 0) {
+                newest = n;
+                break;
+            }
+        }
+        if (newest == null) return null;
+        
+        List<Notification> delta = notificationService.getSince(userId, NotificationCursor.of(newest));
+        if (delta == null) return null;
+        
+        Set<Integer> updated = new HashSet<>();
+        for (Notification n : delta) updated.add(n.getId());
+        List<Notification> merged = new ArrayList<>(delta);
+        for (Notification n : shown) {
+            if (n.getId() > 0 && !updated.contains(n.getId())) merged.add(n);
+        }
+        if (!delta.isEmpty()) {
+            System.out.println("🆕 " + delta.size() + " new or updated notification(s)");
+        }
+        return merged;
+    }
+    
     private void markAsRead(List<Notification> notifications, int userId) {
         if (notifications.isEmpty()) return;
         
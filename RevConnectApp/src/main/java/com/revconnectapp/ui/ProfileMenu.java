@@ -2,12 +2,13 @@ package com.revconnectapp.ui;
 
 import com.revconnectapp.model.Profile;
 import com.revconnectapp.model.User;
+import com.revconnectapp.service.AppContext;
 import com.revconnectapp.service.ProfileService;
 import com.revconnectapp.util.InputUtil;
 import java.util.List;
 
 public class ProfileMenu {
-    private final ProfileService profileService = new ProfileService();
+    private final ProfileService profileService = AppContext.get().profileService();
 
     public void show(User currentUser) {
         Profile myProfile = profileService.getProfile(currentUser.getId());
@@ -0,0 +1,113 @@
+package com.revconnectapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent reads in parallel so a screen waits for the slowest query
+ * instead of the sum of all of them.
+ *
+ * Reads run on a small shared pool sized to the connection pool
+ * ({@code revconnect.async.threads}, default {@code revconnect.pool.maxSize}),
+ * so fan-out never asks MySQL for more connections than the pool holds. When
+ * the pool and its queue are full the read runs on the calling thread, which
+ * is the old sequential behaviour rather than an error.
+ *
+ * <pre>
+ * CompletableFuture&lt;Integer&gt; likes = Async.supply(() -&gt; likeService.getLikeCount(id));
+ * CompletableFuture&lt;Integer&gt; comments = Async.supply(() -&gt; commentService.getCommentCount(id));
+ * Async.awaitAll(likes, comments);
+ * int total = likes.join() + comments.join();
+ * </pre>
+ */
+public final class Async {
+
+    private static final int THREADS = Integer.getInteger("revconnect.async.threads",
+            Integer.getInteger("revconnect.pool.maxSize", 10));
+    private static final int QUEUE = Integer.getInteger("revconnect.async.queue", 256);
+
+    private static final LongAdder submitted = new LongAdder();
+    private static final LongAdder ranInline = new LongAdder();
+
+    private static final Lazy<ThreadPoolExecutor> executor = new Lazy<>(() -> {
+        AtomicInteger n = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE), r -> {
+                    Thread t = new Thread(r, "revconnect-async-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, (r, p) -> {
+                    ranInline.increment();
+                    r.run();
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    });
+
+    private Async() {}
+
+    /** Starts {@code read} on the shared pool. */
+    public static <T> CompletableFuture<T> supply(Supplier<T> read) {
+        submitted.increment();
+        ThreadPoolExecutor pool = executor.get();
+        if (pool.isShutdown()) return CompletableFuture.completedFuture(read.get());
+        return CompletableFuture.supplyAsync(read, pool);
+    }
+
+    /** Waits for every future; the first failure is rethrown unwrapped. */
+    public static void awaitAll(CompletableFuture<?>... futures) {
+        await(CompletableFuture.allOf(futures));
+    }
+
+    /** Waits for one future; a failure is rethrown unwrapped. */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new CompletionException(cause);
+        }
+    }
+
+    /** One future completing with every result, in the order given. */
+    public static <T> CompletableFuture<List<T>> all(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> f : futures) results.add(f.join());
+            return results;
+        });
+    }
+
+    public static String describe() {
+        ThreadPoolExecutor pool = executor.isInitialized() ? executor.get() : null;
+        return String.format("Async{threads=%d, active=%d, queued=%d, submitted=%d, ranInline=%d}",
+                THREADS, pool != null ? pool.getActiveCount() : 0, pool != null ? pool.getQueue().size() : 0,
+                submitted.sum(), ranInline.sum());
+    }
+
+    /** Lets running reads finish; later reads run on the caller. */
+    public static void shutdown() {
+        if (!executor.isInitialized()) return;
+        ThreadPoolExecutor pool = executor.get();
+        pool.shutdown();
+        try {
+            pool.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.revconnectapp.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded JDBC connection pool used behind {@link ConnectionUtil}.
+ *
+ * Borrowed connections are proxies: calling close() hands the physical
+ * connection back to the pool instead of tearing down the TCP session, so
+ * the existing try-with-resources blocks in the DAOs keep working unchanged.
+ * Each physical connection also carries a {@link StatementCache}, so the
+ * DAOs' static SQL is prepared once per connection rather than once per call.
+ */
+public class ConnectionPool {
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long waitTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long validationIntervalMs;
+    private final int statementCacheSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // LIFO so the most recently used (and most likely still warm) connection is reused first
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private int total;
+    private int active;
+    private int waiters;
+    private boolean closed;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowNanos = new AtomicLong();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String url, String user, String password,
+                          int minIdle, int maxSize, long waitTimeoutMs,
+                          long idleTimeoutMs, long maxLifetimeMs) {
+        this(url, user, password, minIdle, maxSize, waitTimeoutMs, idleTimeoutMs, maxLifetimeMs, 0);
+    }
+
+    public ConnectionPool(String url, String user, String password,
+                          int minIdle, int maxSize, long waitTimeoutMs,
+                          long idleTimeoutMs, long maxLifetimeMs, int statementCacheSize) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minIdle + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.validationIntervalMs = 500;
+        this.statementCacheSize = statementCacheSize;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revconnect-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMs, 30_000) / 2);
+        housekeeper.scheduleWithFixedDelay(this::evictAndRefill, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the configured wait timeout when the
+     * pool is exhausted.
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        PooledConnection pc = null;
+
+        while (pc == null) {
+            boolean mayCreate = false;
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is shut down");
+                    }
+                    if (!idle.isEmpty()) {
+                        pc = idle.pollFirst();
+                        active++;
+                        break;
+                    }
+                    if (total < maxSize) {
+                        total++;
+                        active++;
+                        mayCreate = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeouts.incrementAndGet();
+                        throw new SQLTimeoutException("Timed out after " + waitTimeoutMs
+                                + " ms waiting for a database connection (active=" + active
+                                + ", max=" + maxSize + ")");
+                    }
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (mayCreate) {
+                // Open the physical connection outside the lock so a slow handshake
+                // doesn't block other borrowers that could be served from the idle list
+                try {
+                    pc = newPooledConnection();
+                } catch (SQLException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            } else if (!isUsable(pc)) {
+                destroy(pc);
+                releaseSlot();
+                pc = null;
+            }
+        }
+
+        pc.lastBorrowed = System.currentTimeMillis();
+        recordBorrow(System.nanoTime() - start);
+        return pc.newHandle();
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        long now = System.currentTimeMillis();
+        if (now - pc.createdAt >= maxLifetimeMs) {
+            return false;
+        }
+        // Connections used moments ago are trusted; anything older is pinged
+        if (now - pc.lastReturned < validationIntervalMs) {
+            return true;
+        }
+        try {
+            return pc.physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection newPooledConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        created.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.incrementAndGet();
+        borrowNanos.addAndGet(nanos);
+        long max;
+        while (nanos > (max = maxBorrowNanos.get())) {
+            if (maxBorrowNanos.compareAndSet(max, nanos)) break;
+        }
+    }
+
+    // Give back a slot that was reserved for a connection we failed to open or discarded
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            total--;
+            active--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(PooledConnection pc, boolean broken) {
+        long now = System.currentTimeMillis();
+        boolean retire = broken || closed || now - pc.createdAt >= maxLifetimeMs;
+        if (!retire) {
+            try {
+                if (!pc.physical.getAutoCommit()) {
+                    pc.physical.rollback();
+                    pc.physical.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                retire = true;
+            }
+        }
+
+        if (retire) {
+            destroy(pc);
+            releaseSlot();
+            return;
+        }
+
+        pc.statements.releaseAll();
+        pc.lastReturned = now;
+        lock.lock();
+        try {
+            active--;
+            idle.addFirst(pc);
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        destroyed.incrementAndGet();
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            // Already broken - nothing left to release
+        }
+    }
+
+    /**
+     * Retire idle connections past the idle timeout or max lifetime, then top
+     * the pool back up to the configured minimum.
+     */
+    void evictAndRefill() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        int toCreate;
+        lock.lock();
+        try {
+            if (closed) return;
+            long now = System.currentTimeMillis();
+            // Oldest-returned connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                boolean expired = now - pc.createdAt >= maxLifetimeMs;
+                boolean stale = now - pc.lastReturned >= idleTimeoutMs && total - evicted.size() > minIdle;
+                if (expired || stale) {
+                    it.remove();
+                    evicted.add(pc);
+                }
+            }
+            total -= evicted.size();
+            toCreate = Math.max(0, Math.min(minIdle - idle.size(), maxSize - total));
+            total += toCreate;
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledConnection pc : evicted) {
+            destroy(pc);
+        }
+        for (int i = 0; i < toCreate; i++) {
+            try {
+                PooledConnection pc = newPooledConnection();
+                pc.lastReturned = System.currentTimeMillis();
+                boolean discard;
+                lock.lock();
+                try {
+                    discard = closed;
+                    if (discard) {
+                        total--;
+                    } else {
+                        idle.addFirst(pc);
+                        available.signal();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (discard) {
+                    destroy(pc);
+                }
+            } catch (SQLException e) {
+                System.err.println("Warning: Could not refill connection pool: " + e.getMessage());
+                lock.lock();
+                try {
+                    total -= toCreate - i;
+                } finally {
+                    lock.unlock();
+                }
+                break;
+            }
+        }
+    }
+
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            long count = borrowCount.get();
+            return new PoolStats(active, idle.size(), total, waiters, maxSize,
+                    count, count == 0 ? 0 : borrowNanos.get() / count, maxBorrowNanos.get(),
+                    timeouts.get(), created.get(), destroyed.get(),
+                    statementHits.sum(), statementMisses.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close idle connections and stop handing out new ones. Connections still
+     * borrowed are closed when they are returned.
+     */
+    public void shutdown() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        for (PooledConnection pc : toClose) {
+            destroy(pc);
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool. Each borrow gets its own
+     * lightweight handle so a late close() from a previous borrower can't
+     * return the connection twice.
+     */
+    final class PooledConnection {
+        final Connection physical;
+        final StatementCache statements;
+        final long createdAt;
+        volatile long lastBorrowed;
+        volatile long lastReturned;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical, statementCacheSize, statementHits, statementMisses);
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturned = createdAt;
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean released;
+        private boolean broken;
+
+        Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pc, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pc.physical.isClosed();
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(pc.physical)) return pc.physical;
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pc.physical + "]";
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (name.equals("prepareStatement") && isCacheable(args)) {
+                int keys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                try {
+                    return pc.statements.prepare((String) args[0], keys);
+                } catch (SQLException e) {
+                    if (isFatal(e)) broken = true;
+                    throw e;
+                }
+            }
+            try {
+                return method.invoke(pc.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException && isFatal((SQLException) cause)) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    // prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys)
+    private static boolean isCacheable(Object[] args) {
+        return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+    }
+
+    // SQLState class 08 = connection exception; the physical link can't be reused
+    private static boolean isFatal(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
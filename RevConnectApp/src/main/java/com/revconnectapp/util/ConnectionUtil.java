@@ -1,17 +1,69 @@
 package com.revconnectapp.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 
 public class ConnectionUtil {
-    private static final String URL = "jdbc:mysql://localhost:3306/revconnectdb?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC";
+    private static final String URL = "jdbc:mysql://localhost:3306/revconnectdb?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC&useServerPrepStmts=true";
     private static final String USER = "root";  // CHANGE THIS
     private static final String PASS = "123456789";  // CHANGE THIS
 
+    // Pool sizing - override with -Drevconnect.pool.<name>=value
+    private static final int POOL_MIN_IDLE = intProperty("minIdle", 2);
+    private static final int POOL_MAX_SIZE = intProperty("maxSize", 10);
+    private static final long POOL_WAIT_TIMEOUT_MS = intProperty("waitTimeoutMs", 5_000);
+    private static final long POOL_IDLE_TIMEOUT_MS = intProperty("idleTimeoutMs", 300_000);
+    private static final long POOL_MAX_LIFETIME_MS = intProperty("maxLifetimeMs", 1_800_000);
+    private static final int STATEMENT_CACHE_SIZE = intProperty("statementCacheSize", 64);
+
+    private static volatile ConnectionPool pool;
+
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASS);
+        return getPool().getConnection();
+    }
+
+    private static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (ConnectionUtil.class) {
+                p = pool;
+                if (p == null) {
+                    p = new ConnectionPool(URL, USER, PASS, POOL_MIN_IDLE, POOL_MAX_SIZE,
+                            POOL_WAIT_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_MAX_LIFETIME_MS,
+                            STATEMENT_CACHE_SIZE);
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Current pool usage (active, idle, waiters, borrow latency, statement cache hits).
+     */
+    public static PoolStats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    /**
+     * Close all pooled connections. The next getConnection() starts a fresh pool.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty("revconnect.pool." + name);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
 
     public static boolean testConnection() {
@@ -19,6 +71,7 @@ public class ConnectionUtil {
             if (conn != null && !conn.isClosed()) {
                 System.out.println("✅ Database connected successfully!");
                 System.out.println("DB: " + conn.getCatalog());
+                System.out.println("Pool: " + getPoolStats());
                 return true;
             }
         } catch (SQLException e) {
@@ -0,0 +1,86 @@
+package com.revconnectapp.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Approximate counts for an unbounded set of string keys in fixed memory:
+ * {@code depth} rows of {@code width} counters, each key hashed to one
+ * counter per row. A key's estimate is the smallest of its counters, so it
+ * never undercounts and overcounts by at most about {@code 2 * total / width}
+ * with high probability.
+ *
+ * Counters are atomic, so any number of threads can add without locking.
+ * Sketches of the same shape are linear: {@link #merge} adds or subtracts one
+ * into another, which is how windowed totals are kept.
+ *
+ * Hash a key once with {@link #hash} and pass the hash to every sketch it
+ * goes into.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final AtomicIntegerArray cells;
+
+    public CountMinSketch(int width, int depth) {
+        if (Integer.bitCount(width) != 1 || depth <= 0 || depth > 16) {
+            throw new IllegalArgumentException("width must be a power of two and depth 1..16: " + width + "x" + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.cells = new AtomicIntegerArray(width * depth);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /** 64-bit hash of a key; the rows derive their positions from its two halves. */
+    public static long hash(String key) {
+        long h = key.hashCode() * 0x9E3779B97F4A7C15L + key.length();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    public void add(long hash, int delta) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int row = 0; row < depth; row++) {
+            cells.getAndAdd(row * width + ((h1 + row * h2) & (width - 1)), delta);
+        }
+    }
+
+    public int estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, cells.get(row * width + ((h1 + row * h2) & (width - 1))));
+        }
+        return Math.max(0, min);
+    }
+
+    /** Adds {@code sign} times every counter of {@code other}, which must have the same shape. */
+    public void merge(CountMinSketch other, int sign) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Sketch shapes differ");
+        }
+        for (int i = 0; i < cells.length(); i++) {
+            int v = other.cells.get(i);
+            if (v != 0) cells.getAndAdd(i, sign * v);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+    }
+}
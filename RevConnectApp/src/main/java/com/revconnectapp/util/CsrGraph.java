@@ -0,0 +1,120 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Immutable directed graph in compressed sparse row form. The neighbours of
+ * vertex v are {@code targets[offsets[v] .. offsets[v + 1])}, sorted ascending
+ * and free of duplicates, so membership is a binary search and two
+ * neighbour lists can be merged without copying.
+ *
+ * Vertex ids are used directly as row indexes, which suits auto-increment
+ * user ids.
+ */
+public final class CsrGraph {
+    private static final CsrGraph EMPTY = new CsrGraph(new int[1], new int[0]);
+
+    private final int[] offsets;
+    private final int[] targets;
+
+    private CsrGraph(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public static CsrGraph empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a graph from parallel edge arrays. With {@code symmetric} every
+     * edge is stored in both directions.
+     */
+    public static CsrGraph fromEdges(int[] src, int[] dst, int edgeCount, boolean symmetric) {
+        int maxId = -1;
+        for (int i = 0; i < edgeCount; i++) {
+            if (src[i] < 0 || dst[i] < 0) {
+                throw new IllegalArgumentException("negative vertex id in edge " + src[i] + "->" + dst[i]);
+            }
+            maxId = Math.max(maxId, Math.max(src[i], dst[i]));
+        }
+        if (maxId < 0) return EMPTY;
+
+        // Counting sort by source vertex
+        int[] offsets = new int[maxId + 2];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[src[i] + 1]++;
+            if (symmetric) offsets[dst[i] + 1]++;
+        }
+        for (int v = 0; v <= maxId; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[offsets[maxId + 1]];
+        int[] cursor = Arrays.copyOf(offsets, maxId + 1);
+        for (int i = 0; i < edgeCount; i++) {
+            targets[cursor[src[i]]++] = dst[i];
+            if (symmetric) targets[cursor[dst[i]]++] = src[i];
+        }
+
+        // Sort each row and squeeze out duplicate edges in place
+        int write = 0;
+        int rowStart = 0;
+        for (int v = 0; v <= maxId; v++) {
+            int rowEnd = offsets[v + 1];
+            Arrays.sort(targets, rowStart, rowEnd);
+            offsets[v] = write;
+            for (int i = rowStart; i < rowEnd; i++) {
+                if (i == rowStart || targets[i] != targets[i - 1]) {
+                    targets[write++] = targets[i];
+                }
+            }
+            rowStart = rowEnd;
+        }
+        offsets[maxId + 1] = write;
+        return new CsrGraph(offsets, write == targets.length ? targets : Arrays.copyOf(targets, write));
+    }
+
+    /** Number of rows, i.e. highest vertex id + 1. */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int degree(int v) {
+        if (v < 0 || v >= vertexCount()) return 0;
+        return offsets[v + 1] - offsets[v];
+    }
+
+    public boolean hasEdge(int u, int v) {
+        if (u < 0 || u >= vertexCount()) return false;
+        return Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v) >= 0;
+    }
+
+    /** Sorted copy of v's neighbours. */
+    public int[] neighbors(int v) {
+        if (v < 0 || v >= vertexCount()) return new int[0];
+        return Arrays.copyOfRange(targets, offsets[v], offsets[v + 1]);
+    }
+
+    // Zero-copy access for merge-style algorithms: row v is targets()[start(v) .. end(v))
+
+    public int start(int v) {
+        return v < 0 || v >= vertexCount() ? 0 : offsets[v];
+    }
+
+    public int end(int v) {
+        return v < 0 || v >= vertexCount() ? 0 : offsets[v + 1];
+    }
+
+    public int[] targets() {
+        return targets;
+    }
+
+    /** Approximate heap footprint of the two arrays. */
+    public long memoryBytes() {
+        return 4L * (offsets.length + targets.length) + 32;
+    }
+}
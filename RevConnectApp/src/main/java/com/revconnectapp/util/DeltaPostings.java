@@ -0,0 +1,150 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Compressed posting list of (document, positions) entries in ascending
+ * document order. Each entry is the gap from the previous document, the
+ * number of positions, and the gaps between positions, all as variable-length
+ * ints (7 bits per byte), so small gaps take one byte instead of four.
+ *
+ * A {@link Writer} appends entries; a {@link Reader} walks them forward.
+ * Neither is thread-safe, but a reader only sees the bytes that existed when
+ * it was created, so readers of a frozen list can run concurrently.
+ */
+public final class DeltaPostings {
+
+    private DeltaPostings() {}
+
+    public static final class Writer {
+        private byte[] bytes;
+        private int length;
+        private int lastDoc = -1;
+        private int docCount;
+
+        public Writer() {
+            this(16);
+        }
+
+        public Writer(int initialCapacity) {
+            bytes = new byte[Math.max(4, initialCapacity)];
+        }
+
+        /** Appends a document, which must be larger than the last one, with its ascending positions. */
+        public void add(int doc, int[] positions, int count) {
+            if (doc <= lastDoc) {
+                throw new IllegalArgumentException("Documents must ascend: " + doc + " after " + lastDoc);
+            }
+            writeVInt(doc - lastDoc - 1);
+            writeVInt(count);
+            int last = 0;
+            for (int i = 0; i < count; i++) {
+                writeVInt(positions[i] - last);
+                last = positions[i];
+            }
+            lastDoc = doc;
+            docCount++;
+        }
+
+        public int docCount() {
+            return docCount;
+        }
+
+        public int lastDoc() {
+            return lastDoc;
+        }
+
+        public int byteLength() {
+            return length;
+        }
+
+        /** Reader over the entries written so far. */
+        public Reader reader() {
+            return new Reader(bytes, length, docCount);
+        }
+
+        /** Trimmed copy of the bytes, for freezing into a read-only segment. */
+        public byte[] toBytes() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        private void writeVInt(int v) {
+            if (length + 5 > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            while ((v & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[length++] = (byte) v;
+        }
+    }
+
+    public static final class Reader {
+        private final byte[] bytes;
+        private final int length;
+        private final int docCount;
+        private int offset;
+        private int doc = -1;
+        private int freq;
+        private int[] positions = new int[4];
+
+        public Reader(byte[] bytes, int length, int docCount) {
+            this.bytes = bytes;
+            this.length = length;
+            this.docCount = docCount;
+        }
+
+        /** Documents in the list, including any since deleted. */
+        public int docCount() {
+            return docCount;
+        }
+
+        /** Moves to the next entry; false at the end. */
+        public boolean next() {
+            if (offset >= length) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            doc += readVInt() + 1;
+            freq = readVInt();
+            if (positions.length < freq) positions = new int[Math.max(freq, positions.length * 2)];
+            int p = 0;
+            for (int i = 0; i < freq; i++) {
+                p += readVInt();
+                positions[i] = p;
+            }
+            return true;
+        }
+
+        /** Moves to the first entry at or after target; false if there is none. */
+        public boolean advance(int target) {
+            if (doc == Integer.MAX_VALUE) return false;
+            while (doc < target) {
+                if (!next()) return false;
+            }
+            return true;
+        }
+
+        /** Current document; -1 before the first {@link #next()}, MAX_VALUE after the end. */
+        public int doc() {
+            return doc;
+        }
+
+        public int freq() {
+            return freq;
+        }
+
+        /** Positions of the current entry; only the first {@link #freq()} are valid. */
+        public int[] positions() {
+            return positions;
+        }
+
+        private int readVInt() {
+            int v = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[offset++];
+                v |= (b & 0x7F) << shift;
+                if (b >= 0) return v;
+            }
+        }
+    }
+}
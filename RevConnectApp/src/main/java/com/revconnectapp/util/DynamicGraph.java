@@ -0,0 +1,272 @@
+package com.revconnectapp.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link CsrGraph} base plus a small overlay of edges added and removed
+ * since it was built. Reads consult the overlay first; once the overlay grows
+ * past a fraction of the base it is folded into a fresh CSR.
+ *
+ * A reload from the database runs between {@link #beginReload()} and
+ * {@link #finishReload(CsrGraph)}. Edits made in that window are replayed
+ * on top of the new base, so none are lost to the swap.
+ *
+ * Thread-safe: reads share a read lock, edits take the write lock.
+ */
+public class DynamicGraph {
+    private static final int MIN_COMPACT_THRESHOLD = 1024;
+
+    private final boolean symmetric;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private CsrGraph base = CsrGraph.empty();
+    private final Map<Integer, TreeSet<Integer>> added = new HashMap<>();
+    private final Map<Integer, TreeSet<Integer>> removed = new HashMap<>();
+    private int overlayEdges;
+
+    // Non-null while a reload is in flight: {u, v, 1 = add / 0 = remove}
+    private List<int[]> journal;
+
+    public DynamicGraph(boolean symmetric) {
+        this.symmetric = symmetric;
+    }
+
+    public boolean hasEdge(int u, int v) {
+        lock.readLock().lock();
+        try {
+            return hasEdgeLocked(u, v);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int degree(int v) {
+        lock.readLock().lock();
+        try {
+            return base.degree(v) + sizeOf(added, v) - sizeOf(removed, v);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Sorted neighbours of v. */
+    public int[] neighbors(int v) {
+        lock.readLock().lock();
+        try {
+            TreeSet<Integer> plus = added.get(v);
+            TreeSet<Integer> minus = removed.get(v);
+            if (plus == null && minus == null) {
+                return base.neighbors(v);
+            }
+            IntList result = new IntList(base.degree(v) + (plus == null ? 0 : plus.size()));
+            int[] targets = base.targets();
+            int i = base.start(v), end = base.end(v);
+            // Merge the sorted base row with the sorted additions
+            Iterator<Integer> extra = plus == null ? null : plus.iterator();
+            int next = extra != null && extra.hasNext() ? extra.next() : Integer.MAX_VALUE;
+            while (i < end || next != Integer.MAX_VALUE) {
+                if (i < end && targets[i] < next) {
+                    if (minus == null || !minus.contains(targets[i])) result.add(targets[i]);
+                    i++;
+                } else {
+                    result.add(next);
+                    next = extra.hasNext() ? extra.next() : Integer.MAX_VALUE;
+                }
+            }
+            return result.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns false if the edge was already present. */
+    public boolean addEdge(int u, int v) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) journal.add(new int[]{u, v, 1});
+            boolean changed = addLocked(u, v);
+            maybeCompact();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns false if the edge was not present. */
+    public boolean removeEdge(int u, int v) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) journal.add(new int[]{u, v, 0});
+            boolean changed = removeLocked(u, v);
+            maybeCompact();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void beginReload() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishReload(CsrGraph fresh) {
+        lock.writeLock().lock();
+        try {
+            base = fresh;
+            clearOverlay();
+            if (journal != null) {
+                for (int[] edit : journal) {
+                    if (edit[2] == 1) addLocked(edit[0], edit[1]);
+                    else removeLocked(edit[0], edit[1]);
+                }
+                journal = null;
+            }
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ends a failed reload; edits made meanwhile stay in the overlay. */
+    public void abortReload() {
+        lock.writeLock().lock();
+        try {
+            journal = null;
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int edgeCount() {
+        lock.readLock().lock();
+        try {
+            int count = base.edgeCount();
+            for (TreeSet<Integer> row : added.values()) count += row.size();
+            for (TreeSet<Integer> row : removed.values()) count -= row.size();
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int overlaySize() {
+        lock.readLock().lock();
+        try {
+            return overlayEdges;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Approximate heap footprint: CSR arrays plus ~48 bytes per boxed overlay entry. */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return base.memoryBytes() + 48L * overlayEdges;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Folds the overlay into a new CSR base. */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean hasEdgeLocked(int u, int v) {
+        TreeSet<Integer> plus = added.get(u);
+        if (plus != null && plus.contains(v)) return true;
+        TreeSet<Integer> minus = removed.get(u);
+        if (minus != null && minus.contains(v)) return false;
+        return base.hasEdge(u, v);
+    }
+
+    private boolean addLocked(int u, int v) {
+        if (hasEdgeLocked(u, v)) return false;
+        addDirected(u, v);
+        if (symmetric && u != v) addDirected(v, u);
+        return true;
+    }
+
+    private boolean removeLocked(int u, int v) {
+        if (!hasEdgeLocked(u, v)) return false;
+        removeDirected(u, v);
+        if (symmetric && u != v) removeDirected(v, u);
+        return true;
+    }
+
+    // Keeps the invariants: added is disjoint from base, removed is a subset of base
+    private void addDirected(int u, int v) {
+        if (!unmark(removed, u, v)) {
+            added.computeIfAbsent(u, k -> new TreeSet<>()).add(v);
+            overlayEdges++;
+        }
+    }
+
+    private void removeDirected(int u, int v) {
+        if (!unmark(added, u, v)) {
+            removed.computeIfAbsent(u, k -> new TreeSet<>()).add(v);
+            overlayEdges++;
+        }
+    }
+
+    private boolean unmark(Map<Integer, TreeSet<Integer>> overlay, int u, int v) {
+        TreeSet<Integer> row = overlay.get(u);
+        if (row == null || !row.remove(v)) return false;
+        if (row.isEmpty()) overlay.remove(u);
+        overlayEdges--;
+        return true;
+    }
+
+    private void maybeCompact() {
+        if (journal == null && overlayEdges > Math.max(MIN_COMPACT_THRESHOLD, base.edgeCount() / 8)) {
+            compactLocked();
+        }
+    }
+
+    private void compactLocked() {
+        if (overlayEdges == 0) return;
+        int vertices = base.vertexCount();
+        for (int u : added.keySet()) vertices = Math.max(vertices, u + 1);
+        IntList src = new IntList(base.edgeCount() + overlayEdges);
+        IntList dst = new IntList(base.edgeCount() + overlayEdges);
+        // The write lock holder may take the read lock inside neighbors()
+        for (int u = 0; u < vertices; u++) {
+            for (int v : neighbors(u)) {
+                src.add(u);
+                dst.add(v);
+            }
+        }
+        // Rows already hold both directions, so build as directed
+        base = CsrGraph.fromEdges(src.rawArray(), dst.rawArray(), src.size(), false);
+        clearOverlay();
+    }
+
+    private void clearOverlay() {
+        added.clear();
+        removed.clear();
+        overlayEdges = 0;
+    }
+
+    private static int sizeOf(Map<Integer, TreeSet<Integer>> overlay, int v) {
+        TreeSet<Integer> row = overlay.get(v);
+        return row == null ? 0 : row.size();
+    }
+}
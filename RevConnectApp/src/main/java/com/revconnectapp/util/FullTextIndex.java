@@ -0,0 +1,609 @@
+package com.revconnectapp.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Full-text index with BM25 ranking, phrase and boolean queries.
+ *
+ * Each document is a piece of text with a caller key (e.g. a post or one
+ * comment), a group it belongs to (the post id), and a boost. Searches score
+ * documents and return the best groups, a group scoring as its best document.
+ *
+ * Documents get ascending internal numbers and their terms go into an
+ * in-memory buffer of {@link DeltaPostings}. Every {@code flushDocs}
+ * documents the buffer is frozen into an immutable segment. When there are
+ * more than {@code mergeFactor} segments, the merge executor combines
+ * adjacent ones in the background, dropping deleted documents; writers never
+ * wait for a merge, only for the final swap of the segment list. Edits are a
+ * delete plus an add; deletes are a bitset checked at search time until a
+ * merge drops them.
+ *
+ * Query syntax, after {@link TextAnalyzer}: words are required by default;
+ * {@code "quoted words"} is a phrase; {@code OR} between clauses makes them
+ * alternatives, of which at least one must match, so {@code a OR b c OR d}
+ * means (a or b) and (c or d); {@code -word} or {@code NOT word} excludes.
+ */
+public class FullTextIndex {
+
+    public enum Occur { MUST, SHOULD, MUST_NOT }
+
+    /**
+     * A term, or a phrase of terms at fixed offsets from the first. SHOULD
+     * clauses joined by one run of {@code OR} share a group; each group must
+     * match at least once.
+     */
+    public static final class Clause {
+        final Occur occur;
+        final String[] terms;
+        final int[] offsets;
+        final int group;
+
+        Clause(Occur occur, String[] terms, int[] offsets, int group) {
+            this.occur = occur;
+            this.terms = terms;
+            this.offsets = offsets;
+            this.group = group;
+        }
+
+        public Occur getOccur() { return occur; }
+        public int getGroup() { return group; }
+        public boolean isPhrase() { return terms.length > 1; }
+
+        @Override
+        public String toString() {
+            return occur + (isPhrase() ? " \"" + String.join(" ", terms) + "\"" : " " + terms[0]);
+        }
+    }
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final int flushDocs;
+    private final int mergeFactor;
+    private final Executor mergeExecutor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Per internal document number
+    private long[] docKey = new long[1024];
+    private int[] docGroup = new int[1024];
+    private int[] docLength = new int[1024];
+    private float[] docBoost = new float[1024];
+    private int maxDoc;
+    private final BitSet deleted = new BitSet();
+    private int liveDocs;
+    private long liveLength;
+
+    private final Map<Long, Integer> docByKey = new HashMap<>();
+    private final Map<Integer, IntList> docsByGroup = new HashMap<>();
+
+    private Map<String, DeltaPostings.Writer> buffer = new HashMap<>();
+    private int bufferDocs;
+    // Only the merger removes segments; flushes append
+    private volatile List<Segment> segments = Collections.emptyList();
+
+    private final AtomicBoolean merging = new AtomicBoolean();
+    private final LongAdder merges = new LongAdder();
+
+    public FullTextIndex(int flushDocs, int mergeFactor, Executor mergeExecutor) {
+        if (flushDocs <= 0 || mergeFactor < 2) {
+            throw new IllegalArgumentException("flushDocs must be positive and mergeFactor at least 2");
+        }
+        this.flushDocs = flushDocs;
+        this.mergeFactor = mergeFactor;
+        this.mergeExecutor = mergeExecutor;
+    }
+
+    // ===== Writes =====
+
+    /** Adds or replaces the document with this key. */
+    public void put(long key, int group, String text, float boost) {
+        List<String> terms = new ArrayList<>();
+        IntList positions = new IntList();
+        int length = TextAnalyzer.analyze(text, terms, positions);
+        // Positions per distinct term, in text order
+        Map<String, IntList> byTerm = new HashMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            byTerm.computeIfAbsent(terms.get(i), t -> new IntList(2)).add(positions.get(i));
+        }
+        boolean flushed;
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByKey.get(key);
+            if (previous != null) markDeleted(previous);
+            int doc = maxDoc++;
+            ensureCapacity(maxDoc);
+            docKey[doc] = key;
+            docGroup[doc] = group;
+            docLength[doc] = length;
+            docBoost[doc] = boost;
+            liveDocs++;
+            liveLength += length;
+            docByKey.put(key, doc);
+            addToGroup(group, doc);
+            for (Map.Entry<String, IntList> e : byTerm.entrySet()) {
+                IntList p = e.getValue();
+                buffer.computeIfAbsent(e.getKey(), t -> new DeltaPostings.Writer()).add(doc, p.rawArray(), p.size());
+            }
+            flushed = ++bufferDocs >= flushDocs && flushBuffer();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (flushed) scheduleMerge();
+    }
+
+    public boolean remove(long key) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByKey.get(key);
+            if (doc == null) return false;
+            markDeleted(doc);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Deletes every document of the group. */
+    public int removeGroup(int group) {
+        lock.writeLock().lock();
+        try {
+            IntList docs = docsByGroup.remove(group);
+            if (docs == null) return 0;
+            int removed = 0;
+            for (int i = 0; i < docs.size(); i++) {
+                if (markDeleted(docs.get(i))) removed++;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Freezes the buffer into a segment now rather than at the next {@code flushDocs}. */
+    public void flush() {
+        boolean flushed;
+        lock.writeLock().lock();
+        try {
+            flushed = flushBuffer();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (flushed) scheduleMerge();
+    }
+
+    // ===== Search =====
+
+    /** Best groups for the query, best first. */
+    public int[] search(String query, int limit) {
+        return search(parse(query), limit);
+    }
+
+    public int[] search(List<Clause> clauses, int limit) {
+        if (clauses.isEmpty() || limit <= 0) return new int[0];
+        Map<Integer, Float> groupScores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            List<Source> sources = sources();
+            Hits must = null, mustNot = null;
+            Map<Integer, Hits> should = new HashMap<>();
+            for (Clause clause : clauses) {
+                Hits hits = clause.isPhrase() ? phraseHits(sources, clause) : termHits(sources, clause.terms[0]);
+                switch (clause.occur) {
+                    case MUST -> must = must == null ? hits : must.and(hits);
+                    case SHOULD -> should.merge(clause.group, hits, Hits::or);
+                    case MUST_NOT -> mustNot = mustNot == null ? hits : mustNot.or(hits);
+                }
+            }
+            Hits result = must;
+            for (Hits alternatives : should.values()) {
+                result = result == null ? alternatives : result.and(alternatives);
+            }
+            if (result == null) return new int[0];
+            if (mustNot != null) result = result.andNot(mustNot);
+            for (int i = 0; i < result.size; i++) {
+                int doc = result.docs[i];
+                float score = result.scores[i] * docBoost[doc];
+                groupScores.merge(docGroup[doc], score, Math::max);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        PriorityQueue<Map.Entry<Integer, Float>> top = new PriorityQueue<>(
+                (a, b) -> a.getValue().equals(b.getValue()) ? Integer.compare(a.getKey(), b.getKey())
+                        : Float.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<Integer, Float> e : groupScores.entrySet()) {
+            top.offer(e);
+            if (top.size() > limit) top.poll();
+        }
+        int[] result = new int[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) result[i] = top.poll().getKey();
+        return result;
+    }
+
+    /** Parses the query syntax described on the class into analyzed clauses. */
+    public static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) return clauses;
+        boolean or = false, not = false;
+        int groups = 0;
+        int i = 0, n = query.length();
+        while (i < n) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            Occur occur = Occur.MUST;
+            if (c == '-' || c == '+') {
+                if (c == '-') occur = Occur.MUST_NOT;
+                if (++i >= n) break;
+                c = query.charAt(i);
+            }
+            String text;
+            if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) end = n;
+                text = query.substring(i + 1, end);
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < n && !Character.isWhitespace(query.charAt(end))) end++;
+                text = query.substring(i, end);
+                i = end;
+                if (text.equals("OR")) { or = true; continue; }
+                if (text.equals("AND")) continue;
+                if (text.equals("NOT")) { not = true; continue; }
+            }
+            if (not) occur = Occur.MUST_NOT;
+            List<String> terms = new ArrayList<>();
+            IntList positions = new IntList();
+            TextAnalyzer.analyze(text, terms, positions);
+            if (!terms.isEmpty()) {
+                int[] offsets = new int[terms.size()];
+                for (int t = 0; t < offsets.length; t++) offsets[t] = positions.get(t) - positions.get(0);
+                int group = 0;
+                if (or && occur == Occur.MUST) {
+                    // Join the clause before into this OR run, or start a run with it
+                    occur = Occur.SHOULD;
+                    Clause prev = clauses.isEmpty() ? null : clauses.get(clauses.size() - 1);
+                    if (prev != null && prev.occur == Occur.SHOULD) {
+                        group = prev.group;
+                    } else {
+                        group = ++groups;
+                        if (prev != null && prev.occur == Occur.MUST) {
+                            clauses.set(clauses.size() - 1, new Clause(Occur.SHOULD, prev.terms, prev.offsets, group));
+                        }
+                    }
+                }
+                clauses.add(new Clause(occur, terms.toArray(new String[0]), offsets, group));
+            }
+            or = false;
+            not = false;
+        }
+        return clauses;
+    }
+
+    // ===== Stats =====
+
+    public int liveDocs() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long mergeCount() {
+        return merges.sum();
+    }
+
+    // ===== Internals =====
+
+    // One term -> reader map per segment, buffer last; caller holds the read lock
+    private List<Source> sources() {
+        List<Source> sources = new ArrayList<>(segments);
+        Map<String, DeltaPostings.Writer> writers = buffer;
+        sources.add(term -> {
+            DeltaPostings.Writer w = writers.get(term);
+            return w == null ? null : w.reader();
+        });
+        return sources;
+    }
+
+    private float idf(List<Source> sources, String term) {
+        int df = 0;
+        for (Source s : sources) {
+            DeltaPostings.Reader r = s.reader(term);
+            if (r != null) df += r.docCount();
+        }
+        int n = Math.max(liveDocs, df);
+        return (float) Math.log(1 + (n - df + 0.5) / (df + 0.5));
+    }
+
+    private float bm25(float idf, int freq, int doc) {
+        float avg = liveDocs == 0 ? 1f : (float) liveLength / liveDocs;
+        float norm = K1 * (1 - B + B * docLength[doc] / Math.max(avg, 1f));
+        return idf * freq * (K1 + 1) / (freq + norm);
+    }
+
+    private Hits termHits(List<Source> sources, String term) {
+        float idf = idf(sources, term);
+        Hits hits = new Hits(16);
+        for (Source s : sources) {
+            DeltaPostings.Reader r = s.reader(term);
+            if (r == null) continue;
+            while (r.next()) {
+                if (!deleted.get(r.doc())) hits.add(r.doc(), bm25(idf, r.freq(), r.doc()));
+            }
+        }
+        return hits;
+    }
+
+    private Hits phraseHits(List<Source> sources, Clause clause) {
+        float idf = 0;
+        for (String term : clause.terms) idf += idf(sources, term);
+        Hits hits = new Hits(16);
+        int k = clause.terms.length;
+        for (Source s : sources) {
+            DeltaPostings.Reader[] readers = new DeltaPostings.Reader[k];
+            boolean all = true;
+            for (int t = 0; t < k && all; t++) {
+                readers[t] = s.reader(clause.terms[t]);
+                all = readers[t] != null;
+            }
+            if (!all) continue;
+            // Leapfrog the readers to common documents, then check positions
+            int doc = readers[0].next() ? readers[0].doc() : Integer.MAX_VALUE;
+            while (doc != Integer.MAX_VALUE) {
+                int max = doc;
+                for (int t = 0; t < k && max != Integer.MAX_VALUE; t++) {
+                    max = readers[t].advance(max) ? Math.max(max, readers[t].doc()) : Integer.MAX_VALUE;
+                }
+                if (max == Integer.MAX_VALUE) break;
+                if (max != doc) {
+                    doc = readers[0].advance(max) ? readers[0].doc() : Integer.MAX_VALUE;
+                    continue;
+                }
+                if (!deleted.get(doc)) {
+                    int freq = phraseFreq(readers, clause.offsets);
+                    if (freq > 0) hits.add(doc, bm25(idf, freq, doc));
+                }
+                doc = readers[0].next() ? readers[0].doc() : Integer.MAX_VALUE;
+            }
+        }
+        return hits;
+    }
+
+    private static int phraseFreq(DeltaPostings.Reader[] readers, int[] offsets) {
+        int freq = 0;
+        DeltaPostings.Reader lead = readers[0];
+        for (int p = 0; p < lead.freq(); p++) {
+            int start = lead.positions()[p];
+            boolean match = true;
+            for (int t = 1; t < readers.length && match; t++) {
+                match = Arrays.binarySearch(readers[t].positions(), 0, readers[t].freq(), start + offsets[t]) >= 0;
+            }
+            if (match) freq++;
+        }
+        return freq;
+    }
+
+    private boolean markDeleted(int doc) {
+        if (deleted.get(doc)) return false;
+        deleted.set(doc);
+        liveDocs--;
+        liveLength -= docLength[doc];
+        Integer current = docByKey.get(docKey[doc]);
+        if (current != null && current == doc) docByKey.remove(docKey[doc]);
+        return true;
+    }
+
+    private void addToGroup(int group, int doc) {
+        IntList docs = docsByGroup.computeIfAbsent(group, g -> new IntList(2));
+        if (docs.size() >= 8) {
+            // Drop replaced and deleted documents before growing
+            IntList live = new IntList(docs.size());
+            for (int i = 0; i < docs.size(); i++) {
+                if (!deleted.get(docs.get(i))) live.add(docs.get(i));
+            }
+            docs = live;
+            docsByGroup.put(group, docs);
+        }
+        docs.add(doc);
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= docKey.length) return;
+        int capacity = Math.max(size, docKey.length * 2);
+        docKey = Arrays.copyOf(docKey, capacity);
+        docGroup = Arrays.copyOf(docGroup, capacity);
+        docLength = Arrays.copyOf(docLength, capacity);
+        docBoost = Arrays.copyOf(docBoost, capacity);
+    }
+
+    // Caller holds the write lock
+    private boolean flushBuffer() {
+        if (bufferDocs == 0) return false;
+        Map<String, byte[]> postings = new HashMap<>(buffer.size() * 2);
+        Map<String, Integer> docCounts = new HashMap<>(buffer.size() * 2);
+        for (Map.Entry<String, DeltaPostings.Writer> e : buffer.entrySet()) {
+            postings.put(e.getKey(), e.getValue().toBytes());
+            docCounts.put(e.getKey(), e.getValue().docCount());
+        }
+        List<Segment> next = new ArrayList<>(segments);
+        next.add(new Segment(postings, docCounts, bufferDocs));
+        segments = Collections.unmodifiableList(next);
+        buffer = new HashMap<>();
+        bufferDocs = 0;
+        return true;
+    }
+
+    private void scheduleMerge() {
+        if (segments.size() <= mergeFactor || !merging.compareAndSet(false, true)) return;
+        mergeExecutor.execute(() -> {
+            try {
+                mergeWhileNeeded();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            } finally {
+                merging.set(false);
+            }
+        });
+    }
+
+    private void mergeWhileNeeded() {
+        while (true) {
+            List<Segment> current;
+            BitSet dead;
+            lock.readLock().lock();
+            try {
+                current = segments;
+                if (current.size() <= mergeFactor) return;
+                dead = (BitSet) deleted.clone();
+            } finally {
+                lock.readLock().unlock();
+            }
+            // Adjacent run with the fewest documents, so doc order is preserved
+            int from = 0;
+            long best = Long.MAX_VALUE;
+            for (int s = 0; s + mergeFactor <= current.size(); s++) {
+                long docs = 0;
+                for (int j = s; j < s + mergeFactor; j++) docs += current.get(j).docCount;
+                if (docs < best) {
+                    best = docs;
+                    from = s;
+                }
+            }
+            Segment merged = merge(current.subList(from, from + mergeFactor), dead);
+            lock.writeLock().lock();
+            try {
+                List<Segment> next = new ArrayList<>(segments);
+                next.subList(from, from + mergeFactor).clear();
+                next.add(from, merged);
+                segments = Collections.unmodifiableList(next);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            merges.increment();
+        }
+    }
+
+    private static Segment merge(List<Segment> sources, BitSet dead) {
+        Set<String> terms = new HashSet<>();
+        for (Segment s : sources) terms.addAll(s.postings.keySet());
+        Map<String, byte[]> postings = new HashMap<>(terms.size() * 2);
+        Map<String, Integer> docCounts = new HashMap<>(terms.size() * 2);
+        BitSet live = new BitSet();
+        for (String term : terms) {
+            DeltaPostings.Writer writer = null;
+            for (Segment s : sources) {
+                DeltaPostings.Reader r = s.reader(term);
+                if (r == null) continue;
+                while (r.next()) {
+                    if (dead.get(r.doc())) continue;
+                    if (writer == null) writer = new DeltaPostings.Writer();
+                    writer.add(r.doc(), r.positions(), r.freq());
+                    live.set(r.doc());
+                }
+            }
+            if (writer != null) {
+                postings.put(term, writer.toBytes());
+                docCounts.put(term, writer.docCount());
+            }
+        }
+        return new Segment(postings, docCounts, live.cardinality());
+    }
+
+    /** Immutable term -> compressed postings map. */
+    private static final class Segment implements Source {
+        final Map<String, byte[]> postings;
+        final Map<String, Integer> docCounts;
+        final int docCount;
+
+        Segment(Map<String, byte[]> postings, Map<String, Integer> docCounts, int docCount) {
+            this.postings = postings;
+            this.docCounts = docCounts;
+            this.docCount = docCount;
+        }
+
+        @Override
+        public DeltaPostings.Reader reader(String term) {
+            byte[] bytes = postings.get(term);
+            return bytes == null ? null : new DeltaPostings.Reader(bytes, bytes.length, docCounts.get(term));
+        }
+    }
+
+    /** Postings lookup; every call returns a fresh reader positioned before the first entry. */
+    private interface Source {
+        DeltaPostings.Reader reader(String term);
+    }
+
+    /** Matching documents in ascending order with their scores. */
+    private static final class Hits {
+        int[] docs;
+        float[] scores;
+        int size;
+
+        Hits(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void add(int doc, float score) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            docs[size] = doc;
+            scores[size++] = score;
+        }
+
+        Hits and(Hits other) {
+            Hits out = new Hits(Math.max(1, Math.min(size, other.size)));
+            for (int i = 0, j = 0; i < size && j < other.size; ) {
+                if (docs[i] < other.docs[j]) i++;
+                else if (docs[i] > other.docs[j]) j++;
+                else out.add(docs[i], scores[i++] + other.scores[j++]);
+            }
+            return out;
+        }
+
+        Hits or(Hits other) {
+            Hits out = new Hits(Math.max(1, size + other.size));
+            int i = 0, j = 0;
+            while (i < size || j < other.size) {
+                if (j >= other.size || (i < size && docs[i] < other.docs[j])) out.add(docs[i], scores[i++]);
+                else if (i >= size || docs[i] > other.docs[j]) out.add(other.docs[j], other.scores[j++]);
+                else out.add(docs[i], scores[i++] + other.scores[j++]);
+            }
+            return out;
+        }
+
+        Hits andNot(Hits other) {
+            Hits out = new Hits(Math.max(1, size));
+            for (int i = 0, j = 0; i < size; i++) {
+                while (j < other.size && other.docs[j] < docs[i]) j++;
+                if (j >= other.size || other.docs[j] != docs[i]) out.add(docs[i], scores[i]);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.revconnectapp.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a post's free-form hashtags field and its content into normalized
+ * tags: lower-case letters, digits and underscores, without the '#', at most
+ * {@link #MAX_LENGTH} characters, each tag once, in first-seen order.
+ *
+ * The hashtags field is read leniently ("#java #sql", "java, sql"); in the
+ * content only words written with a leading '#' count.
+ */
+public final class Hashtags {
+
+    public static final int MAX_LENGTH = 50;
+    public static final int MAX_TAGS_PER_POST = 30;
+
+    private static final Pattern IN_CONTENT = Pattern.compile("(?<![\\p{L}\\p{N}_&])#([\\p{L}\\p{N}_]+)");
+    private static final Pattern IN_FIELD = Pattern.compile("#?([\\p{L}\\p{N}_]+)");
+
+    private Hashtags() {}
+
+    public static List<String> parse(String hashtagsField, String content) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (hashtagsField != null) collect(IN_FIELD.matcher(hashtagsField), tags);
+        if (content != null) collect(IN_CONTENT.matcher(content), tags);
+        return new ArrayList<>(tags);
+    }
+
+    /** One tag as typed by a user ("#Java", "java"), or null if nothing is left. */
+    public static String normalize(String tag) {
+        if (tag == null) return null;
+        Matcher m = IN_FIELD.matcher(tag.trim());
+        if (!m.lookingAt()) return null;
+        String t = m.group(1).toLowerCase(Locale.ROOT);
+        return t.length() > MAX_LENGTH ? t.substring(0, MAX_LENGTH) : t;
+    }
+
+    private static void collect(Matcher m, Set<String> tags) {
+        while (m.find() && tags.size() < MAX_TAGS_PER_POST) {
+            String t = m.group(1).toLowerCase(Locale.ROOT);
+            tags.add(t.length() > MAX_LENGTH ? t.substring(0, MAX_LENGTH) : t);
+        }
+    }
+}
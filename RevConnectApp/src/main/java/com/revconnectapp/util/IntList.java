@@ -0,0 +1,55 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, for bulk loads where boxing every id into
+ * an Integer would dominate memory.
+ */
+public class IntList {
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Backing array; only the first {@link #size()} entries are meaningful. */
+    public int[] rawArray() {
+        return values;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
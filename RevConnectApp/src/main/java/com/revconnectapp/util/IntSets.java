@@ -0,0 +1,112 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Set operations over ascending, duplicate-free int arrays such as
+ * {@link CsrGraph} rows.
+ *
+ * Intersections pick a linear merge when the inputs are of similar size and
+ * galloping (exponential then binary search of the larger array) when one is
+ * much smaller, so a 5-friend user against a 50,000-follower account costs
+ * about 5 * log(50,000) probes rather than 50,000 steps.
+ */
+public final class IntSets {
+
+    // Above this size ratio galloping beats a straight merge
+    private static final int GALLOP_RATIO = 32;
+
+    private IntSets() {}
+
+    public static int intersectionSize(int[] a, int[] b) {
+        return intersectionSize(a, 0, a.length, b, 0, b.length);
+    }
+
+    public static int intersectionSize(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo) {
+        int aLen = aTo - aFrom, bLen = bTo - bFrom;
+        if (aLen == 0 || bLen == 0) return 0;
+        if (aLen > bLen) {
+            return intersectionSize(b, bFrom, bTo, a, aFrom, aTo);
+        }
+        if ((long) aLen * GALLOP_RATIO < bLen) {
+            return gallopCount(a, aFrom, aTo, b, bFrom, bTo, null);
+        }
+        return mergeCount(a, aFrom, aTo, b, bFrom, bTo, null);
+    }
+
+    public static int[] intersect(int[] a, int[] b) {
+        return intersect(a, a.length, b, b.length);
+    }
+
+    /** Intersection of the first aLen values of a with the first bLen values of b. */
+    public static int[] intersect(int[] a, int aLen, int[] b, int bLen) {
+        if (aLen > bLen) {
+            return intersect(b, bLen, a, aLen);
+        }
+        IntList out = new IntList(Math.max(1, aLen));
+        if ((long) aLen * GALLOP_RATIO < bLen) {
+            gallopCount(a, 0, aLen, b, 0, bLen, out);
+        } else {
+            mergeCount(a, 0, aLen, b, 0, bLen, out);
+        }
+        return out.toArray();
+    }
+
+    /** Values of a that are not in b. */
+    public static int[] difference(int[] a, int[] b) {
+        IntList out = new IntList(Math.max(1, a.length));
+        int j = 0;
+        for (int value : a) {
+            while (j < b.length && b[j] < value) j++;
+            if (j >= b.length || b[j] != value) out.add(value);
+        }
+        return out.toArray();
+    }
+
+    public static boolean contains(int[] sorted, int value) {
+        return Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    private static int mergeCount(int[] a, int i, int aTo, int[] b, int j, int bTo, IntList out) {
+        int count = 0;
+        while (i < aTo && j < bTo) {
+            int x = a[i], y = b[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                if (out != null) out.add(x);
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    // a is the small side; each of its values is located in b by galloping from the last hit
+    private static int gallopCount(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, IntList out) {
+        int count = 0;
+        int lo = bFrom;
+        for (int i = aFrom; i < aTo && lo < bTo; i++) {
+            int key = a[i];
+            int step = 1;
+            int hi = lo;
+            while (hi < bTo && b[hi] < key) {
+                lo = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            int pos = Arrays.binarySearch(b, lo, Math.min(hi + 1, bTo), key);
+            if (pos >= 0) {
+                if (out != null) out.add(key);
+                count++;
+                lo = pos + 1;
+            } else {
+                lo = -pos - 1;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,179 @@
+package com.revconnectapp.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Term to document-id index, e.g. hashtag to post ids. Each term's postings
+ * are an ascending {@link SortedIntList}; with auto-increment ids that is
+ * oldest to newest, so pages are read backwards from the end.
+ *
+ * Paging is keyset style: pass the smallest id of the previous page as
+ * {@code beforeId} (or {@link Integer#MAX_VALUE} for the first page).
+ * AND queries walk the shortest list and probe the others by binary search;
+ * OR queries merge the lists newest first. Either way the work is about one
+ * page, not the whole lists.
+ *
+ * Reads run concurrently; writes are exclusive.
+ */
+public class InvertedIndex {
+
+    private final Map<String, SortedIntList> postings = new HashMap<>();
+    // Terms per document, so edits and deletes know which lists to touch
+    private final Map<Integer, String[]> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Replaces a document's terms; an empty collection removes it. */
+    public void set(int docId, Collection<String> terms) {
+        lock.writeLock().lock();
+        try {
+            String[] previous = documents.remove(docId);
+            if (previous != null) {
+                for (String term : previous) removePosting(term, docId);
+            }
+            if (terms.isEmpty()) return;
+            String[] current = terms.toArray(new String[0]);
+            documents.put(docId, current);
+            for (String term : current) {
+                postings.computeIfAbsent(term, t -> new SortedIntList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int docId) {
+        set(docId, new ArrayList<>());
+    }
+
+    /** Adds one term to a document without touching its others; for bulk loads. */
+    public void add(int docId, String term) {
+        lock.writeLock().lock();
+        try {
+            if (!postings.computeIfAbsent(term, t -> new SortedIntList()).add(docId)) return;
+            String[] previous = documents.get(docId);
+            String[] current;
+            if (previous == null) {
+                current = new String[]{term};
+            } else {
+                current = Arrays.copyOf(previous, previous.length + 1);
+                current[previous.length] = term;
+            }
+            documents.put(docId, current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int count(String term) {
+        lock.readLock().lock();
+        try {
+            SortedIntList p = postings.get(term);
+            return p == null ? 0 : p.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} ids with the term and below {@code beforeId}, newest first. */
+    public int[] page(String term, int beforeId, int limit) {
+        List<String> one = new ArrayList<>(1);
+        one.add(term);
+        return pageAll(one, beforeId, limit);
+    }
+
+    /** Ids carrying every term, newest first. */
+    public int[] pageAll(List<String> terms, int beforeId, int limit) {
+        IntList out = new IntList(Math.max(1, limit));
+        if (terms.isEmpty() || limit <= 0) return out.toArray();
+        lock.readLock().lock();
+        try {
+            List<SortedIntList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                SortedIntList p = postings.get(term);
+                if (p == null) return out.toArray();
+                lists.add(p);
+            }
+            lists.sort(Comparator.comparingInt(SortedIntList::size));
+            SortedIntList driver = lists.get(0);
+            for (int i = driver.lowerBound(beforeId) - 1; i >= 0 && out.size() < limit; i--) {
+                int id = driver.get(i);
+                boolean all = true;
+                for (int k = 1; k < lists.size() && all; k++) {
+                    all = lists.get(k).contains(id);
+                }
+                if (all) out.add(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return out.toArray();
+    }
+
+    /** Ids carrying at least one of the terms, newest first. */
+    public int[] pageAny(List<String> terms, int beforeId, int limit) {
+        IntList out = new IntList(Math.max(1, limit));
+        if (terms.isEmpty() || limit <= 0) return out.toArray();
+        lock.readLock().lock();
+        try {
+            List<SortedIntList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                SortedIntList p = postings.get(term);
+                if (p != null && !lists.contains(p)) lists.add(p);
+            }
+            // Cursor per list at its newest id below beforeId; take the largest each step
+            int[] cursors = new int[lists.size()];
+            for (int k = 0; k < cursors.length; k++) {
+                cursors[k] = lists.get(k).lowerBound(beforeId) - 1;
+            }
+            while (out.size() < limit) {
+                int best = -1, bestId = Integer.MIN_VALUE;
+                for (int k = 0; k < cursors.length; k++) {
+                    if (cursors[k] >= 0 && lists.get(k).get(cursors[k]) > bestId) {
+                        bestId = lists.get(k).get(cursors[k]);
+                        best = k;
+                    }
+                }
+                if (best < 0) break;
+                out.add(bestId);
+                for (int k = 0; k < cursors.length; k++) {
+                    if (cursors[k] >= 0 && lists.get(k).get(cursors[k]) == bestId) cursors[k]--;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return out.toArray();
+    }
+
+    private void removePosting(String term, int docId) {
+        SortedIntList p = postings.get(term);
+        if (p == null) return;
+        p.remove(docId);
+        if (p.isEmpty()) postings.remove(term);
+    }
+}
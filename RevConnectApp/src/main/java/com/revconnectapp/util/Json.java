@@ -0,0 +1,239 @@
+package com.revconnectapp.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reading and writing for the HTTP server, so the app does not
+ * need a JSON library.
+ *
+ * {@link #write} handles null, strings, numbers, booleans, maps (string keys)
+ * and iterables, nested freely. {@link #parse} returns the same shapes:
+ * {@code LinkedHashMap}, {@code ArrayList}, {@code String}, {@code Long} or
+ * {@code Double}, {@code Boolean} and null.
+ */
+public final class Json {
+
+    private Json() {}
+
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out);
+        return out.toString();
+    }
+
+    private static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String s) {
+            writeString(s, out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                writeString(String.valueOf(e.getKey()), out);
+                out.append(':');
+                write(e.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Iterable<?> items) {
+            out.append('[');
+            Iterator<?> it = items.iterator();
+            while (it.hasNext()) {
+                write(it.next(), out);
+                if (it.hasNext()) out.append(',');
+            }
+            out.append(']');
+        } else if (value instanceof int[] ints) {
+            out.append('[');
+            for (int i = 0; i < ints.length; i++) {
+                if (i > 0) out.append(',');
+                out.append(ints[i]);
+            }
+            out.append(']');
+        } else {
+            writeString(value.toString(), out);
+        }
+    }
+
+    private static void writeString(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) out.append(String.format("\\u%04x", (int) c));
+                    else out.append(c);
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /** Parses one JSON value; throws IllegalArgumentException on malformed input. */
+    public static Object parse(String text) {
+        Parser p = new Parser(text);
+        Object value = p.value();
+        p.skipWhitespace();
+        if (p.pos != text.length()) throw p.error("Trailing characters");
+        return value;
+    }
+
+    private static final class Parser {
+        private final String s;
+        private int pos;
+
+        Parser(String s) {
+            this.s = s;
+        }
+
+        Object value() {
+            skipWhitespace();
+            if (pos >= s.length()) throw error("Unexpected end");
+            char c = s.charAt(pos);
+            switch (c) {
+                case '{': return object();
+                case '[': return array();
+                case '"': return string();
+                case 't': return literal("true", Boolean.TRUE);
+                case 'f': return literal("false", Boolean.FALSE);
+                case 'n': return literal("null", null);
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) return number();
+                    throw error("Unexpected '" + c + "'");
+            }
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') throw error("Expected a key");
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                map.put(key, value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String string() {
+            pos++;
+            StringBuilder out = new StringBuilder();
+            while (pos < s.length()) {
+                char c = s.charAt(pos++);
+                if (c == '"') return out.toString();
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                if (pos >= s.length()) break;
+                char e = s.charAt(pos++);
+                switch (e) {
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) throw error("Bad unicode escape");
+                        out.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> out.append(e);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Object number() {
+            int start = pos;
+            if (peek() == '-') pos++;
+            boolean decimal = false;
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    pos++;
+                } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                    decimal = true;
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            String n = s.substring(start, pos);
+            try {
+                return decimal ? (Object) Double.parseDouble(n) : (Object) Long.parseLong(n);
+            } catch (NumberFormatException e) {
+                throw error("Bad number " + n);
+            }
+        }
+
+        private Object literal(String word, Object value) {
+            if (!s.startsWith(word, pos)) throw error("Unexpected token");
+            pos += word.length();
+            return value;
+        }
+
+        private char peek() {
+            return pos < s.length() ? s.charAt(pos) : '\0';
+        }
+
+        private void expect(char c) {
+            if (peek() != c) throw error("Expected '" + c + "'");
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.revconnectapp.util;
+
+import java.util.function.Supplier;
+
+/**
+ * A value created on first use and shared afterwards. Safe to call from any
+ * thread: the supplier runs at most once, and callers racing the first
+ * {@link #get()} wait for it rather than building their own copy.
+ */
+public final class Lazy<T> implements Supplier<T> {
+    private Supplier<? extends T> supplier;
+    private volatile T value;
+
+    public Lazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        T v = value;
+        if (v != null) return v;
+        synchronized (this) {
+            if (value == null) {
+                value = supplier.get();
+                if (value == null) throw new IllegalStateException("Lazy supplier returned null");
+                supplier = null;
+            }
+            return value;
+        }
+    }
+
+    /** Whether the value has been created yet; never triggers creation. */
+    public boolean isInitialized() {
+        return value != null;
+    }
+}
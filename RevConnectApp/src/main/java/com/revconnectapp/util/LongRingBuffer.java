@@ -0,0 +1,75 @@
+package com.revconnectapp.util;
+
+/**
+ * Fixed-capacity ring of primitive longs. Once full, each push overwrites the
+ * oldest value. Reads walk from newest to oldest.
+ *
+ * All methods synchronize on the buffer; callers doing several operations
+ * that must be atomic can synchronize on it too.
+ */
+public class LongRingBuffer {
+    private final long[] values;
+    private int head;   // next write position
+    private int size;
+
+    public LongRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.values = new long[capacity];
+    }
+
+    public synchronized void push(long value) {
+        values[head] = value;
+        head = (head + 1) % values.length;
+        if (size < values.length) size++;
+    }
+
+    /**
+     * Copies values strictly less than {@code before}, newest first, into
+     * {@code dest}. Returns how many were copied.
+     */
+    public synchronized int readBefore(long before, long[] dest) {
+        int copied = 0;
+        int index = head;
+        for (int i = 0; i < size && copied < dest.length; i++) {
+            index = index == 0 ? values.length - 1 : index - 1;
+            long value = values[index];
+            if (value < before) {
+                dest[copied++] = value;
+            }
+        }
+        return copied;
+    }
+
+    /** All values, newest first. */
+    public synchronized long[] toArray() {
+        long[] result = new long[size];
+        readBefore(Long.MAX_VALUE, result);
+        return result;
+    }
+
+    /** Oldest value still held, or {@code Long.MIN_VALUE} when empty. */
+    public synchronized long oldest() {
+        if (size == 0) return Long.MIN_VALUE;
+        int index = (head - size + values.length) % values.length;
+        return values[index];
+    }
+
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public synchronized boolean isFull() {
+        return size == values.length;
+    }
+}
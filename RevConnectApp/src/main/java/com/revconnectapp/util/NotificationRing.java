@@ -0,0 +1,159 @@
+package com.revconnectapp.util;
+
+import com.revconnectapp.model.Notification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * One user's most recent notifications in a fixed-capacity ring, with an
+ * unread bit per slot and a running unread counter. Once full, each add
+ * evicts the oldest notification.
+ *
+ * Unread counts are O(1); page reads touch only the page; mark-all-read
+ * clears the bitmask a word at a time. All methods synchronize on the ring.
+ */
+public class NotificationRing {
+    private final Notification[] slots;
+    private final long[] unread;
+    private int head;   // next write position
+    private int size;
+    private int unreadCount;
+
+    public NotificationRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.slots = new Notification[capacity];
+        this.unread = new long[(capacity + 63) >>> 6];
+    }
+
+    /** Adds a notification; returns the one evicted to make room, or null. */
+    public synchronized Notification add(Notification notification) {
+        Notification evicted = size == slots.length ? slots[head] : null;
+        if (evicted != null && isUnread(head)) unreadCount--;
+        slots[head] = notification;
+        setUnread(head, !notification.isRead());
+        if (!notification.isRead()) unreadCount++;
+        head = (head + 1) % slots.length;
+        if (size < slots.length) size++;
+        return evicted;
+    }
+
+    public synchronized int unreadCount() {
+        return unreadCount;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /** Up to {@code limit} notifications, newest first, skipping the newest {@code offset}. */
+    public synchronized List<Notification> newest(int offset, int limit) {
+        List<Notification> page = new ArrayList<>(Math.max(0, Math.min(limit, size - offset)));
+        for (int i = offset; i < size && page.size() < limit; i++) {
+            page.add(slots[slotAt(i)]);
+        }
+        return page;
+    }
+
+    /** Notifications matching the filter, newest first. */
+    public synchronized List<Notification> matching(Predicate<Notification> filter) {
+        List<Notification> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Notification n = slots[slotAt(i)];
+            if (filter.test(n)) result.add(n);
+        }
+        return result;
+    }
+
+    /** Unread notifications, newest first; stops once all unread ones are found. */
+    public synchronized List<Notification> unread() {
+        List<Notification> result = new ArrayList<>(unreadCount);
+        for (int i = 0; i < size && result.size() < unreadCount; i++) {
+            int slot = slotAt(i);
+            if (isUnread(slot)) result.add(slots[slot]);
+        }
+        return result;
+    }
+
+    public synchronized boolean markRead(int notificationId) {
+        for (int i = 0; i < size; i++) {
+            int slot = slotAt(i);
+            if (slots[slot].getId() == notificationId) {
+                if (isUnread(slot)) {
+                    setUnread(slot, false);
+                    unreadCount--;
+                }
+                slots[slot].setRead(true);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Marks everything read; returns how many were unread. */
+    public synchronized int markAllRead() {
+        int marked = unreadCount;
+        for (int w = 0; w < unread.length; w++) {
+            long word = unread[w];
+            while (word != 0) {
+                slots[(w << 6) + Long.numberOfTrailingZeros(word)].setRead(true);
+                word &= word - 1;
+            }
+            unread[w] = 0;
+        }
+        unreadCount = 0;
+        return marked;
+    }
+
+    /** Removes every notification matching the filter; returns the removed ones. */
+    public synchronized List<Notification> removeIf(Predicate<Notification> filter) {
+        List<Notification> removed = new ArrayList<>();
+        // Re-pack survivors oldest to newest so ring order is kept
+        Notification[] kept = new Notification[size];
+        boolean[] keptUnread = new boolean[size];
+        int count = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            int slot = slotAt(i);
+            if (filter.test(slots[slot])) {
+                removed.add(slots[slot]);
+            } else {
+                kept[count] = slots[slot];
+                keptUnread[count++] = isUnread(slot);
+            }
+        }
+        if (removed.isEmpty()) return removed;
+        Arrays.fill(slots, null);
+        Arrays.fill(unread, 0L);
+        unreadCount = 0;
+        for (int i = 0; i < count; i++) {
+            slots[i] = kept[i];
+            setUnread(i, keptUnread[i]);
+            if (keptUnread[i]) unreadCount++;
+        }
+        size = count;
+        head = count % slots.length;
+        return removed;
+    }
+
+    // i-th newest notification's slot
+    private int slotAt(int i) {
+        return (head - 1 - i + 2 * slots.length) % slots.length;
+    }
+
+    private boolean isUnread(int slot) {
+        return (unread[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private void setUnread(int slot, boolean value) {
+        if (value) unread[slot >>> 6] |= 1L << slot;
+        else unread[slot >>> 6] &= ~(1L << slot);
+    }
+}
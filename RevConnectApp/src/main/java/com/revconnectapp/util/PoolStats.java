@@ -0,0 +1,67 @@
+package com.revconnectapp.util;
+
+/**
+ * Point-in-time snapshot of {@link ConnectionPool} usage.
+ */
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int waiters;
+    private final int maxSize;
+    private final long borrowCount;
+    private final long avgBorrowNanos;
+    private final long maxBorrowNanos;
+    private final long timeouts;
+    private final long created;
+    private final long destroyed;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    public PoolStats(int active, int idle, int total, int waiters, int maxSize,
+                     long borrowCount, long avgBorrowNanos, long maxBorrowNanos,
+                     long timeouts, long created, long destroyed,
+                     long statementCacheHits, long statementCacheMisses) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.waiters = waiters;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.avgBorrowNanos = avgBorrowNanos;
+        this.maxBorrowNanos = maxBorrowNanos;
+        this.timeouts = timeouts;
+        this.created = created;
+        this.destroyed = destroyed;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getTotal() { return total; }
+    public int getWaiters() { return waiters; }
+    public int getMaxSize() { return maxSize; }
+    public long getBorrowCount() { return borrowCount; }
+    public long getAvgBorrowNanos() { return avgBorrowNanos; }
+    public long getMaxBorrowNanos() { return maxBorrowNanos; }
+    public long getTimeouts() { return timeouts; }
+    public long getCreated() { return created; }
+    public long getDestroyed() { return destroyed; }
+    public long getStatementCacheHits() { return statementCacheHits; }
+    public long getStatementCacheMisses() { return statementCacheMisses; }
+
+    public double getStatementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats{active=%d, idle=%d, total=%d/%d, waiters=%d, borrows=%d, " +
+                        "avgBorrow=%.3fms, maxBorrow=%.3fms, timeouts=%d, created=%d, destroyed=%d, stmtCacheHitRatio=%.2f}",
+                active, idle, total, maxSize, waiters, borrowCount,
+                avgBorrowNanos / 1_000_000.0, maxBorrowNanos / 1_000_000.0,
+                timeouts, created, destroyed, getStatementCacheHitRatio());
+    }
+}
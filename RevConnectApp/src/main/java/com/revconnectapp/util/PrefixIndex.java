@@ -0,0 +1,194 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Prefix lookup over short keys such as usernames: the keys, lower-cased,
+ * sit in one sorted array next to their ids, so all keys starting with a
+ * prefix form a contiguous range found by two binary searches.
+ *
+ * {@link #complete} scores the ids in that range with a caller-supplied
+ * function and keeps the best few in a {@link TopK}. For very short prefixes
+ * the range can be large, so at most {@code maxScan} entries of it are scored.
+ *
+ * Inserts shift the tail of the arrays, which is fine for registrations but
+ * not for bulk loads; use {@link #load} for those. Reads run concurrently;
+ * writes are exclusive.
+ */
+public class PrefixIndex {
+
+    private String[] keys = new String[16];
+    private int[] ids = new int[16];
+    private int size;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Replaces the contents with the given entries. */
+    public void load(int[] entryIds, String[] entryKeys, int count) {
+        Integer[] order = new Integer[count];
+        String[] normalized = new String[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            normalized[i] = normalize(entryKeys[i]);
+        }
+        Arrays.sort(order, (a, b) -> compare(normalized[a], entryIds[a], normalized[b], entryIds[b]));
+        String[] newKeys = new String[Math.max(16, count)];
+        int[] newIds = new int[newKeys.length];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            int k = order[i];
+            if (normalized[k] == null) continue;
+            newKeys[n] = normalized[k];
+            newIds[n++] = entryIds[k];
+        }
+        lock.writeLock().lock();
+        try {
+            keys = newKeys;
+            ids = newIds;
+            size = n;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(int id, String key) {
+        String k = normalize(key);
+        if (k == null) return;
+        lock.writeLock().lock();
+        try {
+            int pos = find(k, id);
+            if (pos >= 0) return;
+            pos = -pos - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(keys, pos, keys, pos + 1, size - pos);
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            keys[pos] = k;
+            ids[pos] = id;
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id, String key) {
+        String k = normalize(key);
+        if (k == null) return;
+        lock.writeLock().lock();
+        try {
+            int pos = find(k, id);
+            if (pos < 0) return;
+            System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            keys[--size] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** How many keys start with the prefix. */
+    public int countPrefix(String prefix) {
+        String p = normalize(prefix);
+        if (p == null) return 0;
+        lock.readLock().lock();
+        try {
+            return upperBound(p) - lowerBound(p);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of up to {@code limit} keys starting with the prefix: keys equal to
+     * the prefix first, then highest score (ties by id). Ids scored negative
+     * are left out. Scores at most {@code maxScan} keys of the range, in key
+     * order.
+     */
+    public int[] complete(String prefix, int limit, int maxScan, IntUnaryOperator score) {
+        String p = normalize(prefix);
+        if (p == null || limit <= 0) return new int[0];
+        int[] range;
+        int exact = 0;
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(p);
+            int to = Math.min(upperBound(p), from + maxScan);
+            range = Arrays.copyOfRange(ids, from, to);
+            // Keys equal to the prefix sort first in its range
+            while (from + exact < to && keys[from + exact].length() == p.length()) exact++;
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Score outside the lock; the scorer may be slow
+        TopK top = new TopK(limit);
+        for (int i = 0; i < range.length; i++) {
+            int s = score.applyAsInt(range[i]);
+            if (s < 0) continue;
+            top.offer(range[i], i < exact ? Integer.MAX_VALUE : s);
+        }
+        return top.ids();
+    }
+
+    // First index whose key is >= p
+    private int lowerBound(String p) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(p) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // First index whose key does not start with p (and sorts after it)
+    private int upperBound(String p) {
+        int lo = lowerBound(p), hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].startsWith(p)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Index of (key, id), or -(insertion point) - 1
+    private int find(String key, int id) {
+        int lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(keys[mid], ids[mid], key, id);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    private static int compare(String keyA, int idA, String keyB, int idB) {
+        if (keyA == null || keyB == null) {
+            return keyA == null ? (keyB == null ? 0 : 1) : -1;
+        }
+        int cmp = keyA.compareTo(keyB);
+        return cmp != 0 ? cmp : Integer.compare(idA, idB);
+    }
+
+    private static String normalize(String s) {
+        if (s == null) return null;
+        String trimmed = s.trim();
+        if (trimmed.startsWith("@")) trimmed = trimmed.substring(1);
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
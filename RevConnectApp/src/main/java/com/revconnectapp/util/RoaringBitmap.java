@@ -0,0 +1,235 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of ints in the style of Roaring bitmaps. Values are split by
+ * their high 16 bits into chunks of 65,536. Each chunk is stored as a sorted
+ * char array while it holds at most 4,096 values (2 bytes per value) and as a
+ * 1,024-word bitmap (8 KB flat) once it is denser than that.
+ *
+ * A post with a handful of likers costs a few bytes; a viral post liked by
+ * most of a 60,000-user id range costs 8 KB instead of a boxed HashSet.
+ * Not thread-safe.
+ */
+public class RoaringBitmap {
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public boolean add(int value) {
+        char high = (char) (value >>> 16);
+        int i = indexOf(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainerAt(i, high, new ArrayContainer());
+        }
+        Container c = containers[i];
+        int before = c.cardinality();
+        containers[i] = c.add((char) value);
+        return containers[i].cardinality() > before;
+    }
+
+    public boolean remove(int value) {
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) return false;
+        Container c = containers[i];
+        int before = c.cardinality();
+        containers[i] = c.remove((char) value);
+        boolean removed = containers[i].cardinality() < before;
+        if (containers[i].cardinality() == 0) removeContainerAt(i);
+        return removed;
+    }
+
+    public boolean contains(int value) {
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) total += containers[i].cardinality();
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Values in unsigned ascending order. */
+    public int[] toArray() {
+        IntList out = new IntList((int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, cardinality())));
+        for (int i = 0; i < size; i++) {
+            containers[i].appendTo(keys[i] << 16, out);
+        }
+        return out.toArray();
+    }
+
+    /** Approximate heap footprint. */
+    public long memoryBytes() {
+        long bytes = 32 + 6L * keys.length;
+        for (int i = 0; i < size; i++) bytes += containers[i].memoryBytes();
+        return bytes;
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertContainerAt(int i, char high, Container c) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = high;
+        containers[i] = c;
+        size++;
+    }
+
+    private void removeContainerAt(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    private interface Container {
+        /** Returns the container to keep, which may be a converted one. */
+        Container add(char low);
+
+        Container remove(char low);
+
+        boolean contains(char low);
+
+        int cardinality();
+
+        void appendTo(int highBits, IntList out);
+
+        long memoryBytes();
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int cardinality;
+
+        @Override
+        public Container add(char low) {
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos >= 0) return this;
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            pos = -pos - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, pos, values, pos + 1, cardinality - pos);
+            values[pos] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos < 0) return this;
+            System.arraycopy(values, pos + 1, values, pos, cardinality - pos - 1);
+            cardinality--;
+            if (values.length > 16 && cardinality < values.length / 4) {
+                values = Arrays.copyOf(values, values.length / 2);
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public void appendTo(int highBits, IntList out) {
+            for (int i = 0; i < cardinality; i++) out.add(highBits | values[i]);
+        }
+
+        @Override
+        public long memoryBytes() {
+            return 24 + 2L * values.length;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) bitmap.add(values[i]);
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        @Override
+        public Container add(char low) {
+            long bit = 1L << low;
+            int w = low >>> 6;
+            if ((words[w] & bit) == 0) {
+                words[w] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            long bit = 1L << low;
+            int w = low >>> 6;
+            if ((words[w] & bit) != 0) {
+                words[w] &= ~bit;
+                cardinality--;
+            }
+            // Convert back a little below the threshold so add/remove at the edge doesn't thrash
+            return cardinality < ARRAY_MAX - 64 ? toArrayContainer() : this;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public void appendTo(int highBits, IntList out) {
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    out.add(highBits | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        public long memoryBytes() {
+            return 24 + 8L * words.length;
+        }
+
+        private ArrayContainer toArrayContainer() {
+            ArrayContainer array = new ArrayContainer();
+            IntList values = new IntList(cardinality);
+            appendTo(0, values);
+            for (int i = 0; i < values.size(); i++) array.add((char) values.get(i));
+            return array;
+        }
+    }
+}
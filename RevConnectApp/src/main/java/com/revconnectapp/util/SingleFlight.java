@@ -0,0 +1,102 @@
+package com.revconnectapp.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collapses concurrent identical reads into one. The first caller for a key
+ * runs the load; callers arriving while it is in flight wait for and share
+ * its result instead of running the same query again. Nothing is kept once
+ * the load finishes, so this sits in front of a cache rather than replacing
+ * one: it only stops a burst of misses for the same key from each reaching
+ * the database.
+ *
+ * A caller waits at most {@code timeoutMillis} for someone else's load and
+ * then runs its own, so one stuck query cannot hold up every caller behind
+ * it. A failed load fails only the callers that were waiting on it.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final UnaryOperator<V> share;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(long timeoutMillis) {
+        this(timeoutMillis, UnaryOperator.identity());
+    }
+
+    /**
+     * @param share applied to the result handed to each waiting caller, e.g. a
+     *              copy when the value is mutable; the loading caller gets the
+     *              original
+     */
+    public SingleFlight(long timeoutMillis, UnaryOperator<V> share) {
+        this.timeoutMillis = timeoutMillis;
+        this.share = share;
+    }
+
+    public V get(K key, Supplier<V> load) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        calls.increment();
+        if (running == null) {
+            return lead(key, mine, load);
+        }
+        try {
+            V value = running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            shared.increment();
+            return value == null ? null : share.apply(value);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return load.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> mine, Supplier<V> load) {
+        try {
+            V value = load.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public long calls() { return calls.sum(); }
+    public long shared() { return shared.sum(); }
+    public long timeouts() { return timeouts.sum(); }
+    public int inFlight() { return inFlight.size(); }
+
+    /** Share of calls answered by another caller's load, 0..1. */
+    public double coalescingRatio() {
+        long c = calls.sum();
+        return c == 0 ? 0 : (double) shared.sum() / c;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("calls=%d, shared=%d (%.1f%%), timeouts=%d, inFlight=%d",
+                calls(), shared(), coalescingRatio() * 100, timeouts(), inFlight());
+    }
+}
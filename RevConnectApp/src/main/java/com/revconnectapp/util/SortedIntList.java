@@ -0,0 +1,79 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Ascending, duplicate-free growable int array, used as a posting list.
+ * Appending a value larger than every other is O(1); other inserts and
+ * removals shift the tail. Not thread-safe.
+ */
+public class SortedIntList {
+    private int[] values;
+    private int size;
+
+    public SortedIntList() {
+        this(4);
+    }
+
+    public SortedIntList(int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+    }
+
+    /** Adds the value; returns false if it was already present. */
+    public boolean add(int value) {
+        if (size == 0 || values[size - 1] < value) {
+            insertAt(size, value);
+            return true;
+        }
+        int pos = Arrays.binarySearch(values, 0, size, value);
+        if (pos >= 0) return false;
+        insertAt(-pos - 1, value);
+        return true;
+    }
+
+    public boolean remove(int value) {
+        int pos = Arrays.binarySearch(values, 0, size, value);
+        if (pos < 0) return false;
+        System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /** Index of the first value >= the given one (size if none). */
+    public int lowerBound(int value) {
+        int pos = Arrays.binarySearch(values, 0, size, value);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Backing array; only the first {@link #size()} values are meaningful. */
+    public int[] rawArray() {
+        return values;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void insertAt(int pos, int value) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        System.arraycopy(values, pos, values, pos + 1, size - pos);
+        values[pos] = value;
+        size++;
+    }
+}
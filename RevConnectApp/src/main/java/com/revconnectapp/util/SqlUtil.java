@@ -0,0 +1,57 @@
+package com.revconnectapp.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Helpers for set-based queries that bind a variable number of ids into an
+ * {@code IN (...)} list.
+ *
+ * The list length is rounded up to a power of two and padded with the last id,
+ * so a feed of 13 posts and one of 16 share the same SQL text and therefore the
+ * same cached prepared statement.
+ */
+public final class SqlUtil {
+
+    private SqlUtil() {}
+
+    /** Number of placeholders used for {@code count} ids. */
+    public static int bucketSize(int count) {
+        if (count <= 1) return 1;
+        return Integer.highestOneBit(count - 1) << 1;
+    }
+
+    /** "?, ?, ?" with {@link #bucketSize(int)} placeholders. */
+    public static String placeholders(int count) {
+        int size = bucketSize(count);
+        StringBuilder sb = new StringBuilder(size * 3);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Binds ids starting at parameter {@code startIndex}, padding to the bucket size.
+     * Returns the next free parameter index.
+     */
+    public static int bindIds(PreparedStatement stmt, int startIndex, int[] ids) throws SQLException {
+        int size = bucketSize(ids.length);
+        int index = startIndex;
+        for (int i = 0; i < size; i++) {
+            stmt.setInt(index++, ids[Math.min(i, ids.length - 1)]);
+        }
+        return index;
+    }
+
+    public static int[] toIntArray(Collection<Integer> ids) {
+        int[] result = new int[ids.size()];
+        int i = 0;
+        for (Integer id : ids) {
+            result[i++] = id;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package com.revconnectapp.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for a single pooled connection, keyed by
+ * SQL text. A statement handed out by the cache is a proxy: close() clears
+ * its parameters and open result sets and parks it for the next caller
+ * instead of deallocating it on the server.
+ *
+ * A pooled connection is only ever used by one thread at a time, so the
+ * cache itself is not synchronized.
+ */
+class StatementCache {
+    private final Connection physical;
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(Connection physical, int capacity, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        if (capacity <= 0) {
+            misses.increment();
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? sql + "\u0000keys" : sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            hits.increment();
+            cached.inUse = true;
+            return cached.newHandle();
+        }
+
+        misses.increment();
+        PreparedStatement stmt = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // Same SQL is already open further up the call stack - hand out a one-off
+            return stmt;
+        }
+
+        CachedStatement entry = new CachedStatement(stmt);
+        entry.inUse = true;
+        statements.put(key, entry);
+        evictOverflow();
+        return entry.newHandle();
+    }
+
+    private void evictOverflow() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (statements.size() > capacity && it.hasNext()) {
+            CachedStatement eldest = it.next();
+            it.remove();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                eldest.closeQuietly();
+            }
+        }
+    }
+
+    /**
+     * Called when the owning connection goes back to the pool; statements a
+     * caller forgot to close become available again.
+     */
+    void releaseAll() {
+        for (CachedStatement cached : statements.values()) {
+            if (cached.inUse) {
+                cached.reset();
+                cached.inUse = false;
+            }
+        }
+        statements.values().removeIf(cached -> {
+            if (cached.evicted) cached.closeQuietly();
+            return cached.evicted;
+        });
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    private final class CachedStatement {
+        final PreparedStatement stmt;
+        final List<ResultSet> openResults = new ArrayList<>(1);
+        boolean inUse;
+        boolean evicted;
+        // Bumped on every logical close so stale handles can't touch the next borrower's state
+        int generation;
+
+        CachedStatement(PreparedStatement stmt) {
+            this.stmt = stmt;
+        }
+
+        PreparedStatement newHandle() {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    StatementCache.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new Handle(this, generation));
+        }
+
+        void reset() {
+            for (ResultSet rs : openResults) {
+                try {
+                    rs.close();
+                } catch (SQLException ignored) {
+                    // result set already gone with the statement
+                }
+            }
+            openResults.clear();
+            try {
+                stmt.clearParameters();
+                stmt.clearBatch();
+            } catch (SQLException e) {
+                evicted = true;
+            }
+            generation++;
+        }
+
+        void release() {
+            reset();
+            inUse = false;
+            if (evicted) {
+                statements.values().remove(this);
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                stmt.close();
+            } catch (SQLException ignored) {
+                // connection may already be closed
+            }
+        }
+    }
+
+    private static final class Handle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final int generation;
+
+        Handle(CachedStatement cached, int generation) {
+            this.cached = cached;
+            this.generation = generation;
+        }
+
+        private boolean isStale() {
+            return cached.generation != generation;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!isStale()) {
+                        cached.release();
+                    }
+                    return null;
+                case "isClosed":
+                    return isStale() || cached.stmt.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + cached.stmt + "]";
+                default:
+                    break;
+            }
+            if (isStale()) {
+                throw new SQLException("Statement is closed");
+            }
+            Object result;
+            try {
+                result = method.invoke(cached.stmt, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                cached.openResults.add((ResultSet) result);
+            }
+            return result;
+        }
+    }
+}
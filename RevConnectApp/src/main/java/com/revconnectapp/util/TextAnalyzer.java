@@ -0,0 +1,81 @@
+package com.revconnectapp.util;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into index terms: runs of letters and digits, lower-cased,
+ * with common English stopwords dropped and a light stemmer applied
+ * ("posts" and "posting" both become "post").
+ *
+ * Every word keeps its position in the original text, stopwords included, so
+ * a phrase like "state of the art" still matches with the right gaps after
+ * "of" and "the" are dropped. The same analysis runs on documents and
+ * queries, so stemming only has to be consistent, not linguistically right.
+ */
+public final class TextAnalyzer {
+
+    public static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with");
+
+    private TextAnalyzer() {}
+
+    /** Appends each term of the text and its word position; returns the number of words seen. */
+    public static int analyze(String text, List<String> terms, IntList positions) {
+        if (text == null) return 0;
+        int position = 0;
+        int i = 0, n = text.length();
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) i++;
+            if (start == i) break;
+            String word = text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT);
+            if (!STOPWORDS.contains(word)) {
+                terms.add(stem(word));
+                positions.add(position);
+            }
+            position++;
+        }
+        return position;
+    }
+
+    public static String stem(String word) {
+        int len = word.length();
+        if (len <= 3) return word;
+        // Plurals
+        if (word.endsWith("ies") && !word.endsWith("eies") && !word.endsWith("aies")) {
+            return word.substring(0, len - 3) + "y";
+        }
+        if (word.endsWith("es") && !word.endsWith("aes") && !word.endsWith("ees") && !word.endsWith("oes")) {
+            return word.substring(0, len - 1);
+        }
+        if (word.endsWith("s") && !word.endsWith("us") && !word.endsWith("ss")) {
+            return word.substring(0, len - 1);
+        }
+        // -ing / -ed, keeping stems of four or more letters
+        String stem = null;
+        if (word.endsWith("ing") && len - 3 >= 4) {
+            stem = word.substring(0, len - 3);
+        } else if (word.endsWith("ed") && len - 2 >= 4) {
+            stem = word.substring(0, len - 2);
+        }
+        if (stem == null) return word;
+        int s = stem.length();
+        // "running" -> "runn" -> "run"
+        if (stem.charAt(s - 1) == stem.charAt(s - 2) && "lsz".indexOf(stem.charAt(s - 1)) < 0
+                && !isVowel(stem.charAt(s - 1))) {
+            stem = stem.substring(0, s - 1);
+        }
+        return stem;
+    }
+
+    private static boolean isVowel(char c) {
+        return "aeiou".indexOf(c) >= 0;
+    }
+}
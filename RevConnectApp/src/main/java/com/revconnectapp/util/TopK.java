@@ -0,0 +1,59 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the k highest-scoring ids offered to it, ranked by score descending
+ * and then id ascending. Insertion into a small sorted array, so it is meant
+ * for k in the tens, not thousands. Not thread-safe; reuse with {@link #clear()}.
+ */
+public class TopK {
+    private final int[] ids;
+    private final int[] scores;
+    private int size;
+
+    public TopK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive, was " + k);
+        }
+        this.ids = new int[k];
+        this.scores = new int[k];
+    }
+
+    public void offer(int id, int score) {
+        int k = ids.length;
+        if (size == k && !ranksBefore(id, score, ids[k - 1], scores[k - 1])) {
+            return;
+        }
+        int pos = size == k ? k - 1 : size++;
+        while (pos > 0 && ranksBefore(id, score, ids[pos - 1], scores[pos - 1])) {
+            ids[pos] = ids[pos - 1];
+            scores[pos] = scores[pos - 1];
+            pos--;
+        }
+        ids[pos] = id;
+        scores[pos] = score;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Ranked ids, best first. */
+    public int[] ids() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /** Scores matching {@link #ids()}. */
+    public int[] scores() {
+        return Arrays.copyOf(scores, size);
+    }
+
+    private static boolean ranksBefore(int id, int score, int otherId, int otherScore) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+}
@@ -0,0 +1,227 @@
+package com.revconnectapp.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Substring search over a few short text fields per document (e.g. a user's
+ * username, name and location) using an inverted index of character
+ * trigrams. Each trigram maps to an ascending int array of document ids.
+ *
+ * A query of three or more characters intersects the postings of its
+ * trigrams, smallest first, and then checks each candidate really contains
+ * the query. Shorter queries have no trigram to look up and scan the
+ * documents instead. Matches are ranked: whole field, then field prefix, then
+ * word start, then anywhere; earlier fields before later ones; shorter
+ * fields first.
+ *
+ * Matching is case-insensitive. Reads run concurrently; writes are exclusive.
+ */
+public class TrigramIndex {
+
+    private final int fieldCount;
+    private final Map<Long, SortedIntList> postings = new HashMap<>();
+    // Lower-cased field values per document
+    private final Map<Integer, String[]> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TrigramIndex(int fieldCount) {
+        if (fieldCount <= 0 || fieldCount > 31) {
+            throw new IllegalArgumentException("fieldCount must be 1..31: " + fieldCount);
+        }
+        this.fieldCount = fieldCount;
+    }
+
+    /** Replaces every field of a document; null fields are left empty. */
+    public void put(int docId, String... fields) {
+        String[] values = new String[fieldCount];
+        for (int f = 0; f < fieldCount && f < fields.length; f++) {
+            values[f] = normalize(fields[f]);
+        }
+        lock.writeLock().lock();
+        try {
+            reindex(docId, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replaces one field of a document, keeping the others. */
+    public void setField(int docId, int field, String value) {
+        lock.writeLock().lock();
+        try {
+            String[] current = documents.get(docId);
+            String[] values = current != null ? current.clone() : new String[fieldCount];
+            values[field] = normalize(value);
+            reindex(docId, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            String[] current = documents.remove(docId);
+            if (current != null) {
+                for (long gram : trigrams(current)) removePosting(gram, docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(int docId) {
+        lock.readLock().lock();
+        try {
+            return documents.containsKey(docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} ids of documents with a field in {@code fieldMask}
+     * (bit f for field f) containing the query, best match first.
+     */
+    public int[] search(String query, int fieldMask, int limit) {
+        String q = normalize(query);
+        if (q == null || q.isEmpty() || limit <= 0) return new int[0];
+        List<long[]> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (q.length() < 3) {
+                for (Map.Entry<Integer, String[]> e : documents.entrySet()) {
+                    long rank = rank(e.getValue(), q, fieldMask);
+                    if (rank >= 0) hits.add(new long[]{rank, e.getKey()});
+                }
+            } else {
+                for (int id : candidates(q)) {
+                    long rank = rank(documents.get(id), q, fieldMask);
+                    if (rank >= 0) hits.add(new long[]{rank, id});
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.<long[]>comparingLong(h -> h[0]).thenComparingLong(h -> h[1]));
+        int[] result = new int[Math.min(limit, hits.size())];
+        for (int i = 0; i < result.length; i++) result[i] = (int) hits.get(i)[1];
+        return result;
+    }
+
+    // Ids whose fields contain every trigram of q
+    private int[] candidates(String q) {
+        Set<Long> grams = new HashSet<>();
+        addTrigrams(q, grams);
+        List<SortedIntList> lists = new ArrayList<>(grams.size());
+        for (long gram : grams) {
+            SortedIntList p = postings.get(gram);
+            if (p == null || p.isEmpty()) return new int[0];
+            lists.add(p);
+        }
+        lists.sort(Comparator.comparingInt(SortedIntList::size));
+        int[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            SortedIntList p = lists.get(i);
+            result = IntSets.intersect(result, result.length, p.rawArray(), p.size());
+        }
+        return result;
+    }
+
+    // Lower is better; -1 when no selected field contains q
+    private long rank(String[] fields, String q, int fieldMask) {
+        long best = -1;
+        for (int f = 0; f < fields.length; f++) {
+            String value = fields[f];
+            if ((fieldMask & (1 << f)) == 0 || value == null) continue;
+            int at = value.indexOf(q);
+            if (at < 0) continue;
+            int kind;
+            if (value.length() == q.length()) {
+                kind = 0;
+            } else if (at == 0) {
+                kind = 1;
+            } else if (atWordStart(value, q)) {
+                kind = 2;
+            } else {
+                kind = 3;
+            }
+            // kind, then field, then length, packed so one comparison orders them
+            long rank = ((long) kind << 40) | ((long) f << 32) | Math.min(value.length(), Integer.MAX_VALUE);
+            if (best < 0 || rank < best) best = rank;
+        }
+        return best;
+    }
+
+    private static boolean atWordStart(String value, String q) {
+        for (int at = value.indexOf(q); at >= 0; at = value.indexOf(q, at + 1)) {
+            if (at == 0 || !Character.isLetterOrDigit(value.charAt(at - 1))) return true;
+        }
+        return false;
+    }
+
+    private void reindex(int docId, String[] values) {
+        String[] previous = documents.put(docId, values);
+        Set<Long> before = previous != null ? trigrams(previous) : new HashSet<>();
+        Set<Long> after = trigrams(values);
+        for (long gram : before) {
+            if (!after.contains(gram)) removePosting(gram, docId);
+        }
+        for (long gram : after) {
+            if (!before.contains(gram)) postings.computeIfAbsent(gram, g -> new SortedIntList()).add(docId);
+        }
+    }
+
+    private void removePosting(long gram, int docId) {
+        SortedIntList p = postings.get(gram);
+        if (p == null) return;
+        p.remove(docId);
+        if (p.isEmpty()) postings.remove(gram);
+    }
+
+    private static Set<Long> trigrams(String[] values) {
+        Set<Long> grams = new HashSet<>();
+        for (String value : values) {
+            if (value != null) addTrigrams(value, grams);
+        }
+        return grams;
+    }
+
+    private static void addTrigrams(String s, Set<Long> out) {
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            out.add(((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2));
+        }
+    }
+
+    private static String normalize(String s) {
+        if (s == null) return null;
+        String trimmed = s.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
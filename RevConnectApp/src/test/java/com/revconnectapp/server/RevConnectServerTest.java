@@ -0,0 +1,189 @@
+package com.revconnectapp.server;
+
+import com.revconnectapp.model.User;
+import com.revconnectapp.util.Json;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevConnectServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private RevConnectServer server;
+
+    @AfterEach
+    public void stopServer() {
+        if (server != null) server.stop();
+    }
+
+    private RevConnectServer start(int maxInFlight, long admissionTimeoutMs) {
+        server = new RevConnectServer(0, maxInFlight, admissionTimeoutMs);
+        return server;
+    }
+
+    private static User user(int id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+
+    private HttpRequest request(String method, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(String method, String path, String token) throws Exception {
+        return client.send(request(method, path, token), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(String path, String token) {
+        return client.sendAsync(request("GET", path, token), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> json(HttpResponse<String> response) {
+        return (Map<String, Object>) Json.parse(response.body());
+    }
+
+    // Parks the request thread until released, so tests can hold requests in flight
+    private static RevConnectServer.Endpoint blocking(CountDownLatch entered, CountDownLatch release) {
+        return r -> {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("done", true);
+        };
+    }
+
+    @Test
+    @DisplayName("Routes by method and path, filling path parameters")
+    public void testRouting() throws Exception {
+        start(4, 1_000);
+        server.route("GET", "/api/items/{id}", false, r -> Map.of("id", r.pathInt("id")));
+        server.route("POST", "/api/items", false, r -> Map.of("created", true));
+        server.route("DELETE", "/api/items/{id}", false, r -> null);
+        server.route("GET", "/api/private", true, r -> Map.of("ok", true));
+        server.start();
+
+        HttpResponse<String> get = send("GET", "/api/items/42/", null);
+        assertEquals(200, get.statusCode());
+        assertEquals(42L, json(get).get("id"));
+        assertEquals(201, send("POST", "/api/items", null).statusCode());
+        assertEquals(204, send("DELETE", "/api/items/7", null).statusCode());
+
+        assertEquals(404, send("GET", "/api/nothing", null).statusCode());
+        HttpResponse<String> wrongMethod = send("PUT", "/api/items/42", null);
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals("Method not allowed", json(wrongMethod).get("error"));
+        assertEquals(400, send("GET", "/api/items/abc", null).statusCode());
+        assertEquals(401, send("GET", "/api/private", null).statusCode());
+        assertEquals(401, send("GET", "/api/private", "not-a-token").statusCode());
+    }
+
+    @Test
+    @DisplayName("Each token is served as its own user")
+    public void testSessionIsolation() throws Exception {
+        start(4, 1_000);
+        server.route("GET", "/api/whoami", true, r -> Map.of("userId", r.session().getUserId(),
+                "username", r.session().getUsername()));
+        server.start();
+        Session ada = server.sessions().create(user(1, "ada"));
+        Session bob = server.sessions().create(user(2, "bob"));
+        assertNotEquals(ada.getToken(), bob.getToken());
+
+        Map<String, Object> asAda = json(send("GET", "/api/whoami", ada.getToken()));
+        Map<String, Object> asBob = json(send("GET", "/api/whoami", bob.getToken()));
+        assertEquals(1L, asAda.get("userId"));
+        assertEquals("ada", asAda.get("username"));
+        assertEquals(2L, asBob.get("userId"));
+        assertEquals("bob", asBob.get("username"));
+        assertEquals(1, ada.getRequestCount());
+        assertEquals(1, bob.getRequestCount());
+
+        server.sessions().remove(ada.getToken());
+        assertEquals(401, send("GET", "/api/whoami", ada.getToken()).statusCode());
+        assertEquals(200, send("GET", "/api/whoami", bob.getToken()).statusCode());
+    }
+
+    @Test
+    @DisplayName("A session gets 429 past four requests in flight; other sessions are unaffected")
+    public void testPerSessionLimit() throws Exception {
+        start(16, 1_000);
+        CountDownLatch entered = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        server.route("GET", "/api/slow", true, blocking(entered, release));
+        server.route("GET", "/api/fast", true, r -> Map.of("ok", true));
+        server.start();
+        Session busy = server.sessions().create(user(1, "ada"));
+        Session other = server.sessions().create(user(2, "bob"));
+
+        List<CompletableFuture<HttpResponse<String>>> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) held.add(sendAsync("/api/slow", busy.getToken()));
+            assertTrue(entered.await(5, TimeUnit.SECONDS), "four requests should be running");
+
+            HttpResponse<String> fifth = send("GET", "/api/fast", busy.getToken());
+            assertEquals(429, fifth.statusCode());
+            assertEquals(200, send("GET", "/api/fast", other.getToken()).statusCode());
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<HttpResponse<String>> f : held) {
+            assertEquals(200, f.get(5, TimeUnit.SECONDS).statusCode());
+        }
+        // The slots are handed back once the requests finish
+        assertEquals(200, send("GET", "/api/fast", busy.getToken()).statusCode());
+        assertTrue(server.describe().contains("sessionLimited=1"), server.describe());
+    }
+
+    @Test
+    @DisplayName("Past maxInFlight requests wait for admission, then get 503 with Retry-After")
+    public void testGlobalAdmission() throws Exception {
+        start(2, 200);
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        server.route("GET", "/api/slow", false, blocking(entered, release));
+        server.route("GET", "/api/fast", false, r -> Map.of("ok", true));
+        server.start();
+
+        List<CompletableFuture<HttpResponse<String>>> held = new ArrayList<>();
+        try {
+            held.add(sendAsync("/api/slow", null));
+            held.add(sendAsync("/api/slow", null));
+            assertTrue(entered.await(5, TimeUnit.SECONDS), "both permits should be taken");
+
+            long started = System.nanoTime();
+            HttpResponse<String> rejected = send("GET", "/api/fast", null);
+            long waitedMillis = (System.nanoTime() - started) / 1_000_000;
+            assertEquals(503, rejected.statusCode());
+            assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+            assertTrue(waitedMillis >= 150, "gave up after " + waitedMillis + "ms");
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<HttpResponse<String>> f : held) {
+            assertEquals(200, f.get(5, TimeUnit.SECONDS).statusCode());
+        }
+        assertEquals(200, send("GET", "/api/fast", null).statusCode());
+        assertTrue(server.describe().contains("busy=1"), server.describe());
+    }
+}
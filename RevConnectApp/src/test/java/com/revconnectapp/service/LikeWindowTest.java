@@ -0,0 +1,69 @@
+package com.revconnectapp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LikeWindowTest {
+
+    private static List<LikeWindow.Entry<String>> entries(LikeWindow<String> window) {
+        return new ArrayList<>(window.entries());
+    }
+
+    @Test
+    @DisplayName("Two likes from the same user in one window write the like once")
+    public void testDuplicateLikes() {
+        LikeWindow<String> window = new LikeWindow<>();
+        window.add(10, 7, true, "first");
+        window.add(10, 7, true, "second");
+
+        assertEquals(1, window.size());
+        assertEquals(2, window.intentCount());
+        LikeWindow.Entry<String> entry = entries(window).get(0);
+        assertTrue(entry.like);
+        assertEquals("second", entry.last);
+        // Counted +2; the row was inserted once, so one increment is given back
+        assertEquals(-1, entry.counterCorrection(true));
+        // Row was already liked: both increments are given back
+        assertEquals(-2, entry.counterCorrection(false));
+    }
+
+    @Test
+    @DisplayName("A like/unlike pair writes the original state and leaves the count alone")
+    public void testPairCancels() {
+        LikeWindow<String> window = new LikeWindow<>();
+        window.add(10, 7, true, "like");
+        window.add(10, 7, false, "unlike");
+
+        LikeWindow.Entry<String> entry = entries(window).get(0);
+        assertFalse(entry.like);
+        assertEquals(0, entry.counterCorrection(false));
+        // The row had been liked after all: the unlike really removed one
+        assertEquals(-1, entry.counterCorrection(true));
+    }
+
+    @Test
+    @DisplayName("Keys are per (post, user) and keep first-seen order")
+    public void testKeys() {
+        LikeWindow<String> window = new LikeWindow<>();
+        window.add(1, 2, true, "a");
+        window.add(2, 1, true, "b");
+        window.add(1, 2, false, "c");
+        window.add(1, 3, true, "d");
+
+        List<LikeWindow.Entry<String>> entries = entries(window);
+        assertEquals(3, entries.size());
+        assertEquals(2, entries.get(0).userId);
+        assertEquals("c", entries.get(0).last);
+        assertEquals(0, entries.get(1).counterCorrection(true));
+        assertEquals(0, entries.get(2).counterCorrection(true));
+
+        window.clear();
+        assertEquals(0, window.size());
+        assertEquals(0, window.intentCount());
+    }
+}
@@ -0,0 +1,54 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncTest {
+
+    private static int slowRead(int value) {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    @Test
+    @DisplayName("Independent reads overlap instead of adding up")
+    public void testParallelFanOut() {
+        long started = System.nanoTime();
+        CompletableFuture<Integer> a = Async.supply(() -> slowRead(1));
+        CompletableFuture<Integer> b = Async.supply(() -> slowRead(2));
+        CompletableFuture<Integer> c = Async.supply(() -> slowRead(3));
+        Async.awaitAll(a, b, c);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(6, a.join() + b.join() + c.join());
+        assertTrue(elapsedMillis < 500, "took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Collects results in the order given")
+    public void testAll() {
+        List<CompletableFuture<Integer>> reads = List.of(
+                Async.supply(() -> slowRead(3)), Async.supply(() -> 1), Async.supply(() -> 2));
+        assertEquals(List.of(3, 1, 2), Async.await(Async.all(reads)));
+    }
+
+    @Test
+    @DisplayName("A failed read rethrows its own exception")
+    public void testFailureUnwrapped() {
+        CompletableFuture<Integer> ok = Async.supply(() -> 1);
+        CompletableFuture<Integer> failed = Async.supply(() -> {
+            throw new IllegalStateException("boom");
+        });
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> Async.awaitAll(ok, failed));
+        assertEquals("boom", e.getMessage());
+    }
+}
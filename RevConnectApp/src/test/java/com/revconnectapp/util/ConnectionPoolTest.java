@@ -0,0 +1,213 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class ConnectionPoolTest {
+
+    // Counts physical connections opened through the stub driver
+    private static final AtomicInteger opened = new AtomicInteger();
+    private static final AtomicInteger closed = new AtomicInteger();
+    private static final AtomicInteger prepared = new AtomicInteger();
+
+    private ConnectionPool pool;
+
+    @BeforeAll
+    public static void registerStubDriver() throws SQLException {
+        DriverManager.registerDriver(new StubDriver());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        opened.set(0);
+        closed.set(0);
+        prepared.set(0);
+        pool = new ConnectionPool("jdbc:stub:test", "u", "p", 0, 2, 200, 60_000, 60_000, 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Closing a borrowed connection returns it to the pool")
+    public void testConnectionIsReused() throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            assertFalse(conn.isClosed());
+        }
+        try (Connection conn = pool.getConnection()) {
+            assertFalse(conn.isClosed());
+        }
+
+        assertEquals(1, opened.get(), "Second borrow should reuse the first physical connection");
+        PoolStats stats = pool.getStats();
+        assertEquals(0, stats.getActive());
+        assertEquals(1, stats.getIdle());
+        assertEquals(2, stats.getBorrowCount());
+    }
+
+    @Test
+    @DisplayName("Borrowing past max size times out")
+    public void testWaitTimeout() throws SQLException {
+        Connection c1 = pool.getConnection();
+        Connection c2 = pool.getConnection();
+
+        assertThrows(SQLTimeoutException.class, () -> pool.getConnection());
+        assertEquals(1, pool.getStats().getTimeouts());
+        assertEquals(2, pool.getStats().getActive());
+
+        c1.close();
+        c2.close();
+        assertEquals(2, pool.getStats().getIdle());
+    }
+
+    @Test
+    @DisplayName("A waiting borrower is handed the next returned connection")
+    public void testWaiterIsServed() throws Exception {
+        Connection c1 = pool.getConnection();
+        Connection c2 = pool.getConnection();
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                c1.close();
+            } catch (Exception ignored) {
+            }
+        });
+        releaser.start();
+
+        try (Connection c3 = pool.getConnection()) {
+            assertFalse(c3.isClosed());
+        }
+        releaser.join();
+        c2.close();
+        assertEquals(2, opened.get());
+    }
+
+    @Test
+    @DisplayName("Closing a handle twice does not return the connection twice")
+    public void testDoubleCloseIsIgnored() throws SQLException {
+        Connection conn = pool.getConnection();
+        conn.close();
+        conn.close();
+
+        assertTrue(conn.isClosed());
+        assertEquals(1, pool.getStats().getIdle());
+        assertThrows(SQLException.class, () -> conn.setAutoCommit(false));
+    }
+
+    @Test
+    @DisplayName("Shutdown closes idle physical connections")
+    public void testShutdownClosesIdle() throws SQLException {
+        pool.getConnection().close();
+        pool.shutdown();
+
+        assertEquals(1, closed.get());
+        assertThrows(SQLException.class, () -> pool.getConnection());
+    }
+
+    @Test
+    @DisplayName("Re-preparing the same SQL on a pooled connection hits the statement cache")
+    public void testStatementCacheReuse() throws SQLException {
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = pool.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+                stmt.setInt(1, i);
+            }
+        }
+
+        assertEquals(1, prepared.get(), "Physical statement should be prepared once");
+        PoolStats stats = pool.getStats();
+        assertEquals(2, stats.getStatementCacheHits());
+        assertEquals(1, stats.getStatementCacheMisses());
+    }
+
+    @Test
+    @DisplayName("A closed cached statement rejects further use")
+    public void testClosedCachedStatementIsStale() throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT 1");
+            stmt.close();
+            assertTrue(stmt.isClosed());
+            assertThrows(SQLException.class, () -> stmt.setInt(1, 1));
+        }
+    }
+
+    /**
+     * Minimal JDBC driver whose connections only track open/closed state.
+     */
+    static class StubDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) return null;
+            opened.incrementAndGet();
+            boolean[] isClosed = {false};
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (!isClosed[0]) closed.incrementAndGet();
+                                isClosed[0] = true;
+                                return null;
+                            case "isClosed":
+                                return isClosed[0];
+                            case "prepareStatement":
+                                prepared.incrementAndGet();
+                                return stubStatement();
+                            case "isValid":
+                            case "getAutoCommit":
+                                return !isClosed[0];
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        private static PreparedStatement stubStatement() {
+            return (PreparedStatement) Proxy.newProxyInstance(StubDriver.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> null);
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith("jdbc:stub:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() { return 1; }
+
+        @Override
+        public int getMinorVersion() { return 0; }
+
+        @Override
+        public boolean jdbcCompliant() { return false; }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
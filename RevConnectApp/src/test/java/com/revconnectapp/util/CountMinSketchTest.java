@@ -0,0 +1,45 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountMinSketchTest {
+
+    @Test
+    @DisplayName("Never undercounts and stays close for heavy keys")
+    public void testEstimate() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(CountMinSketch.hash("tail" + i), 1);
+        }
+        for (int i = 0; i < 300; i++) {
+            sketch.add(CountMinSketch.hash("java"), 1);
+        }
+        int java = sketch.estimate(CountMinSketch.hash("java"));
+        assertTrue(java >= 300 && java < 300 + 20, "estimate was " + java);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.estimate(CountMinSketch.hash("tail" + i)) >= 1);
+        }
+        assertEquals(0, new CountMinSketch(1024, 4).estimate(CountMinSketch.hash("java")));
+    }
+
+    @Test
+    @DisplayName("Merging with a negative sign removes an expired bucket from a running sum")
+    public void testMerge() {
+        CountMinSketch bucket = new CountMinSketch(256, 3);
+        CountMinSketch sum = new CountMinSketch(256, 3);
+        long java = CountMinSketch.hash("java");
+        long sql = CountMinSketch.hash("sql");
+        bucket.add(java, 5);
+        sum.add(java, 5);
+        sum.add(sql, 2);
+        sum.merge(bucket, -1);
+        assertEquals(0, sum.estimate(java));
+        assertEquals(2, sum.estimate(sql));
+        bucket.clear();
+        assertEquals(0, bucket.estimate(java));
+        assertThrows(IllegalArgumentException.class, () -> sum.merge(new CountMinSketch(128, 3), 1));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(1000, 3));
+    }
+}
@@ -0,0 +1,47 @@
+package com.revconnectapp.util;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeltaPostingsTest {
+
+    @Test
+    @DisplayName("Round-trips documents and positions through delta-encoded bytes")
+    public void testRoundTrip() {
+        DeltaPostings.Writer writer = new DeltaPostings.Writer(4);
+        writer.add(3, new int[]{0, 5}, 2);
+        writer.add(200, new int[]{1}, 1);
+        writer.add(100_000, new int[]{7, 300, 70_000}, 3);
+        assertEquals(3, writer.docCount());
+        assertTrue(writer.byteLength() < 3 * 4 * 3, "small gaps should take about a byte each");
+
+        DeltaPostings.Reader reader = writer.reader();
+        assertTrue(reader.next());
+        assertEquals(3, reader.doc());
+        assertEquals(2, reader.freq());
+        assertEquals(5, reader.positions()[1]);
+        assertTrue(reader.advance(150));
+        assertEquals(200, reader.doc());
+        assertTrue(reader.next());
+        assertEquals(100_000, reader.doc());
+        assertArrayEquals(new int[]{7, 300, 70_000}, Arrays.copyOf(reader.positions(), reader.freq()));
+        assertFalse(reader.next());
+        assertFalse(reader.advance(5));
+    }
+
+    @Test
+    @DisplayName("Rejects documents out of order and freezes to a trimmed copy")
+    public void testOrderAndFreeze() {
+        DeltaPostings.Writer writer = new DeltaPostings.Writer();
+        writer.add(10, new int[]{0}, 1);
+        assertThrows(IllegalArgumentException.class, () -> writer.add(10, new int[]{0}, 1));
+        byte[] frozen = writer.toBytes();
+        assertEquals(writer.byteLength(), frozen.length);
+        DeltaPostings.Reader reader = new DeltaPostings.Reader(frozen, frozen.length, 1);
+        assertTrue(reader.next());
+        assertEquals(10, reader.doc());
+    }
+}
@@ -0,0 +1,64 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicGraphTest {
+
+    @Test
+    @DisplayName("CSR rows are sorted and de-duplicated")
+    public void testCsrBuild() {
+        int[] src = {3, 1, 1, 1, 2};
+        int[] dst = {1, 4, 2, 4, 3};
+        CsrGraph graph = CsrGraph.fromEdges(src, dst, src.length, false);
+
+        assertArrayEquals(new int[]{2, 4}, graph.neighbors(1));
+        assertEquals(2, graph.degree(1));
+        assertTrue(graph.hasEdge(3, 1));
+        assertFalse(graph.hasEdge(1, 3));
+        assertEquals(0, graph.degree(99));
+        assertEquals(4, graph.edgeCount());
+    }
+
+    @Test
+    @DisplayName("Symmetric graphs store both directions")
+    public void testSymmetric() {
+        CsrGraph graph = CsrGraph.fromEdges(new int[]{1, 1}, new int[]{2, 3}, 2, true);
+
+        assertArrayEquals(new int[]{2, 3}, graph.neighbors(1));
+        assertArrayEquals(new int[]{1}, graph.neighbors(3));
+    }
+
+    @Test
+    @DisplayName("Overlay edits are visible and survive compaction")
+    public void testOverlay() {
+        DynamicGraph graph = new DynamicGraph(true);
+        graph.finishReload(CsrGraph.fromEdges(new int[]{1, 1}, new int[]{2, 3}, 2, true));
+
+        assertTrue(graph.addEdge(1, 5));
+        assertFalse(graph.addEdge(5, 1));
+        assertTrue(graph.removeEdge(3, 1));
+        assertArrayEquals(new int[]{2, 5}, graph.neighbors(1));
+        assertEquals(2, graph.degree(1));
+        assertFalse(graph.hasEdge(1, 3));
+
+        graph.compact();
+        assertEquals(0, graph.overlaySize());
+        assertArrayEquals(new int[]{2, 5}, graph.neighbors(1));
+        assertArrayEquals(new int[]{1}, graph.neighbors(5));
+    }
+
+    @Test
+    @DisplayName("Edits made during a reload are replayed onto the new base")
+    public void testReloadReplaysEdits() {
+        DynamicGraph graph = new DynamicGraph(false);
+        graph.beginReload();
+        graph.addEdge(7, 8);
+
+        // Snapshot taken before the follow was committed
+        graph.finishReload(CsrGraph.fromEdges(new int[]{7}, new int[]{9}, 1, false));
+
+        assertArrayEquals(new int[]{8, 9}, graph.neighbors(7));
+    }
+}
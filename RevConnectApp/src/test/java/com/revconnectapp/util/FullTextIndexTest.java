@@ -0,0 +1,119 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FullTextIndexTest {
+
+    // Synchronous merges so tests see their effect immediately
+    private static FullTextIndex sample() {
+        FullTextIndex index = new FullTextIndex(2, 2, Runnable::run);
+        index.put(1, 1, "Learning Java streams and lambdas", 1f);
+        index.put(2, 2, "Spring Boot makes Java web apps easy", 1f);
+        index.put(3, 3, "My cat sleeps all day", 1f);
+        index.put(4, 4, "Java java java: all day, every day", 1f);
+        index.put(5, 5, "State of the art search engines", 1f);
+        return index;
+    }
+
+    @Test
+    @DisplayName("Analyzer lower-cases, drops stopwords, stems lightly and keeps positions")
+    public void testAnalyzer() {
+        List<String> terms = new ArrayList<>();
+        IntList positions = new IntList();
+        assertEquals(6, TextAnalyzer.analyze("The Posts were RUNNING, of course!", terms, positions));
+        assertEquals(List.of("post", "were", "run", "course"), terms);
+        assertArrayEquals(new int[]{1, 2, 3, 5}, positions.toArray());
+        assertEquals("story", TextAnalyzer.stem("stories"));
+        assertEquals("learn", TextAnalyzer.stem("learned"));
+        assertEquals("class", TextAnalyzer.stem("class"));
+    }
+
+    @Test
+    @DisplayName("Ranks by BM25 and applies AND, OR and NOT")
+    public void testBooleanAndRanking() {
+        FullTextIndex index = sample();
+        assertArrayEquals(new int[]{4, 1, 2}, index.search("java", 10));
+        assertArrayEquals(new int[]{2}, index.search("java spring", 10));
+        assertArrayEquals(new int[]{4, 3}, index.search("day", 10));
+        assertArrayEquals(new int[]{1, 2}, index.search("java -day", 10));
+        assertArrayEquals(new int[]{1, 2}, index.search("java NOT day", 10));
+        int[] either = index.search("cat OR spring", 10);
+        assertEquals(2, either.length);
+        assertArrayEquals(new int[]{2}, index.search("java spring OR cats", 10));
+        assertArrayEquals(new int[0], index.search("-java", 10));
+        assertArrayEquals(new int[]{4}, index.search("java", 1));
+    }
+
+    @Test
+    @DisplayName("Phrases match words in order, across dropped stopwords")
+    public void testPhrase() {
+        FullTextIndex index = sample();
+        assertArrayEquals(new int[]{1}, index.search("\"learning java\"", 10));
+        assertArrayEquals(new int[0], index.search("\"java learning\"", 10));
+        assertArrayEquals(new int[]{5}, index.search("\"state of the art\"", 10));
+        assertArrayEquals(new int[0], index.search("\"state art\"", 10));
+        // Both hold the phrase once; the shorter post ranks first
+        assertArrayEquals(new int[]{3, 4}, index.search("\"all day\"", 10));
+    }
+
+    @Test
+    @DisplayName("Edits, deletes and group deletes survive flushes and merges")
+    public void testUpdatesAndMerges() {
+        FullTextIndex index = sample();
+        index.put(3, 3, "My dog sleeps all day", 1f);
+        assertArrayEquals(new int[0], index.search("cat", 10));
+        assertArrayEquals(new int[]{3}, index.search("dog", 10));
+
+        // A comment on post 1, weaker than a match in the post itself
+        index.put((1L << 32) | 9, 1, "great java tips", 0.5f);
+        index.put(6, 6, "Great tips here", 1f);
+        assertArrayEquals(new int[]{6, 1}, index.search("tips", 10));
+
+        index.remove((1L << 32) | 9);
+        assertArrayEquals(new int[]{6}, index.search("tips", 10));
+        index.put((1L << 32) | 10, 2, "dog pictures please", 0.5f);
+        assertEquals(2, index.removeGroup(2));
+        index.flush();
+        assertArrayEquals(new int[]{3}, index.search("dog", 10));
+        assertArrayEquals(new int[]{4, 1}, index.search("java", 10));
+        assertEquals(5, index.liveDocs());
+        assertTrue(index.mergeCount() > 0);
+        assertTrue(index.segmentCount() <= 2, "merges keep the segment count bounded");
+    }
+
+    @Test
+    @DisplayName("Parses operators into clauses")
+    public void testParse() {
+        assertEquals("[MUST java, MUST_NOT cat, MUST \"spring boot\"]",
+                FullTextIndex.parse("java -cats \"Spring Boot\"").toString());
+        assertEquals("[SHOULD java, SHOULD kotlin]", FullTextIndex.parse("java OR kotlin").toString());
+        assertEquals("[MUST art]", FullTextIndex.parse("the \"of art\" AND").toString());
+    }
+
+    @Test
+    @DisplayName("Each run of OR is its own alternative, ANDed with the rest")
+    public void testTwoOrGroups() {
+        List<FullTextIndex.Clause> clauses = FullTextIndex.parse("java OR kotlin spring OR boot");
+        assertEquals("[SHOULD java, SHOULD kotlin, SHOULD spring, SHOULD boot]", clauses.toString());
+        assertEquals(clauses.get(0).getGroup(), clauses.get(1).getGroup());
+        assertEquals(clauses.get(2).getGroup(), clauses.get(3).getGroup());
+        assertNotEquals(clauses.get(0).getGroup(), clauses.get(2).getGroup());
+
+        FullTextIndex index = new FullTextIndex(2, 2, Runnable::run);
+        index.put(1, 1, "java tutorial", 1f);
+        index.put(2, 2, "spring boot guide", 1f);
+        index.put(3, 3, "kotlin with spring", 1f);
+        index.put(4, 4, "java boot camp", 1f);
+        int[] both = index.search("java OR kotlin spring OR boot", 10);
+        Arrays.sort(both);
+        assertArrayEquals(new int[]{3, 4}, both);
+        assertArrayEquals(new int[]{4}, index.search("java OR kotlin spring OR boot -spring", 10));
+    }
+}
@@ -0,0 +1,28 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashtagsTest {
+
+    @Test
+    @DisplayName("Reads the hashtags field leniently and only #words from content")
+    public void testParse() {
+        assertEquals(List.of("java", "sql", "spring_boot"),
+                Hashtags.parse("#Java, sql", "Learning #spring_boot and #SQL, not java"));
+        assertEquals(List.of("café"), Hashtags.parse(null, "Meet at the #Café &#39; tomorrow"));
+        assertTrue(Hashtags.parse("", "email me at a#b or see issue #").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Normalizes a typed tag and caps its length")
+    public void testNormalize() {
+        assertEquals("java", Hashtags.normalize("  #JAVA "));
+        assertNull(Hashtags.normalize("#"));
+        assertEquals(Hashtags.MAX_LENGTH, Hashtags.normalize("x".repeat(80)).length());
+    }
+}
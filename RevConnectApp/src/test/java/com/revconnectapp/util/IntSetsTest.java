@@ -0,0 +1,50 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+public class IntSetsTest {
+
+    @Test
+    @DisplayName("Merge intersection of similar-sized sets")
+    public void testMergeIntersection() {
+        int[] a = {1, 3, 5, 7, 9};
+        int[] b = {2, 3, 4, 5, 10};
+
+        assertEquals(2, IntSets.intersectionSize(a, b));
+        assertArrayEquals(new int[]{3, 5}, IntSets.intersect(a, b));
+        assertEquals(0, IntSets.intersectionSize(a, new int[0]));
+    }
+
+    @Test
+    @DisplayName("Galloping intersection agrees with a naive set intersection")
+    public void testGallopingMatchesNaive() {
+        Random random = new Random(42);
+        TreeSet<Integer> large = new TreeSet<>();
+        while (large.size() < 5000) large.add(random.nextInt(100_000));
+        TreeSet<Integer> small = new TreeSet<>();
+        while (small.size() < 20) small.add(random.nextInt(100_000));
+        small.add(large.first());
+        small.add(large.last());
+
+        int[] largeArr = large.stream().mapToInt(Integer::intValue).toArray();
+        int[] smallArr = small.stream().mapToInt(Integer::intValue).toArray();
+        TreeSet<Integer> expected = new TreeSet<>(small);
+        expected.retainAll(large);
+
+        assertEquals(expected.size(), IntSets.intersectionSize(smallArr, largeArr));
+        assertEquals(expected.size(), IntSets.intersectionSize(largeArr, smallArr));
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+                IntSets.intersect(smallArr, largeArr));
+    }
+
+    @Test
+    @DisplayName("Difference removes values present in the second set")
+    public void testDifference() {
+        assertArrayEquals(new int[]{1, 9}, IntSets.difference(new int[]{1, 4, 7, 9}, new int[]{4, 7, 8}));
+    }
+}
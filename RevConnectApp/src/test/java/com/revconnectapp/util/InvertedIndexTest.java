@@ -0,0 +1,61 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    private static InvertedIndex sample() {
+        InvertedIndex index = new InvertedIndex();
+        index.set(1, List.of("java", "sql"));
+        index.set(2, List.of("java"));
+        index.set(3, List.of("sql"));
+        index.set(4, List.of("java", "sql", "spring"));
+        index.set(5, List.of("java"));
+        return index;
+    }
+
+    @Test
+    @DisplayName("Pages a single term newest first with a keyset boundary")
+    public void testPage() {
+        InvertedIndex index = sample();
+        assertArrayEquals(new int[]{5, 4}, index.page("java", Integer.MAX_VALUE, 2));
+        assertArrayEquals(new int[]{2, 1}, index.page("java", 4, 2));
+        assertArrayEquals(new int[0], index.page("java", 1, 2));
+        assertArrayEquals(new int[0], index.page("missing", Integer.MAX_VALUE, 2));
+        assertEquals(4, index.count("java"));
+    }
+
+    @Test
+    @DisplayName("AND keeps ids carrying every term; OR merges without duplicates")
+    public void testAllAndAny() {
+        InvertedIndex index = sample();
+        assertArrayEquals(new int[]{4, 1}, index.pageAll(List.of("java", "sql"), Integer.MAX_VALUE, 10));
+        assertArrayEquals(new int[]{1}, index.pageAll(List.of("java", "sql"), 4, 10));
+        assertArrayEquals(new int[0], index.pageAll(List.of("java", "missing"), Integer.MAX_VALUE, 10));
+        assertArrayEquals(new int[]{5, 4, 3, 2, 1}, index.pageAny(List.of("java", "sql"), Integer.MAX_VALUE, 10));
+        assertArrayEquals(new int[]{3, 2}, index.pageAny(List.of("sql", "java", "missing"), 4, 2));
+    }
+
+    @Test
+    @DisplayName("Edits and deletes move a document between posting lists")
+    public void testUpdates() {
+        InvertedIndex index = sample();
+        index.set(4, List.of("spring"));
+        assertArrayEquals(new int[]{1}, index.pageAll(List.of("java", "sql"), Integer.MAX_VALUE, 10));
+        index.remove(4);
+        assertEquals(0, index.count("spring"));
+        assertEquals(2, index.termCount());
+        index.add(6, "kotlin");
+        index.add(6, "java");
+        index.add(6, "java");
+        assertArrayEquals(new int[]{6}, index.pageAll(List.of("kotlin", "java"), Integer.MAX_VALUE, 10));
+        assertEquals(5, index.documentCount());
+        index.remove(6);
+        assertEquals(0, index.count("kotlin"));
+    }
+}
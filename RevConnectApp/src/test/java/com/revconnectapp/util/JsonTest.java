@@ -0,0 +1,62 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonTest {
+
+    @Test
+    @DisplayName("Writes nested maps and lists and reads them back")
+    public void testRoundTrip() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("id", 42);
+        value.put("name", "ada");
+        value.put("score", 1.5);
+        value.put("active", true);
+        value.put("tags", List.of("java", "sql"));
+        value.put("ids", new int[] {1, 2});
+        value.put("missing", null);
+
+        String json = Json.write(value);
+        assertEquals("{\"id\":42,\"name\":\"ada\",\"score\":1.5,\"active\":true,\"tags\":[\"java\",\"sql\"],"
+                + "\"ids\":[1,2],\"missing\":null}", json);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> parsed = (Map<String, Object>) Json.parse(json);
+        assertEquals(42L, parsed.get("id"));
+        assertEquals(1.5, parsed.get("score"));
+        assertEquals(Boolean.TRUE, parsed.get("active"));
+        assertEquals(List.of("java", "sql"), parsed.get("tags"));
+        assertEquals(Arrays.asList(1L, 2L), parsed.get("ids"));
+        assertTrue(parsed.containsKey("missing"));
+        assertNull(parsed.get("missing"));
+    }
+
+    @Test
+    @DisplayName("Escapes quotes, backslashes and control characters")
+    public void testEscapes() {
+        String text = "say \"hi\"\\\n\ttab\u0001 café 🚀";
+        String json = Json.write(text);
+        assertEquals("\"say \\\"hi\\\"\\\\\\n\\ttab\\u0001 café 🚀\"", json);
+        assertEquals(text, Json.parse(json));
+        assertEquals("é", Json.parse("\"\\u00e9\""));
+    }
+
+    @Test
+    @DisplayName("Rejects malformed input")
+    public void testMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":1"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{a:1}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[1,2] x"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("\"open"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("1.2.3"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyTest {
+
+    @Test
+    @DisplayName("Creates the value on first use only")
+    public void testCreatesOnce() {
+        AtomicInteger created = new AtomicInteger();
+        Lazy<Object> lazy = new Lazy<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+        assertFalse(lazy.isInitialized());
+        assertEquals(0, created.get());
+
+        Object first = lazy.get();
+        assertSame(first, lazy.get());
+        assertTrue(lazy.isInitialized());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    @DisplayName("Threads racing the first get share one instance")
+    public void testConcurrentFirstUse() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        Lazy<Object> lazy = new Lazy<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+        Set<Object> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            pool.execute(() -> {
+                try {
+                    go.await();
+                    seen.add(lazy.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        go.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, seen.size());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    @DisplayName("A supplier returning null is an error, not a cached null")
+    public void testNullSupplier() {
+        Lazy<Object> lazy = new Lazy<>(() -> null);
+        assertThrows(IllegalStateException.class, lazy::get);
+        assertFalse(lazy.isInitialized());
+    }
+}
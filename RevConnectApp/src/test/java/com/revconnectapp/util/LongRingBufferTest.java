@@ -0,0 +1,50 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongRingBufferTest {
+
+    @Test
+    @DisplayName("Full buffer overwrites the oldest value")
+    public void testOverwritesOldest() {
+        LongRingBuffer ring = new LongRingBuffer(3);
+        for (long v = 1; v <= 5; v++) {
+            ring.push(v);
+        }
+
+        assertTrue(ring.isFull());
+        assertEquals(3, ring.size());
+        assertArrayEquals(new long[]{5, 4, 3}, ring.toArray());
+        assertEquals(3, ring.oldest());
+    }
+
+    @Test
+    @DisplayName("readBefore pages newest-first below a bound")
+    public void testReadBefore() {
+        LongRingBuffer ring = new LongRingBuffer(10);
+        for (long v = 10; v <= 60; v += 10) {
+            ring.push(v);
+        }
+
+        long[] page = new long[2];
+        assertEquals(2, ring.readBefore(Long.MAX_VALUE, page));
+        assertArrayEquals(new long[]{60, 50}, page);
+
+        assertEquals(2, ring.readBefore(50, page));
+        assertArrayEquals(new long[]{40, 30}, page);
+
+        assertEquals(1, ring.readBefore(20, page));
+        assertEquals(10, page[0]);
+    }
+
+    @Test
+    @DisplayName("Empty buffer reads nothing")
+    public void testEmpty() {
+        LongRingBuffer ring = new LongRingBuffer(4);
+        assertEquals(0, ring.readBefore(Long.MAX_VALUE, new long[4]));
+        assertEquals(Long.MIN_VALUE, ring.oldest());
+        assertThrows(IllegalArgumentException.class, () -> new LongRingBuffer(0));
+    }
+}
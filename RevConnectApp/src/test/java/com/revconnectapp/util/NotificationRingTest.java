@@ -0,0 +1,73 @@
+package com.revconnectapp.util;
+
+import com.revconnectapp.model.Notification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class NotificationRingTest {
+
+    private static Notification notification(int id, boolean read) {
+        return new Notification(id, 7, "message " + id, "LIKE", read);
+    }
+
+    private static int[] ids(List<Notification> notifications) {
+        return notifications.stream().mapToInt(Notification::getId).toArray();
+    }
+
+    @Test
+    @DisplayName("Evicts the oldest once full and keeps the unread count in step")
+    public void testEviction() {
+        NotificationRing ring = new NotificationRing(3);
+        assertNull(ring.add(notification(1, false)));
+        ring.add(notification(2, true));
+        ring.add(notification(3, false));
+        assertEquals(2, ring.unreadCount());
+
+        Notification evicted = ring.add(notification(4, false));
+        assertEquals(1, evicted.getId());
+        assertEquals(3, ring.size());
+        assertEquals(2, ring.unreadCount());
+        assertArrayEquals(new int[]{4, 3, 2}, ids(ring.newest(0, 10)));
+    }
+
+    @Test
+    @DisplayName("Pages newest first and lists unread only")
+    public void testPagingAndUnread() {
+        NotificationRing ring = new NotificationRing(100);
+        for (int id = 1; id <= 10; id++) ring.add(notification(id, id % 2 == 0));
+
+        assertArrayEquals(new int[]{10, 9, 8}, ids(ring.newest(0, 3)));
+        assertArrayEquals(new int[]{7, 6, 5}, ids(ring.newest(3, 3)));
+        assertArrayEquals(new int[]{9, 7, 5, 3, 1}, ids(ring.unread()));
+    }
+
+    @Test
+    @DisplayName("Mark read, mark all read and removal update the unread bits")
+    public void testMarkAndRemove() {
+        NotificationRing ring = new NotificationRing(70);
+        for (int id = 1; id <= 70; id++) ring.add(notification(id, false));
+        assertEquals(70, ring.unreadCount());
+
+        assertTrue(ring.markRead(65));
+        assertFalse(ring.markRead(999));
+        assertEquals(69, ring.unreadCount());
+
+        List<Notification> removed = ring.removeIf(n -> n.getId() % 10 == 0);
+        assertEquals(7, removed.size());
+        assertEquals(63, ring.size());
+        assertEquals(62, ring.unreadCount());
+        assertArrayEquals(new int[]{69, 68, 67}, ids(ring.newest(0, 3)));
+
+        assertEquals(62, ring.markAllRead());
+        assertEquals(0, ring.unreadCount());
+        assertTrue(ring.unread().isEmpty());
+        assertTrue(ring.newest(0, 70).stream().allMatch(Notification::isRead));
+
+        ring.add(notification(71, false));
+        assertEquals(1, ring.unreadCount());
+        assertEquals(71, ring.newest(0, 1).get(0).getId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTest {
+
+    private static PrefixIndex sample() {
+        PrefixIndex index = new PrefixIndex();
+        index.load(new int[]{1, 2, 3, 4, 5},
+                new String[]{"Alice", "alicia", "bob", "al", "Alfred"}, 5);
+        return index;
+    }
+
+    @Test
+    @DisplayName("Finds the prefix range case-insensitively and ignores a leading @")
+    public void testRange() {
+        PrefixIndex index = sample();
+        assertEquals(4, index.countPrefix("al"));
+        assertEquals(2, index.countPrefix("@ALI"));
+        assertEquals(0, index.countPrefix("z"));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    @DisplayName("Ranks an exact key first, then by score, and skips negative scores")
+    public void testComplete() {
+        PrefixIndex index = sample();
+        int[] scores = {0, 10, 50, 99, 0, 30};
+        assertArrayEquals(new int[]{4, 2, 5, 1}, index.complete("al", 10, 100, id -> scores[id]));
+        assertArrayEquals(new int[]{4, 2}, index.complete("al", 2, 100, id -> scores[id]));
+        assertArrayEquals(new int[]{4, 5, 1}, index.complete("al", 10, 100, id -> id == 2 ? -1 : scores[id]));
+        // Only the first two keys of the range ("al", "alfred") are scored
+        assertArrayEquals(new int[]{4, 5}, index.complete("al", 10, 2, id -> scores[id]));
+    }
+
+    @Test
+    @DisplayName("Incremental adds and removes keep the array sorted")
+    public void testAddAndRemove() {
+        PrefixIndex index = sample();
+        index.add(6, "albert");
+        index.add(7, "Bobby");
+        index.add(6, "albert");
+        assertEquals(7, index.size());
+        assertEquals(5, index.countPrefix("al"));
+        assertArrayEquals(new int[]{3, 7}, index.complete("bo", 10, 100, id -> 0));
+
+        index.remove(4, "al");
+        assertEquals(4, index.countPrefix("al"));
+        assertArrayEquals(new int[]{6}, index.complete("alb", 10, 100, id -> 0));
+    }
+}
@@ -0,0 +1,68 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+public class RoaringBitmapTest {
+
+    @Test
+    @DisplayName("Add, contains and remove across several chunks")
+    public void testBasicOperations() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        assertTrue(bitmap.isEmpty());
+
+        assertTrue(bitmap.add(5));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.add(3));
+        assertFalse(bitmap.add(5));
+
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(4));
+        assertEquals(3, bitmap.cardinality());
+        assertArrayEquals(new int[]{3, 5, 70_000}, bitmap.toArray());
+
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertArrayEquals(new int[]{3, 5}, bitmap.toArray());
+    }
+
+    @Test
+    @DisplayName("Dense chunks switch to a bitmap and back without losing values")
+    public void testContainerConversion() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i++) bitmap.add(i * 3);
+        assertEquals(10_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(29_997));
+        assertFalse(bitmap.contains(29_998));
+        long dense = bitmap.memoryBytes();
+
+        for (int i = 100; i < 10_000; i++) bitmap.remove(i * 3);
+        assertEquals(100, bitmap.cardinality());
+        assertTrue(bitmap.contains(297));
+        assertFalse(bitmap.contains(300));
+        assertTrue(bitmap.memoryBytes() < dense);
+    }
+
+    @Test
+    @DisplayName("Matches a TreeSet under random adds and removes")
+    public void testMatchesTreeSet() {
+        Random random = new Random(11);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(200_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), bitmap.remove(value));
+            } else {
+                assertEquals(expected.add(value), bitmap.add(value));
+            }
+        }
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), bitmap.toArray());
+    }
+}
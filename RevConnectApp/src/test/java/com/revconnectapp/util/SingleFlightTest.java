@@ -0,0 +1,120 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    @DisplayName("Concurrent callers for one key share a single load")
+    public void testCoalesces() throws Exception {
+        SingleFlight<Integer, Integer> flight = new SingleFlight<>(5_000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> flight.get(7, () -> {
+                loads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 42;
+            })));
+        }
+        // Let every caller join before the load finishes
+        while (flight.calls() < 8) Thread.sleep(5);
+        release.countDown();
+        for (Future<Integer> f : results) assertEquals(42, f.get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertEquals(1, loads.get());
+        assertEquals(7, flight.shared());
+        assertEquals(7.0 / 8, flight.coalescingRatio(), 1e-9);
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    @DisplayName("Nothing is kept after a load; the next call loads again")
+    public void testNoCaching() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(1_000);
+        AtomicInteger loads = new AtomicInteger();
+        flight.get("a", loads::incrementAndGet);
+        assertEquals(2, flight.get("a", loads::incrementAndGet));
+        assertEquals(0, flight.shared());
+    }
+
+    @Test
+    @DisplayName("A waiter that times out runs its own load")
+    public void testTimeout() throws Exception {
+        SingleFlight<Integer, String> flight = new SingleFlight<>(50);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread leader = new Thread(() -> flight.get(1, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        }));
+        leader.start();
+        while (flight.inFlight() == 0) Thread.sleep(5);
+
+        assertEquals("own", flight.get(1, () -> "own"));
+        assertEquals(1, flight.timeouts());
+        release.countDown();
+        leader.join();
+    }
+
+    @Test
+    @DisplayName("Waiters get a copy while the loader keeps the original")
+    public void testShareCopies() throws Exception {
+        SingleFlight<Integer, StringBuilder> flight = new SingleFlight<>(5_000, sb -> new StringBuilder(sb));
+        CountDownLatch release = new CountDownLatch(1);
+        StringBuilder[] leaderResult = new StringBuilder[1];
+        Thread leader = new Thread(() -> leaderResult[0] = flight.get(1, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new StringBuilder("post");
+        }));
+        leader.start();
+        while (flight.inFlight() == 0) Thread.sleep(5);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<StringBuilder> waiter = pool.submit(() -> flight.get(1, () -> new StringBuilder("unused")));
+        while (flight.calls() < 2) Thread.sleep(5);
+        release.countDown();
+        leader.join();
+        StringBuilder shared = waiter.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals("post", shared.toString());
+        assertNotSame(leaderResult[0], shared);
+    }
+
+    @Test
+    @DisplayName("A failed load fails its waiters and is not remembered")
+    public void testFailure() {
+        SingleFlight<Integer, Integer> flight = new SingleFlight<>(1_000);
+        assertThrows(IllegalStateException.class, () -> flight.get(1, () -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertEquals(5, flight.get(1, () -> 5));
+    }
+}
@@ -0,0 +1,28 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlUtilTest {
+
+    @Test
+    @DisplayName("IN-list sizes are rounded up to a power of two")
+    public void testBucketSize() {
+        assertEquals(1, SqlUtil.bucketSize(0));
+        assertEquals(1, SqlUtil.bucketSize(1));
+        assertEquals(2, SqlUtil.bucketSize(2));
+        assertEquals(4, SqlUtil.bucketSize(3));
+        assertEquals(16, SqlUtil.bucketSize(13));
+        assertEquals(16, SqlUtil.bucketSize(16));
+        assertEquals(32, SqlUtil.bucketSize(17));
+    }
+
+    @Test
+    @DisplayName("Placeholder list matches the bucket size")
+    public void testPlaceholders() {
+        assertEquals("?", SqlUtil.placeholders(1));
+        assertEquals("?, ?, ?, ?", SqlUtil.placeholders(3));
+        assertEquals(SqlUtil.placeholders(13), SqlUtil.placeholders(16));
+    }
+}
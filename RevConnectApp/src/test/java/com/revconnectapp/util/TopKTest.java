@@ -0,0 +1,54 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+public class TopKTest {
+
+    @Test
+    @DisplayName("Keeps the highest scores, ties broken by lower id")
+    public void testRanking() {
+        TopK top = new TopK(3);
+        top.offer(10, 2);
+        top.offer(4, 5);
+        top.offer(7, 2);
+        top.offer(1, 1);
+        top.offer(3, 2);
+
+        assertEquals(3, top.size());
+        assertArrayEquals(new int[]{4, 3, 7}, top.ids());
+        assertArrayEquals(new int[]{5, 2, 2}, top.scores());
+    }
+
+    @Test
+    @DisplayName("Matches a full sort on random input and is reusable after clear")
+    public void testMatchesFullSort() {
+        Random random = new Random(7);
+        TopK top = new TopK(10);
+        for (int round = 0; round < 5; round++) {
+            top.clear();
+            Integer[] ids = new Integer[500];
+            int[] scores = new int[500];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = i;
+                scores[i] = random.nextInt(20);
+                top.offer(i, scores[i]);
+            }
+            Arrays.sort(ids, Comparator.<Integer>comparingInt(i -> -scores[i]).thenComparingInt(i -> i));
+            int[] expected = new int[10];
+            for (int i = 0; i < 10; i++) expected[i] = ids[i];
+            assertArrayEquals(expected, top.ids());
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects a non-positive k")
+    public void testInvalidK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK(0));
+    }
+}
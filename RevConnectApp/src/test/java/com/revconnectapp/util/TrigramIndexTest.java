@@ -0,0 +1,58 @@
+package com.revconnectapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+
+    private static final int ALL = 0b111;
+    private static final int USERNAME = 0b001;
+
+    private static TrigramIndex sample() {
+        TrigramIndex index = new TrigramIndex(3);
+        index.put(1, "alice", "Alice Smith", "London");
+        index.put(2, "malice_99", null, "Paris");
+        index.put(3, "bob", "Bob Alison", "New Delhi");
+        index.put(4, "ali", "Ali Khan", "Delhi");
+        return index;
+    }
+
+    @Test
+    @DisplayName("Finds substrings case-insensitively and ranks exact, prefix, word start, then anywhere")
+    public void testRanking() {
+        TrigramIndex index = sample();
+        assertArrayEquals(new int[]{4, 1, 3, 2}, index.search("ALI", ALL, 10));
+        assertArrayEquals(new int[]{1, 2}, index.search("lice", ALL, 10));
+        assertArrayEquals(new int[]{4, 3}, index.search("delhi", ALL, 10));
+        assertArrayEquals(new int[]{4, 1}, index.search("ali", ALL, 2));
+        assertEquals(0, index.search("zzz", ALL, 10).length);
+    }
+
+    @Test
+    @DisplayName("Field mask restricts which fields may match, and short queries scan")
+    public void testFieldMaskAndShortQueries() {
+        TrigramIndex index = sample();
+        assertArrayEquals(new int[]{4, 1, 2}, index.search("ali", USERNAME, 10));
+        assertArrayEquals(new int[]{3}, index.search("bo", USERNAME, 10));
+        assertArrayEquals(new int[]{4, 1, 3, 2}, index.search("al", ALL, 10));
+    }
+
+    @Test
+    @DisplayName("Updating one field drops its old trigrams and keeps the others")
+    public void testUpdates() {
+        TrigramIndex index = sample();
+        index.setField(3, 1, "Robert");
+        assertArrayEquals(new int[]{4, 1, 2}, index.search("ali", ALL, 10));
+        assertArrayEquals(new int[]{3}, index.search("robert", ALL, 10));
+        assertArrayEquals(new int[]{4, 3}, index.search("delhi", ALL, 10));
+
+        index.setField(5, 0, "newcomer");
+        assertArrayEquals(new int[]{5}, index.search("comer", ALL, 10));
+
+        index.remove(1);
+        assertFalse(index.contains(1));
+        assertArrayEquals(new int[]{4, 2}, index.search("ali", USERNAME, 10));
+        assertEquals(4, index.size());
+    }
+}